@@ -5,6 +5,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Annotation is used for injecting id of current user into controller by
+ * {@link greencity.converters.UserIdArgumentResolver}. Parameters that are also
+ * annotated with {@link org.springframework.web.bind.annotation.PathVariable}
+ * are taken from the path.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
 public @interface CurrentUserId {
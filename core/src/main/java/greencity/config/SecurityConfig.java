@@ -3,13 +3,18 @@ package greencity.config;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import greencity.security.CurrentUserHolder;
+import greencity.security.cache.AuthenticationCache;
+import greencity.security.crypto.PooledPasswordEncoder;
 import greencity.security.filters.AccessTokenAuthenticationFilter;
+import greencity.security.jwt.AccessTokenVerifier;
 import greencity.security.jwt.JwtTool;
 import greencity.security.providers.JwtAuthenticationProvider;
 import greencity.service.UserService;
 import org.apache.http.client.HttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -46,6 +51,8 @@ public class SecurityConfig {
     private final UserService userService;
     private static final String USER_LINK = "/user";
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final AuthenticationCache authenticationCache;
+    private final CurrentUserHolder currentUserHolder;
 
     /**
      * Constructor.
@@ -53,18 +60,27 @@ public class SecurityConfig {
 
     @Autowired
     public SecurityConfig(JwtTool jwtTool, UserService userService,
-                          AuthenticationConfiguration authenticationConfiguration) {
+                          AuthenticationConfiguration authenticationConfiguration,
+                          AuthenticationCache authenticationCache,
+                          CurrentUserHolder currentUserHolder) {
         this.jwtTool = jwtTool;
         this.userService = userService;
         this.authenticationConfiguration = authenticationConfiguration;
+        this.authenticationCache = authenticationCache;
+        this.currentUserHolder = currentUserHolder;
     }
 
     /**
-     * Bean {@link PasswordEncoder} that uses in coding password.
+     * Bean {@link PasswordEncoder} that uses in coding password. BCrypt runs on a
+     * dedicated pool sized to the cores unless pool size is set.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${greencity.security.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${greencity.security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${greencity.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(), queueCapacity);
     }
 
     /**
@@ -85,13 +101,15 @@ public class SecurityConfig {
                                     "X-Requested-With", "Origin", "Content-Type", "Accept", "Authorization"));
                     config.setAllowCredentials(true);
                     config.setAllowedHeaders(Collections.singletonList("*"));
+                    config.setExposedHeaders(Collections.singletonList(CONTINUATION_TOKEN_HEADER));
                     config.setMaxAge(3600L);
                     return config;
                 }))
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
                 .addFilterBefore(
-                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService),
+                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService,
+                            authenticationCache, currentUserHolder),
                         UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint((req, resp, exc) -> resp.sendError(
@@ -127,8 +145,10 @@ public class SecurityConfig {
                                 "/token",
                                 "/socket/**",
                                 "/user/findAllByEmailNotification",
+                                "/user/emailNotificationSubscribers",
                                 "/user/checkByUuid",
-                                "/user/get-user-rating")
+                                "/user/get-user-rating",
+                                "/.well-known/jwks.json")
                         .permitAll()
                         .requestMatchers(HttpMethod.POST,
                                 "/ownSecurity/signUp",
@@ -145,7 +165,6 @@ public class SecurityConfig {
                                 "/user/userAndSixFriendsWithOnlineStatus",
                                 "/user/userAndAllFriendsWithOnlineStatus",
                                 "/user/findByIdForAchievement",
-                                "/user/findNotDeactivatedByEmail",
                                 "/user/findByEmail",
                                 "/user/findIdByEmail",
                                 "/user/findAllUsersCities",
@@ -162,6 +181,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, USER_LINK,
                                 "/user/shopping-list-items",
                                 "/user/{userId}/habit",
+                                "/user/findByIds",
+                                "/user/findByEmails",
+                                "/user/findByUuids",
                                 "/ownSecurity/set-password",
                                 "/email/sendReport",
                                 "/email/sendHabitNotification",
@@ -204,7 +226,9 @@ public class SecurityConfig {
                                 "/user/roles",
                                 "/user/findUserForManagement",
                                 "/user/searchBy",
-                                "/user/findAll")
+                                "/user/findAll",
+                                "/user/findAll/export",
+                                "/user/registrationStatistics")
                         .hasAnyRole(ADMIN, MODERATOR, EMPLOYEE)
                         .requestMatchers(HttpMethod.POST,
                                 "/ownSecurity/sign-up-employee")
@@ -235,11 +259,12 @@ public class SecurityConfig {
     /**
      * Method for configure type of authentication provider.
      *
-     * @param auth {@link AuthenticationManagerBuilder}
+     * @param auth                {@link AuthenticationManagerBuilder}
+     * @param accessTokenVerifier {@link AccessTokenVerifier}
      */
     @Autowired
-    public void configureGlobal(AuthenticationManagerBuilder auth) {
-        auth.authenticationProvider(new JwtAuthenticationProvider(jwtTool));
+    public void configureGlobal(AuthenticationManagerBuilder auth, AccessTokenVerifier accessTokenVerifier) {
+        auth.authenticationProvider(new JwtAuthenticationProvider(accessTokenVerifier));
     }
 
     /**
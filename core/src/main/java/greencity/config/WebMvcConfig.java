@@ -1,6 +1,8 @@
 package greencity.config;
 
 import greencity.converters.UserArgumentResolver;
+import greencity.converters.UserIdArgumentResolver;
+import greencity.security.CurrentUserHolder;
 import greencity.service.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
     private UserService userService;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private CurrentUserHolder currentUserHolder;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -95,5 +99,6 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new UserArgumentResolver(userService, modelMapper));
+        resolvers.add(new UserIdArgumentResolver(userService, currentUserHolder));
     }
 }
@@ -3,6 +3,7 @@ package greencity.constant;
 public final class HttpStatuses {
     public static final String OK = "OK";
     public static final String CREATED = "Created";
+    public static final String ACCEPTED = "Accepted";
     public static final String BAD_REQUEST = "Bad Request";
     public static final String FORBIDDEN = "Forbidden";
     public static final String SEE_OTHER = "See Other";
@@ -1,10 +1,16 @@
 package greencity.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import greencity.annotations.ApiPageable;
 import greencity.annotations.CurrentUser;
 import greencity.annotations.CurrentUserId;
 import greencity.annotations.ImageValidation;
+import greencity.constant.AppConstant;
 import greencity.constant.HttpStatuses;
+import greencity.dto.ContinuationPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -12,11 +18,15 @@ import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.enums.EmailNotification;
+import greencity.enums.RegistrationGrain;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
+import greencity.security.CurrentUserHolder;
 import greencity.security.dto.ownsecurity.ChangePasswordDto;
 import greencity.security.service.OwnSecurityService;
+import greencity.service.BulkUserOperationService;
 import greencity.service.EmailService;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +35,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -33,6 +44,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,7 +53,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import springfox.documentation.annotations.ApiIgnore;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -52,9 +68,17 @@ import java.util.Map;
 @Validated
 @Slf4j
 public class UserController {
+    private static final String CONTINUATION_TOKEN_DESCRIPTION =
+        "Token of keyset page from X-Continuation-Token header, empty for the first page";
+    private static final String COUNT_DESCRIPTION = "Whether to count total elements of keyset pages";
+    private static final int EXPORT_FLUSH_ROWS = 1000;
     private final UserService userService;
     private final EmailService emailService;
     private final OwnSecurityService ownSecurityService;
+    private final CurrentUserHolder currentUserHolder;
+    private final ObjectMapper objectMapper;
+    private final RegistrationStatisticsService registrationStatisticsService;
+    private final BulkUserOperationService bulkUserOperationService;
 
     /**
      * The method which update user status. Parameter principal are ignored because
@@ -123,7 +147,10 @@ public class UserController {
      * because swagger ui shows the wrong params, instead they are explained in the
      * {@link ApiPageable}.
      *
-     * @param pageable - pageable configuration.
+     * @param pageable          - pageable configuration.
+     * @param continuationToken - token of keyset page, empty for the first one;
+     *                          offset pagination is used if not set.
+     * @param count             - whether to count users in keyset mode.
      * @return list of {@link PageableDto}
      * @author Rostyslav Khasanov
      */
@@ -138,7 +165,13 @@ public class UserController {
     })
     @ApiPageable
     @GetMapping("all")
-    public ResponseEntity<PageableDto<UserForListDto>> getAllUsers(@ApiIgnore Pageable pageable) {
+    public ResponseEntity<PageableDto<UserForListDto>> getAllUsers(@ApiIgnore Pageable pageable,
+        @Parameter(description = CONTINUATION_TOKEN_DESCRIPTION) @RequestParam(required = false)
+        String continuationToken,
+        @Parameter(description = COUNT_DESCRIPTION) @RequestParam(defaultValue = "true") boolean count) {
+        if (continuationToken != null) {
+            return continuationPage(userService.findByContinuationToken(continuationToken, pageable, count));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(userService.findByPage(pageable));
     }
 
@@ -275,7 +308,8 @@ public class UserController {
     }
 
     /**
-     * Counts all users by user {@link UserStatus} ACTIVATED.
+     * Counts all users by user {@link UserStatus} ACTIVATED. The moment the
+     * amount was counted at is sent in {@code Last-Modified} header.
      *
      * @return amount of users with {@link UserStatus} ACTIVATED.
      * @author Shevtsiv Rostyslav
@@ -288,8 +322,10 @@ public class UserController {
     })
     @GetMapping("/activatedUsersAmount")
     public ResponseEntity<Long> getActivatedUsersAmount() {
+        UsersAmountDto activatedUsers = userService.getActivatedUsersAmount();
         return ResponseEntity.status(HttpStatus.OK)
-                .body(userService.getActivatedUsersAmount());
+                .lastModified(activatedUsers.getCountedAt())
+                .body(activatedUsers.getAmount());
     }
 
     /**
@@ -486,6 +522,10 @@ public class UserController {
     /**
      * Method that allow you to find {@link UserVO} for management.
      *
+     * @param pageable          - pageable configuration.
+     * @param continuationToken - token of keyset page, empty for the first one;
+     *                          offset pagination is used if not set.
+     * @param count             - whether to count users in keyset mode.
      * @return {@link UserUpdateDto}.
      * @author Orest Mamchuk
      */
@@ -499,7 +539,14 @@ public class UserController {
     @GetMapping("/findUserForManagement")
     @ApiPageable
     public ResponseEntity<PageableAdvancedDto<UserManagementDto>> findUserForManagementByPage(
-        @ApiIgnore Pageable pageable) {
+        @ApiIgnore Pageable pageable,
+        @Parameter(description = CONTINUATION_TOKEN_DESCRIPTION) @RequestParam(required = false)
+        String continuationToken,
+        @Parameter(description = COUNT_DESCRIPTION) @RequestParam(defaultValue = "true") boolean count) {
+        if (continuationToken != null) {
+            return continuationPage(
+                userService.findUserForManagementByContinuationToken(continuationToken, pageable, count));
+        }
         PageableAdvancedDto<UserManagementDto> searchResult = null;
         try {
             searchResult = userService.findUserForManagementByPage(pageable);
@@ -512,6 +559,11 @@ public class UserController {
     /**
      * Method that allow you to find {@link UserVO} by Id.
      *
+     * @param query             - query to search.
+     * @param pageable          - pageable configuration.
+     * @param continuationToken - token of keyset page, empty for the first one;
+     *                          offset pagination is used if not set.
+     * @param count             - whether to count found users in keyset mode.
      * @return {@link UserUpdateDto}.
      * @author Orest Mamchuk
      */
@@ -526,10 +578,29 @@ public class UserController {
     @ApiPageable
     public ResponseEntity<PageableAdvancedDto<UserManagementDto>> searchBy(
             @RequestParam(required = false, name = "query") String query,
-            @ApiIgnore Pageable pageable) {
+            @ApiIgnore Pageable pageable,
+            @Parameter(description = CONTINUATION_TOKEN_DESCRIPTION) @RequestParam(required = false)
+            String continuationToken,
+            @Parameter(description = COUNT_DESCRIPTION) @RequestParam(defaultValue = "true") boolean count) {
+        if (continuationToken != null) {
+            return continuationPage(userService.searchByContinuationToken(continuationToken, pageable, query, count));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(userService.searchBy(pageable, query));
     }
 
+    /**
+     * Returns keyset page with token of the next page in
+     * {@value AppConstant#CONTINUATION_TOKEN_HEADER} header, so the body keeps
+     * the shape of offset pages.
+     */
+    private static <P> ResponseEntity<P> continuationPage(ContinuationPageDto<P> continuationPage) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (continuationPage.getContinuationToken() != null) {
+            response.header(AppConstant.CONTINUATION_TOKEN_HEADER, continuationPage.getContinuationToken());
+        }
+        return response.body(continuationPage.getPage());
+    }
+
     /**
      * Method that updates user data.
      *
@@ -568,6 +639,47 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAll());
     }
 
+    /**
+     * Method that exports all users {@link UserVO} as NDJSON, one user per line
+     * in id order. Users are written while they are read, so memory doesn't
+     * depend on their amount. An interrupted export is resumed with id of the
+     * last received user.
+     *
+     * @param afterId  id of the last received user, 0 to start from the first.
+     * @param response {@link HttpServletResponse} the users are written to.
+     */
+    @Operation(summary = "Export all Users as NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping(value = "/findAll/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAll(@RequestParam(defaultValue = "0") long afterId, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(UserVO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            int[] written = {0};
+            userService.exportAll(afterId, user -> {
+                try {
+                    writer.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                    if (++written[0] % EXPORT_FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Method creates record in ubs table.
      *
@@ -586,7 +698,8 @@ public class UserController {
     }
 
     /**
-     * Get {@link UserVO} id by email.
+     * Get {@link UserVO} id by email. Id of the caller itself is taken from the
+     * verified access token.
      *
      * @return {@link Long}.
      * @author Orest Mamchuk
@@ -600,7 +713,65 @@ public class UserController {
     })
     @GetMapping("/findIdByEmail")
     public ResponseEntity<Long> findIdByEmail(@RequestParam String email) {
-        return ResponseEntity.status(HttpStatus.OK).body(userService.findIdByEmail(email));
+        Long id = currentUserHolder.getUserId(email).orElseGet(() -> userService.findIdByEmail(email));
+        return ResponseEntity.status(HttpStatus.OK).body(id);
+    }
+
+    /**
+     * Find users by ids with one query. Results follow the order of
+     * requested ids, with users that don't exist marked as not found.
+     *
+     * @param ids ids of users, limited by configuration.
+     * @return {@link List} of {@link UserLookupResultDto}.
+     */
+    @Operation(summary = "Find users by ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PostMapping("/findByIds")
+    public ResponseEntity<List<UserLookupResultDto<Long>>> findRefsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findRefsByIds(ids));
+    }
+
+    /**
+     * Find users by emails with one query. Results follow the order of
+     * requested emails, with users that don't exist marked as not found.
+     *
+     * @param emails emails of users, limited by configuration.
+     * @return {@link List} of {@link UserLookupResultDto}.
+     */
+    @Operation(summary = "Find users by emails")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PostMapping("/findByEmails")
+    public ResponseEntity<List<UserLookupResultDto<String>>> findRefsByEmails(@RequestBody List<String> emails) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findRefsByEmails(emails));
+    }
+
+    /**
+     * Find users by uuids with one query. Results follow the order of
+     * requested uuids, with users that don't exist marked as not found.
+     *
+     * @param uuids uuids of users, limited by configuration.
+     * @return {@link List} of {@link UserLookupResultDto}.
+     */
+    @Operation(summary = "Find users by uuids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PostMapping("/findByUuids")
+    public ResponseEntity<List<UserLookupResultDto<String>>> findRefsByUuids(@RequestBody List<String> uuids) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findRefsByUuids(uuids));
     }
 
     /**
@@ -649,10 +820,12 @@ public class UserController {
     }
 
     /**
-     * Method for getting {@link String} user language.
+     * Method for getting {@link String} user language. The stored language is
+     * returned rather than the one of claim-rich access token, which stays the
+     * same after the language is changed until the user signs in again.
      *
-     * @param userVO {@link UserVO} the current user that wants to get his profile
-     *               language
+     * @param principal {@link Principal} of the current user that wants to get
+     *                  his profile language
      * @return current user language {@link String}.
      * @author Vlad Pikhotskyi
      */
@@ -663,7 +836,11 @@ public class UserController {
             @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED)
     })
     @GetMapping("/lang")
-    public ResponseEntity<String> getUserLang(@ApiIgnore @CurrentUser UserVO userVO) {
+    public ResponseEntity<String> getUserLang(@ApiIgnore Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User data is unauthorized");
+        }
+        UserVO userVO = userService.findByEmail(principal.getName());
         if (userVO == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User data is unauthorized");
         }
@@ -754,6 +931,46 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.deactivateAllUsers(listId));
     }
 
+    /**
+     * Starts admin operation on selected users: activation, deactivation with
+     * reasons, change of status or role. Users are changed in background by
+     * chunks; progress is returned by {@code /user/bulk/{operationId}}.
+     *
+     * @param operation {@link BulkUserOperationDto}.
+     * @return {@link BulkOperationProgressDto} of started operation.
+     */
+    @Operation(summary = "Start operation on selected users")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = HttpStatuses.ACCEPTED),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOperationProgressDto> startBulkOperation(
+            @Valid @RequestBody BulkUserOperationDto operation, @ApiIgnore Principal principal) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(bulkUserOperationService.start(operation, principal.getName()));
+    }
+
+    /**
+     * Returns progress of operation on selected users.
+     *
+     * @param operationId id of the operation.
+     * @return {@link BulkOperationProgressDto}.
+     */
+    @Operation(summary = "Get progress of operation on selected users")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+            @ApiResponse(responseCode = "404", description = HttpStatuses.NOT_FOUND)
+    })
+    @GetMapping("/bulk/{operationId}")
+    public ResponseEntity<BulkOperationProgressDto> getBulkOperationProgress(@PathVariable String operationId) {
+        return ResponseEntity.status(HttpStatus.OK).body(bulkUserOperationService.getProgress(operationId));
+    }
+
     /**
      * Method that allow you to save new {@link UserVO}.
      *
@@ -809,6 +1026,32 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAllByEmailNotification(emailNotification));
     }
 
+    /**
+     * Method that returns recipients of email digest by batches ordered by id,
+     * with token of the next batch in
+     * {@value AppConstant#CONTINUATION_TOKEN_HEADER} header. The header is absent
+     * on the last batch.
+     *
+     * @param emailNotification enum with notification summary.
+     * @param continuationToken token of the batch, empty for the first batch.
+     * @param size              size of the first batch.
+     * @return {@link List} of {@link EmailSubscriberDto}
+     */
+    @Operation(summary = "Get recipients of email digest by batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+    })
+    @GetMapping("/emailNotificationSubscribers")
+    public ResponseEntity<List<EmailSubscriberDto>> findSubscribersByEmailNotification(
+        @RequestParam EmailNotification emailNotification,
+        @Parameter(description = CONTINUATION_TOKEN_DESCRIPTION) @RequestParam(required = false)
+        String continuationToken,
+        @RequestParam(defaultValue = "500") int size) {
+        return continuationPage(
+            userService.findSubscribersByEmailNotification(emailNotification, continuationToken, size));
+    }
+
     /**
      * Delete from the database users that have status 'DEACTIVATED' and last
      * visited the site 2 years ago.
@@ -842,6 +1085,31 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAllUsersCities());
     }
 
+    /**
+     * Method that returns amounts of users registered in days, weeks or months
+     * starting in the range.
+     *
+     * @param grain {@link RegistrationGrain} of buckets.
+     * @param from  first day of the range.
+     * @param to    last day of the range.
+     * @return {@link List} of {@link RegistrationStatisticsDto}
+     */
+    @Operation(summary = "Get registration statistics")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+            @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+            @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+            @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+    })
+    @GetMapping("/registrationStatistics")
+    public ResponseEntity<List<RegistrationStatisticsDto>> findRegistrationStatistics(
+        @RequestParam(defaultValue = "MONTH") RegistrationGrain grain,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(registrationStatisticsService.findStatistics(grain, from, to));
+    }
+
     @Operation(summary = "Change user's password", description = "Allows authenticated users to change their password.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
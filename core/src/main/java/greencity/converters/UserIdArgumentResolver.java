@@ -0,0 +1,50 @@
+package greencity.converters;
+
+import greencity.annotations.CurrentUserId;
+import greencity.security.CurrentUserHolder;
+import greencity.service.UserService;
+import java.security.Principal;
+import lombok.AllArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@AllArgsConstructor
+public class UserIdArgumentResolver implements HandlerMethodArgumentResolver {
+    private final UserService userService;
+    private final CurrentUserHolder currentUserHolder;
+
+    /**
+     * Method checks if parameter is {@link Long} annotated with
+     * {@link CurrentUserId} and is not taken from the path.
+     *
+     * @param parameter method parameter
+     * @return boolean
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUserId.class)
+            && !parameter.hasParameterAnnotation(PathVariable.class)
+            && parameter.getParameterType().equals(Long.class);
+    }
+
+    /**
+     * Method returns id of current user. The id is taken from the verified
+     * access token, so the database is queried only when it is absent.
+     *
+     * @return {@link Long}
+     */
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Principal principal = webRequest.getUserPrincipal();
+        if (principal == null) {
+            return null;
+        }
+        return currentUserHolder.getUserId(principal.getName())
+            .orElseGet(() -> userService.findIdByEmail(principal.getName()));
+    }
+}
@@ -10,6 +10,7 @@ import greencity.exception.exceptions.BadVerifyEmailTokenException;
 import greencity.exception.exceptions.EmailNotVerified;
 import greencity.exception.exceptions.InvalidURLException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
 import greencity.exception.exceptions.PasswordsDoNotMatchesException;
 import greencity.exception.exceptions.UserAlreadyHasPasswordException;
 import greencity.exception.exceptions.UserAlreadyRegisteredException;
@@ -387,4 +388,17 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(exceptionResponse);
     }
-}
\ No newline at end of file
+
+    /**
+     * Method intercept exception {@link PasswordHashingUnavailableException}.
+     *
+     * @param request contains details about occurred exception
+     * @return ResponseEntity which contains details about exception and 503 status
+     *         code
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public final ResponseEntity<Object> handlePasswordHashingUnavailableException(WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(request));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exceptionResponse);
+    }
+}
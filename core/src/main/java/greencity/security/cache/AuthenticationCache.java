@@ -0,0 +1,189 @@
+package greencity.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import greencity.security.events.UserStatusChangedEvent;
+import greencity.security.jwt.AccessTokenClaims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of already verified access tokens. Lets
+ * {@link greencity.security.filters.AccessTokenAuthenticationFilter} skip
+ * signature verification and user lookup for tokens seen recently. Entries are
+ * keyed by SHA-256 digest of the token, so raw tokens are never kept in memory,
+ * and live no longer than the token itself.
+ *
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class AuthenticationCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private final Cache<String, CachedAuthentication> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize maximum number of tokens kept in the cache.
+     */
+    public AuthenticationCache(
+        @Value("${greencity.security.authentication-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns authentication previously stored for the token.
+     *
+     * @param token jwt access token.
+     * @return {@link Optional} of {@link CachedAuthentication} or empty if token
+     *         is not cached or already expired.
+     */
+    public Optional<CachedAuthentication> get(String token) {
+        CachedAuthentication cached = cache.getIfPresent(digest(token));
+        if (cached == null || cached.expiresAt() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    /**
+     * Returns generation of evictions, changed by every {@link #evictUsers}. It
+     * has to be read before the status of token owner is checked and passed to
+     * {@link #put}.
+     *
+     * @return current generation.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores authentication of verified token until the token expires. Tokens
+     * without expiration date are not cached. Nothing is kept if users were
+     * evicted since the generation was read, because the status checked for the
+     * token may be already outdated.
+     *
+     * @param token          jwt access token.
+     * @param authentication {@link Authentication} built from the token.
+     * @param userId         id of the token owner.
+     * @param generation     {@link #generation()} read before the status check.
+     */
+    public void put(String token, Authentication authentication, Long userId, long generation) {
+        if (authentication.getDetails() instanceof AccessTokenClaims claims && claims.getExpiration() != null
+            && claims.getExpiration().getTime() > System.currentTimeMillis()) {
+            String key = digest(token);
+            cache.put(key, new CachedAuthentication(authentication, userId, claims.getExpiration().getTime()));
+            if (this.generation.get() != generation) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Removes all cached tokens that belong to given users. The generation is
+     * changed first, so an authentication stored concurrently is either removed
+     * here or dropped by {@link #put} itself.
+     *
+     * @param userIds ids of users.
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        generation.incrementAndGet();
+        Set<Long> ids = new HashSet<>(userIds);
+        cache.asMap().values().removeIf(cached -> ids.contains(cached.userId()));
+    }
+
+    /**
+     * Drops tokens of users whose status was changed, so that deactivated or
+     * blocked users lose access immediately. Runs once the change is committed,
+     * otherwise a request racing the transaction could cache the old status
+     * again.
+     *
+     * @param event {@link UserStatusChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        evictUsers(event.getUserIds());
+    }
+
+    /**
+     * Returns hit and miss statistics of the cache.
+     *
+     * @return {@link CacheStats}
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Periodically writes cache statistics to the log.
+     */
+    @Scheduled(fixedRateString = "${greencity.security.authentication-cache.stats-log-rate:600000}")
+    void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("Authentication cache: size {}, hits {}, misses {}, hit rate {}",
+            cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate());
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Authentication of verified token together with id of its owner.
+     *
+     * @param authentication {@link Authentication} built from the token.
+     * @param userId         id of the token owner.
+     * @param expiresAt      token expiration time in milliseconds.
+     */
+    public record CachedAuthentication(Authentication authentication, Long userId, long expiresAt) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, CachedAuthentication> {
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime,
+            long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime,
+            long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
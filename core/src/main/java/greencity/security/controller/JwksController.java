@@ -0,0 +1,55 @@
+package greencity.security.controller;
+
+import greencity.constant.HttpStatuses;
+import greencity.security.jwt.SigningKeyRing;
+import io.jsonwebtoken.security.PublicJwk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes public keys that access tokens are signed with, so that other
+ * services verify tokens locally instead of calling this service.
+ */
+@RestController
+public class JwksController {
+    private final SigningKeyRing signingKeyRing;
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructor.
+     *
+     * @param signingKeyRing     {@link SigningKeyRing}
+     * @param cacheMaxAgeSeconds how long clients may cache the key set.
+     */
+    public JwksController(SigningKeyRing signingKeyRing,
+        @Value("${greencity.security.jwks.cache-max-age-seconds:900}") long cacheMaxAgeSeconds) {
+        this.signingKeyRing = signingKeyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Method returns JSON Web Key Set of active signing keys. The set is empty
+     * while tokens are signed with shared HMAC key.
+     *
+     * @return key set in {@code {"keys": [...]}} format.
+     */
+    @Operation(summary = "Get public keys of access token signatures")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK)
+    })
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<PublicJwk<?>>>> getJwks() {
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .body(Map.of("keys", signingKeyRing.getPublicJwks()));
+    }
+}
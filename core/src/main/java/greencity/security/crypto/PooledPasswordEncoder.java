@@ -0,0 +1,140 @@
+package greencity.security.crypto;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that runs hashing of the delegate on its own bounded
+ * pool, so a burst of sign-ins can't occupy every request thread with CPU work.
+ * Requests wait in a bounded admission queue; when it is full
+ * {@link PasswordHashingUnavailableException} is thrown right away.
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashingNanos = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate      {@link PasswordEncoder} that does the hashing.
+     * @param poolSize      number of hashing threads.
+     * @param queueCapacity number of requests that may wait for a thread.
+     */
+    public PooledPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Returns current state of the hashing pool.
+     *
+     * @return {@link PasswordHashingStats}
+     */
+    public PasswordHashingStats getStats() {
+        long completed = executor.getCompletedTaskCount();
+        return new PasswordHashingStats(
+            executor.getActiveCount(),
+            executor.getQueue().size(),
+            completed,
+            rejected.sum(),
+            completed == 0 ? 0 : hashingNanos.sum() / completed / 1_000_000.0);
+    }
+
+    /**
+     * Logs statistics of the hashing pool.
+     */
+    @Scheduled(fixedRateString = "${greencity.security.password-hashing.stats-log-rate:600000}")
+    public void logStats() {
+        log.info("Password hashing stats: {}", getStats());
+    }
+
+    /**
+     * Stops hashing threads when the context is closed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashingNanos.add(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException(ErrorMessage.PASSWORD_HASHING_UNAVAILABLE);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(ErrorMessage.PASSWORD_HASHING_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Statistics of the hashing pool.
+     *
+     * @param activeThreads        threads hashing right now.
+     * @param queuedTasks          requests waiting for a thread.
+     * @param completedTasks       requests hashed since start.
+     * @param rejectedTasks        requests rejected because queue was full.
+     * @param averageHashingMillis average time of one hashing.
+     */
+    public record PasswordHashingStats(int activeThreads, int queuedTasks, long completedTasks,
+        long rejectedTasks, double averageHashingMillis) {
+    }
+}
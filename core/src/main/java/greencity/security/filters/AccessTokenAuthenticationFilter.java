@@ -1,6 +1,9 @@
 package greencity.security.filters;
 
-import greencity.dto.user.UserVO;
+import greencity.security.CurrentUserHolder;
+import greencity.security.cache.AuthenticationCache;
+import greencity.security.cache.AuthenticationCache.CachedAuthentication;
+import greencity.security.jwt.AccessTokenClaims;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -30,15 +33,19 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTool jwtTool;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final AuthenticationCache authenticationCache;
+    private final CurrentUserHolder currentUserHolder;
 
     /**
      * Constructor.
      */
     public AccessTokenAuthenticationFilter(JwtTool jwtTool, AuthenticationManager authenticationManager,
-        UserService userService) {
+        UserService userService, AuthenticationCache authenticationCache, CurrentUserHolder currentUserHolder) {
         this.jwtTool = jwtTool;
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.authenticationCache = authenticationCache;
+        this.currentUserHolder = currentUserHolder;
     }
 
     private String getTokenFromCookies(Cookie[] cookies) {
@@ -60,7 +67,9 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Checks if request has token in header, if this token still valid, and set
-     * authentication for spring.
+     * authentication for spring. Tokens verified earlier are taken from
+     * {@link AuthenticationCache}. Principal is also put into
+     * {@link CurrentUserHolder} for the rest of the request.
      *
      * @param request  this is servlet that take request
      * @param response this is response servlet
@@ -72,24 +81,47 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
         @SuppressWarnings("NullableProblems") FilterChain chain)
         throws IOException, ServletException {
         String token = extractToken(request);
-        log.info("token {}", token);
 
         if (token != null) {
+            Optional<CachedAuthentication> cached = authenticationCache.get(token);
+            if (cached.isPresent()) {
+                setAuthentication(cached.get().authentication(), cached.get().userId());
+                chain.doFilter(request, response);
+                return;
+            }
+            long generation = authenticationCache.generation();
             try {
                 Authentication authentication = authenticationManager
                     .authenticate(new UsernamePasswordAuthenticationToken(token, ""));
-                Optional<UserVO> user = userService.findNotDeactivatedByEmail((String) authentication.getPrincipal());
-                log.info("user {}", user);
-                if (user.isPresent()) {
+                Optional<Long> userId =
+                    userService.findNotDeactivatedIdByEmail((String) authentication.getPrincipal());
+                if (userId.isPresent() && hasOutdatedStatusVersion(authentication)) {
+                    log.info("Access denied with token: role or status of user has changed");
+                } else if (userId.isPresent()) {
                     log.debug("User successfully authenticate - {}", authentication.getPrincipal());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    setAuthentication(authentication, userId.get());
+                    authenticationCache.put(token, authentication, userId.get(), generation);
                 }
             } catch (ExpiredJwtException e) {
-                log.info("Token has expired: " + token);
+                log.info("Token has expired");
             } catch (Exception e) {
-                log.info("Access denied with token: " + e.getMessage());
+                log.info("Access denied with token: {}", e.getMessage());
             }
         }
         chain.doFilter(request, response);
     }
+
+    private boolean hasOutdatedStatusVersion(Authentication authentication) {
+        return authentication.getDetails() instanceof AccessTokenClaims claims
+            && claims.getStatusVersion() != null
+            && !userService.isStatusVersionCurrent(authentication.getName(), claims.getStatusVersion());
+    }
+
+    private void setAuthentication(Authentication authentication, Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        String languageCode = authentication.getDetails() instanceof AccessTokenClaims claims
+            ? claims.getLanguageCode()
+            : null;
+        currentUserHolder.setPrincipal(authentication.getName(), userId, languageCode);
+    }
 }
\ No newline at end of file
@@ -1,34 +1,27 @@
 package greencity.security.providers;
 
-import static greencity.constant.AppConstant.ROLE;
-import greencity.security.jwt.JwtTool;
-import io.jsonwebtoken.Jwts;
+import greencity.security.jwt.AccessTokenVerifier;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
-import java.util.List;
-import java.util.stream.Collectors;
-import javax.crypto.SecretKey;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 /**
  * Class that provides authentication logic.
  *
  * @author Yurii Koval
- * @version 1.1
+ * @version 1.2
  */
 public class JwtAuthenticationProvider implements AuthenticationProvider {
-    private final JwtTool jwtTool;
+    private final AccessTokenVerifier accessTokenVerifier;
 
     /**
      * Constructor.
      *
-     * @param jwtTool {@link JwtTool}
+     * @param accessTokenVerifier {@link AccessTokenVerifier}
      */
-    public JwtAuthenticationProvider(JwtTool jwtTool) {
-        this.jwtTool = jwtTool;
+    public JwtAuthenticationProvider(AccessTokenVerifier accessTokenVerifier) {
+        this.accessTokenVerifier = accessTokenVerifier;
     }
 
     /**
@@ -36,7 +29,8 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
      *
      * @param authentication {@link Authentication} - authentication that has jwt
      *                       access token.
-     * @return {@link Authentication} if user successfully authenticated.
+     * @return {@link Authentication} if user successfully authenticated, with
+     *         {@link greencity.security.jwt.AccessTokenClaims} as details.
      * @throws io.jsonwebtoken.ExpiredJwtException   - if the token expired.
      * @throws UnsupportedJwtException               if the argument does not
      *                                               represent an Claims JWS
@@ -47,24 +41,7 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
      */
     @Override
     public Authentication authenticate(Authentication authentication) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
-
-        String email = Jwts.parser()
-            .verifyWith(key).build()
-            .parseSignedClaims(authentication.getName())
-            .getPayload()
-            .getSubject();
-        @SuppressWarnings({"unchecked, rawtype"})
-        List<String> authorities = (List<String>) Jwts.parser()
-            .verifyWith(key).build()
-            .parseSignedClaims(authentication.getName())
-            .getPayload()
-            .get(ROLE);
-
-        return new UsernamePasswordAuthenticationToken(
-            email,
-            "",
-            authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+        return accessTokenVerifier.verify(authentication.getName());
     }
 
     /**
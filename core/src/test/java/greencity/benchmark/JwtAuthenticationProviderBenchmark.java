@@ -0,0 +1,99 @@
+package greencity.benchmark;
+
+import static greencity.constant.AppConstant.ROLE;
+import greencity.enums.Role;
+import greencity.security.jwt.AccessTokenVerifier;
+import greencity.security.providers.JwtAuthenticationProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Compares throughput of access token authentication done by
+ * {@link JwtAuthenticationProvider} with the previous implementation that
+ * rebuilt the key and parsed the token twice on every call.
+ *
+ * <p>
+ * Run with {@code main} from the IDE or
+ * {@code java -cp <test classpath> greencity.benchmark.JwtAuthenticationProviderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationProviderBenchmark {
+    private static final String ACCESS_TOKEN_KEY = "12312312312312312312312312312312312";
+
+    private JwtAuthenticationProvider provider;
+    private Authentication tokenAuthentication;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(ACCESS_TOKEN_KEY.getBytes(StandardCharsets.UTF_8));
+        String accessToken = Jwts.builder()
+            .subject("test@gmail.com")
+            .claim(ROLE, Collections.singleton(Role.ROLE_USER.name()))
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+            .signWith(key)
+            .compact();
+        provider = new JwtAuthenticationProvider(new AccessTokenVerifier(ACCESS_TOKEN_KEY));
+        tokenAuthentication = new UsernamePasswordAuthenticationToken(accessToken, "");
+    }
+
+    @Benchmark
+    public Authentication singleParse() {
+        return provider.authenticate(tokenAuthentication);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Authentication doubleParse() {
+        SecretKey key = Keys.hmacShaKeyFor(ACCESS_TOKEN_KEY.getBytes());
+        String email = Jwts.parser()
+            .verifyWith(key).build()
+            .parseSignedClaims(tokenAuthentication.getName())
+            .getPayload()
+            .getSubject();
+        List<String> authorities = (List<String>) Jwts.parser()
+            .verifyWith(key).build()
+            .parseSignedClaims(tokenAuthentication.getName())
+            .getPayload()
+            .get(ROLE);
+        return new UsernamePasswordAuthenticationToken(
+            email,
+            "",
+            authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JwtAuthenticationProviderBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
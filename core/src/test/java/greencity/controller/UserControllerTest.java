@@ -6,33 +6,45 @@ import greencity.TestConst;
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
 import greencity.converters.UserArgumentResolver;
+import greencity.dto.ContinuationPageDto;
 import greencity.dto.PageableAdvancedDto;
+import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
 import greencity.dto.language.LanguageVO;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
+import greencity.enums.BulkOperationState;
+import greencity.enums.BulkUserAction;
 import greencity.enums.EmailNotification;
+import greencity.enums.RegistrationGrain;
 import greencity.enums.Role;
 import greencity.exception.exceptions.PasswordsDoNotMatchesException;
 import greencity.exception.exceptions.WrongPasswordException;
 import greencity.exception.handler.CustomExceptionHandler;
 import greencity.repository.UserRepo;
+import greencity.security.CurrentUserHolder;
 import greencity.security.dto.ownsecurity.ChangePasswordDto;
 import greencity.security.service.OwnSecurityService;
+import greencity.service.BulkUserOperationService;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
 
 import java.security.Principal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -54,6 +66,7 @@ import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequ
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -84,7 +97,15 @@ class UserControllerTest {
     @Mock
     private OwnSecurityService ownSecurityService;
     @Mock
+    private CurrentUserHolder currentUserHolder;
+    @Mock
+    private RegistrationStatisticsService registrationStatisticsService;
+    @Mock
+    private BulkUserOperationService bulkUserOperationService;
+    @Mock
     private CustomExceptionHandler customExceptionHandler;
+    @Spy
+    private ObjectMapper jsonMapper = new ObjectMapper().findAndRegisterModules();
     private Principal mockPrincipal;
     private ObjectMapper objectMapper;
     private final ErrorAttributes errorAttributes = new DefaultErrorAttributes();
@@ -172,6 +193,19 @@ class UserControllerTest {
         verify(userService).findByPage(pageable);
     }
 
+    @Test
+    void getAllUsersByContinuationTokenTest() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userService.findByContinuationToken("token", pageable, true))
+                .thenReturn(new ContinuationPageDto<>(new PageableDto<>(List.of(), 0, 1, 1), "next"));
+
+        mockMvc.perform(get(userLink + "/all?continuationToken=token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AppConstant.CONTINUATION_TOKEN_HEADER, "next"));
+
+        verify(userService, never()).findByPage(any());
+    }
+
     @Test
     void getRolesTest() throws Exception {
         mockMvc.perform(get(userLink + "/roles"))
@@ -259,8 +293,12 @@ class UserControllerTest {
 
     @Test
     void getActivatedUsersAmountTest() throws Exception {
+        when(userService.getActivatedUsersAmount())
+                .thenReturn(new UsersAmountDto(42L, Instant.parse("2024-05-01T10:15:30Z")));
         mockMvc.perform(get(userLink + "/activatedUsersAmount"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"))
+                .andExpect(header().string("Last-Modified", "Wed, 01 May 2024 10:15:30 GMT"));
 
         verify(userService).getActivatedUsersAmount();
     }
@@ -421,7 +459,7 @@ class UserControllerTest {
     }
 
     @Test
-    void searchBadRequestTest() throws Exception {
+    void searchWithoutMatchesReturnsEmptyPageTest() throws Exception {
         Pageable pageable = PageRequest.of(0, 20);
         UserManagementViewDto userViewDto = UserManagementViewDto.builder()
                 .id("999")
@@ -432,14 +470,14 @@ class UserControllerTest {
         String content = objectMapper.writeValueAsString(userViewDto);
 
         when(userService.search(pageable, userViewDto))
-                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "No users found for the specified criteria."));
+                .thenReturn(new PageableAdvancedDto<>(List.of(), 0, 0, 0, 0, false, false, true, true));
 
         mockMvc.perform(post(userLink + "/search")
                         .content(content)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isBadRequest())
-                .andExpect(result -> Matchers.equalTo("No users found for the specified criteria.")
-                        .matches(result.getResolvedException().getMessage()));
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").isEmpty())
+                .andExpect(jsonPath("$.totalElements").value(0));
 
         verify(userService).search(pageable, userViewDto);
     }
@@ -493,6 +531,33 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    void findUserForManagementByContinuationTokenTest() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userService.findUserForManagementByContinuationToken("", pageable, false))
+                .thenReturn(new ContinuationPageDto<>(ModelUtils.getPageableAdvancedDto(), "next"));
+        mockMvc.perform(get(userLink + "/findUserForManagement")
+                        .param("continuationToken", "")
+                        .param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AppConstant.CONTINUATION_TOKEN_HEADER, "next"))
+                .andExpect(jsonPath("$.page.length()").value(1));
+        verify(userService, never()).findUserForManagementByPage(any());
+    }
+
+    @Test
+    void searchByContinuationTokenOnLastPageTest() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userService.searchByContinuationToken("token", pageable, "testQuery", true))
+                .thenReturn(new ContinuationPageDto<>(ModelUtils.getPageableAdvancedDto(), null));
+        mockMvc.perform(get(userLink + "/searchBy")
+                        .param("query", "testQuery")
+                        .param("continuationToken", "token"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AppConstant.CONTINUATION_TOKEN_HEADER))
+                .andExpect(jsonPath("$.totalElements").value(1L));
+    }
+
     @Test
     void updateUserManagementTest() throws Exception {
         UserManagementUpdateDto userManagementDto = ModelUtils.getUserManagementUpdateDto();
@@ -523,6 +588,43 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].email").value(TestConst.EMAIL));
     }
 
+    @Test
+    void findAllAcceptingAnyTypeReturnsJsonTest() throws Exception {
+        when(userService.findAll()).thenReturn(List.of(ModelUtils.getUserVO()));
+        mockMvc.perform(get(userLink + "/findAll")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1L));
+        verify(userService, never()).exportAll(anyLong(), any());
+    }
+
+    @Test
+    void exportAllWritesUserPerLineTest() throws Exception {
+        UserVO first = ModelUtils.getUserVO();
+        UserVO second = ModelUtils.getUserVO();
+        second.setId(2L);
+        doAnswer(invocation -> {
+            Consumer<UserVO> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(userService).exportAll(eq(1L), any());
+
+        String body = mockMvc.perform(get(userLink + "/findAll/export")
+                        .param("afterId", "1")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(TestConst.EMAIL, jsonMapper.readTree(lines[0]).get("email").asText());
+        assertEquals(2L, jsonMapper.readTree(lines[1]).get("id").asLong());
+        verify(userService, never()).findAll();
+    }
+
     @Test
     void createUbsRecordTest() throws Exception {
         Principal principal = mock(Principal.class);
@@ -550,6 +652,16 @@ class UserControllerTest {
                 .andExpect(jsonPath("$").value(1L));
     }
 
+    @Test
+    void findIdByEmailOfCurrentUserTest() throws Exception {
+        when(currentUserHolder.getUserId(TestConst.EMAIL)).thenReturn(Optional.of(1L));
+        mockMvc.perform(get(userLink + "/findIdByEmail")
+                        .param("email", TestConst.EMAIL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(1L));
+        verify(userService, never()).findIdByEmail(anyString());
+    }
+
     @Test
     void updateUserLanguageTest() throws Exception {
         Principal principal = mock(Principal.class);
@@ -592,6 +704,21 @@ class UserControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getUserLangIgnoresLanguageOfAccessTokenTest() throws Exception {
+        Principal principal = mock(Principal.class);
+        UserVO userVO = ModelUtils.getUserVO();
+        userVO.setLanguageVO(LanguageVO.builder().id(1L).code("en").build());
+        when(principal.getName()).thenReturn(TestConst.EMAIL);
+        when(currentUserHolder.getLanguageCode()).thenReturn(Optional.of("ua"));
+        when(userService.findByEmail(TestConst.EMAIL)).thenReturn(userVO);
+
+        this.mockMvc.perform(get(userLink + "/lang")
+                        .principal(principal))
+                .andExpect(content().string("en"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getUserLang_Unauthorized() throws Exception {
         this.mockMvc.perform(get(userLink + "/lang"))
@@ -663,6 +790,98 @@ class UserControllerTest {
 
     }
 
+    @Test
+    void findSubscribersByEmailNotificationTest() throws Exception {
+        when(userService.findSubscribersByEmailNotification(EmailNotification.WEEKLY, "token", 100))
+                .thenReturn(new ContinuationPageDto<>(
+                        List.of(new EmailSubscriberDto(1L, "Taras", "taras@gmail.com", "ua")), "next"));
+        mockMvc.perform(get(userLink + "/emailNotificationSubscribers")
+                        .param("emailNotification", "WEEKLY")
+                        .param("continuationToken", "token")
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AppConstant.CONTINUATION_TOKEN_HEADER, "next"))
+                .andExpect(jsonPath("$[0].email").value("taras@gmail.com"))
+                .andExpect(jsonPath("$[0].languageCode").value("ua"));
+    }
+
+    @Test
+    void findByIdsTest() throws Exception {
+        when(userService.findRefsByIds(List.of(1L, 2L))).thenReturn(List.of(
+                new UserLookupResultDto<>(1L, true, UserRefDto.builder().id(1L).uuid("uuid-1").build()),
+                new UserLookupResultDto<>(2L, false, null)));
+        mockMvc.perform(post(userLink + "/findByIds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.uuid").value("uuid-1"))
+                .andExpect(jsonPath("$[1].key").value(2))
+                .andExpect(jsonPath("$[1].found").value(false));
+    }
+
+    @Test
+    void findByEmailsAndUuidsTest() throws Exception {
+        mockMvc.perform(post(userLink + "/findByEmails")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"test@gmail.com\"]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(userLink + "/findByUuids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"uuid-1\"]"))
+                .andExpect(status().isOk());
+        verify(userService).findRefsByEmails(List.of("test@gmail.com"));
+        verify(userService).findRefsByUuids(List.of("uuid-1"));
+    }
+
+    @Test
+    void startBulkOperationTest() throws Exception {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("admin@gmail.com");
+        BulkUserOperationDto operation = BulkUserOperationDto.builder()
+                .ids(List.of(1L, 2L))
+                .action(BulkUserAction.DEACTIVATE)
+                .reasons(List.of("{en} spam"))
+                .build();
+        when(bulkUserOperationService.start(operation, "admin@gmail.com")).thenReturn(BulkOperationProgressDto.builder()
+                .id("operation")
+                .action(BulkUserAction.DEACTIVATE)
+                .state(BulkOperationState.RUNNING)
+                .total(2)
+                .build());
+        mockMvc.perform(post(userLink + "/bulk")
+                        .principal(principal)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2], \"action\": \"DEACTIVATE\", \"reasons\": [\"{en} spam\"]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("operation"))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void startBulkOperationWithoutIdsTest() throws Exception {
+        mockMvc.perform(post(userLink + "/bulk")
+                        .principal(mock(Principal.class))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [], \"action\": \"ACTIVATE\"}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bulkUserOperationService);
+    }
+
+    @Test
+    void getBulkOperationProgressTest() throws Exception {
+        when(bulkUserOperationService.getProgress("operation")).thenReturn(BulkOperationProgressDto.builder()
+                .id("operation")
+                .state(BulkOperationState.COMPLETED)
+                .total(2)
+                .processed(2)
+                .affected(1)
+                .build());
+        mockMvc.perform(get(userLink + "/bulk/operation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.affected").value(1));
+    }
+
     @Test
     void scheduleDeleteDeactivateUserTest() throws Exception {
         when(userService.scheduleDeleteDeactivatedUsers()).thenReturn(1);
@@ -682,6 +901,21 @@ class UserControllerTest {
                 .andExpect(jsonPath("$", Matchers.containsInAnyOrder("Lviv", "Kyiv", "Kharkiv")));
     }
 
+    @Test
+    void findRegistrationStatisticsTest() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        when(registrationStatisticsService.findStatistics(RegistrationGrain.WEEK, from, to))
+                .thenReturn(List.of(new RegistrationStatisticsDto(LocalDate.of(2024, 1, 1), 5L)));
+        mockMvc.perform(get(userLink + "/registrationStatistics")
+                        .param("grain", "WEEK")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].usersAmount").value(5));
+    }
+
     @Test
     public void testChangePasswordSuccess() throws Exception {
         ChangePasswordDto changePasswordDto = new ChangePasswordDto();
@@ -1,7 +1,11 @@
 package greencity.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import greencity.security.CurrentUserHolder;
 import greencity.security.service.OwnSecurityService;
+import greencity.service.BulkUserOperationService;
 import greencity.service.EmailService;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,7 +46,9 @@ class UserControllerTestBug278 {
         mockUserService = Mockito.mock(UserService.class);
         mockEmailService = Mockito.mock(EmailService.class);
         securityService = Mockito.mock(OwnSecurityService.class);
-        UserController userController = new UserController(mockUserService, mockEmailService, securityService);
+        UserController userController = new UserController(mockUserService, mockEmailService, securityService,
+                Mockito.mock(CurrentUserHolder.class), new ObjectMapper(),
+                Mockito.mock(RegistrationStatisticsService.class), Mockito.mock(BulkUserOperationService.class));
         context.register(UserControllerTestSecurityContext.class);
         context.refresh();
         SecurityFilterChain securityFilterChain = context.getBean(SecurityFilterChain.class);
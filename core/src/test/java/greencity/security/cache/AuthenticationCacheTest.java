@@ -0,0 +1,113 @@
+package greencity.security.cache;
+
+import greencity.enums.UserStatus;
+import greencity.security.events.UserStatusChangedEvent;
+import greencity.security.jwt.AccessTokenClaims;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticationCacheTest {
+    private static final String TOKEN = "SuperSecretAccessToken";
+
+    private final AuthenticationCache authenticationCache = new AuthenticationCache(100);
+
+    private Authentication authentication(long expiresInMillis) {
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken("test@mail.com", "", List.of());
+        authentication.setDetails(
+            new AccessTokenClaims(new Date(System.currentTimeMillis() + expiresInMillis), null, null, null));
+        return authentication;
+    }
+
+    @Test
+    void getReturnsStoredAuthenticationTest() {
+        Authentication authentication = authentication(60_000);
+        authenticationCache.put(TOKEN, authentication, 1L, authenticationCache.generation());
+
+        assertEquals(authentication, authenticationCache.get(TOKEN).orElseThrow().authentication());
+        assertEquals(1L, authenticationCache.get(TOKEN).orElseThrow().userId());
+        assertEquals(2, authenticationCache.stats().hitCount());
+    }
+
+    @Test
+    void getMissesUnknownTokenTest() {
+        assertFalse(authenticationCache.get(TOKEN).isPresent());
+        assertEquals(1, authenticationCache.stats().missCount());
+    }
+
+    @Test
+    void putSkipsExpiredTokenTest() {
+        authenticationCache.put(TOKEN, authentication(-1_000), 1L, authenticationCache.generation());
+
+        assertFalse(authenticationCache.get(TOKEN).isPresent());
+    }
+
+    @Test
+    void putSkipsTokenWithoutExpirationTest() {
+        authenticationCache.put(TOKEN, new UsernamePasswordAuthenticationToken("test@mail.com", ""), 1L,
+            authenticationCache.generation());
+
+        assertFalse(authenticationCache.get(TOKEN).isPresent());
+    }
+
+    @Test
+    void onUserStatusChangedEvictsTokensOfUserTest() {
+        authenticationCache.put(TOKEN, authentication(60_000), 1L, authenticationCache.generation());
+        authenticationCache.put("OtherToken", authentication(60_000), 2L, authenticationCache.generation());
+
+        authenticationCache.onUserStatusChanged(new UserStatusChangedEvent(this, List.of(1L), UserStatus.BLOCKED));
+
+        assertFalse(authenticationCache.get(TOKEN).isPresent());
+        assertTrue(authenticationCache.get("OtherToken").isPresent());
+    }
+
+    @Test
+    void putSkipsAuthenticationCheckedBeforeEvictionTest() {
+        long generation = authenticationCache.generation();
+        authenticationCache.evictUsers(List.of(1L));
+
+        authenticationCache.put(TOKEN, authentication(60_000), 1L, generation);
+
+        assertFalse(authenticationCache.get(TOKEN).isPresent());
+        authenticationCache.put(TOKEN, authentication(60_000), 1L, authenticationCache.generation());
+        assertTrue(authenticationCache.get(TOKEN).isPresent());
+    }
+
+    @Test
+    void onUserStatusChangedEvictsOnlyAfterCommitTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(AuthenticationCache.class, () -> authenticationCache);
+            context.refresh();
+            authenticationCache.put(TOKEN, authentication(60_000), 1L, authenticationCache.generation());
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                context.publishEvent(new UserStatusChangedEvent(this, List.of(1L), UserStatus.BLOCKED));
+
+                assertTrue(authenticationCache.get(TOKEN).isPresent());
+
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+
+                assertFalse(authenticationCache.get(TOKEN).isPresent());
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+}
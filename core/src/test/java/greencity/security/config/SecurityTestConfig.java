@@ -1,6 +1,8 @@
 package greencity.security.config;
 
 import greencity.config.SecurityConfig;
+import greencity.security.CurrentUserHolder;
+import greencity.security.cache.AuthenticationCache;
 import greencity.security.filters.AccessTokenAuthenticationFilter;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
@@ -28,7 +30,10 @@ public class SecurityTestConfig {
         UserService mockUserService = Mockito.mock(UserService.class);
         JwtTool mockJwtTool = Mockito.mock(JwtTool.class);
         AuthenticationConfiguration mockAuthenticationConfiguration = Mockito.mock(AuthenticationConfiguration.class);
-        SecurityConfig securityConfig = new SecurityConfig(mockJwtTool, mockUserService, mockAuthenticationConfiguration);
+        AuthenticationCache mockAuthenticationCache = Mockito.mock(AuthenticationCache.class);
+        CurrentUserHolder mockCurrentUserHolder = Mockito.mock(CurrentUserHolder.class);
+        SecurityConfig securityConfig = new SecurityConfig(mockJwtTool, mockUserService, mockAuthenticationConfiguration,
+            mockAuthenticationCache, mockCurrentUserHolder);
         SecurityFilterChain securityFilterChain = securityConfig.securityFilterChain(http);
         int index = 0;
         for (var securityFilter : securityFilterChain.getFilters()) {
@@ -0,0 +1,39 @@
+package greencity.security.controller;
+
+import greencity.security.jwt.SigningKeyRing;
+import io.jsonwebtoken.Jwts;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JwksControllerTest {
+    private SigningKeyRing signingKeyRing;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyRing = new SigningKeyRing(Jwts.SIG.ES256, List.of(
+            new SigningKeyRing.SigningKey("current", Jwts.SIG.ES256.keyPair().build(), Jwts.SIG.ES256)), "current");
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new JwksController(signingKeyRing, 900))
+            .build();
+    }
+
+    @Test
+    void getJwksTest() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "max-age=900, public"))
+            .andExpect(jsonPath("$.keys[0].kid").value(signingKeyRing.getCurrentKey().kid()))
+            .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+            .andExpect(jsonPath("$.keys[0].alg").value("ES256"))
+            .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+    }
+}
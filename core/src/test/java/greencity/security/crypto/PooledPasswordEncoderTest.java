@@ -0,0 +1,74 @@
+package greencity.security.crypto;
+
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PooledPasswordEncoderTest {
+    private PooledPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatchesTest() {
+        encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), 2, 2);
+
+        String hash = encoder.encode("password");
+
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("other", hash));
+    }
+
+    @Test
+    void upgradeEncodingOfWeakerHashTest() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1);
+
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+    }
+
+    @Test
+    void saturatedPoolRejectsTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode("password")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        encoder = new PooledPasswordEncoder(blocking, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> encoder.encode("password"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> encoder.encode("password"));
+            while (encoder.getStats().queuedTasks() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("password"));
+            assertEquals(1, encoder.getStats().rejectedTasks());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
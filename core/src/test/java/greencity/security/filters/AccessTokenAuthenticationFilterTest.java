@@ -1,8 +1,17 @@
 package greencity.security.filters;
 
-import greencity.dto.user.UserVO;
+import greencity.dto.user.UserIdStatusDto;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import greencity.security.CurrentUserHolder;
+import greencity.security.cache.AuthenticationCache;
+import greencity.security.cache.AuthenticationCache.CachedAuthentication;
+import greencity.security.events.UserStatusChangedEvent;
+import greencity.security.jwt.AccessTokenClaims;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
+import greencity.service.UserStatusCache;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,14 +28,20 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +62,12 @@ class AccessTokenAuthenticationFilterTest {
     AuthenticationManager authenticationManager;
     @Mock
     UserService userService;
+    @Mock
+    AuthenticationCache authenticationCache;
+    @Mock
+    CurrentUserHolder currentUserHolder;
+    @Mock
+    UserRepo userRepo;
 
     @InjectMocks
     private AccessTokenAuthenticationFilter authenticationFilter;
@@ -68,15 +89,78 @@ class AccessTokenAuthenticationFilterTest {
         when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
         when(authenticationManager.authenticate(any()))
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(userService.findNotDeactivatedByEmail("test@mail.com"))
-            .thenReturn(Optional.of(UserVO.builder().id(1L).build()));
+        when(userService.findNotDeactivatedIdByEmail("test@mail.com")).thenReturn(Optional.of(1L));
         doNothing().when(chain).doFilter(request, response);
 
         authenticationFilter.doFilterInternal(request, response, chain);
         verify(authenticationManager).authenticate(any());
+        verify(authenticationCache).put(eq("SuperSecretAccessToken"), any(), eq(1L), anyLong());
+        verify(currentUserHolder).setPrincipal("test@mail.com", 1L, null);
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternalOutdatedStatusVersionTest() throws IOException, ServletException {
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null);
+        authentication.setDetails(new AccessTokenClaims(new Date(), 1L, "en", 1));
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(userService.findNotDeactivatedIdByEmail("test@mail.com")).thenReturn(Optional.of(1L));
+        when(userService.isStatusVersionCurrent("test@mail.com", 1)).thenReturn(false);
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+        verify(authenticationCache, never()).put(anyString(), any(), any(), anyLong());
+        verify(currentUserHolder, never()).setPrincipal(anyString(), any(), any());
         verify(chain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternalCachedTokenTest() throws IOException, ServletException {
+        String token = "SuperSecretAccessToken";
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
+        when(authenticationCache.get(token)).thenReturn(Optional.of(
+            new CachedAuthentication(new UsernamePasswordAuthenticationToken("test@mail.com", null), 1L, 0L)));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+        verify(authenticationManager, never()).authenticate(any());
+        verify(userService, never()).findNotDeactivatedIdByEmail(anyString());
+        verify(currentUserHolder).setPrincipal("test@mail.com", 1L, null);
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void deletedUserIsRejectedOnNextRequestTest() throws IOException, ServletException {
+        UserStatusCache userStatusCache = new UserStatusCache(userRepo, 100, 300);
+        AuthenticationCache realAuthenticationCache = new AuthenticationCache(100);
+        AccessTokenAuthenticationFilter filter = new AccessTokenAuthenticationFilter(jwtTool,
+            authenticationManager, userService, realAuthenticationCache, currentUserHolder);
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null);
+        authentication.setDetails(new AccessTokenClaims(new Date(System.currentTimeMillis() + 60_000), null, null,
+            null));
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(userRepo.findIdAndStatusByEmail("test@mail.com"))
+            .thenReturn(Optional.of(new UserIdStatusDto(1L, UserStatus.ACTIVATED, Role.ROLE_USER)))
+            .thenReturn(Optional.empty());
+        when(userService.findNotDeactivatedIdByEmail("test@mail.com")).thenAnswer(invocation ->
+            userStatusCache.get("test@mail.com").map(UserIdStatusDto::getId));
+        try {
+            filter.doFilterInternal(request, response, chain);
+            UserStatusChangedEvent deleted = new UserStatusChangedEvent(this, List.of(1L), null);
+            realAuthenticationCache.onUserStatusChanged(deleted);
+            userStatusCache.onUserStatusChanged(deleted);
+            filter.doFilterInternal(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(currentUserHolder, times(1)).setPrincipal("test@mail.com", 1L, null);
+        verify(userService, times(2)).findNotDeactivatedIdByEmail("test@mail.com");
+        assertTrue(realAuthenticationCache.get("SuperSecretAccessToken").isEmpty());
+    }
+
 //    @Test
 //    void doFilterInternalTokenHasExpiredTest() throws IOException, ServletException {
 //        String token = "SuperSecretAccessToken";
@@ -94,7 +178,7 @@ class AccessTokenAuthenticationFilterTest {
         when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
         when(authenticationManager.authenticate(any()))
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(userService.findNotDeactivatedByEmail("test@mail.com")).thenThrow(RuntimeException.class);
+        when(userService.findNotDeactivatedIdByEmail("test@mail.com")).thenThrow(RuntimeException.class);
         authenticationFilter.doFilterInternal(request, response, chain);
         assertTrue(systemOutContent.toString().contains("Access denied with token: "));
     }
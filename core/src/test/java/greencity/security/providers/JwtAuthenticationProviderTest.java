@@ -1,12 +1,14 @@
 package greencity.security.providers;
 
 import greencity.enums.Role;
+import greencity.security.jwt.AccessTokenVerifier;
 import greencity.security.jwt.JwtTool;
 import io.jsonwebtoken.ExpiredJwtException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +33,8 @@ class JwtAuthenticationProviderTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtTool);
+        when(jwtTool.getAccessTokenKey()).thenReturn("12312312312312312312312312312312312");
+        jwtAuthenticationProvider = new JwtAuthenticationProvider(new AccessTokenVerifier(jwtTool));
     }
 
     @Test
@@ -41,8 +44,6 @@ class JwtAuthenticationProviderTest {
             TUlOIl0sImlhdCI6MTY1NDYzNjc2OSwiZXhwIjo2MTY1NDYzNjcwOX0.ajLrWu7MNoXWlPRWi\
             LD9d7vDzScqx8-9eBl3ZlYlspQ\
             """;
-        when(jwtTool.getAccessTokenKey()).thenReturn("12312312312312312312312312312312312");
-
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             accessToken,
             null);
@@ -56,11 +57,11 @@ class JwtAuthenticationProviderTest {
                 .collect(Collectors.toList()),
             actual.getAuthorities());
         assertEquals("", actual.getCredentials());
+        assertNotNull(actual.getDetails());
     }
 
     @Test
     void authenticateWithExpiredAccessToken() {
-        when(jwtTool.getAccessTokenKey()).thenReturn("12312312312312312312312312312312312");
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             """
                 eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJxcXFAZW1haWwuY29tIiwicm9sZSI6WyJST0xF\
@@ -75,7 +76,6 @@ class JwtAuthenticationProviderTest {
 
     @Test
     void authenticateWithMalformedAccessToken() {
-        when(jwtTool.getAccessTokenKey()).thenReturn("123123123");
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             """
                 Malformed\
@@ -1,9 +1,13 @@
 package greencity.constant;
 
 public final class RepoConstants {
+    public static final String ID = "id";
     public static final String REGISTRATION_DATE = "dateOfRegistration";
     public static final String EMAIL = "email";
     public static final String NAME = "name";
+    public static final String USER_STATUS = "userStatus";
+    public static final String ROLE = "role";
+    public static final String USER_CREDO = "userCredo";
 
     RepoConstants() {
     }
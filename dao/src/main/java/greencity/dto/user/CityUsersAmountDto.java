@@ -0,0 +1,10 @@
+package greencity.dto.user;
+
+/**
+ * City of {@link greencity.entity.User}s with amount of users living there.
+ *
+ * @param city        name of the city.
+ * @param usersAmount amount of users with the city.
+ */
+public record CityUsersAmountDto(String city, long usersAmount) {
+}
@@ -0,0 +1,23 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+
+/**
+ * Fields of {@link greencity.entity.User} needed to sign user in, read with
+ * one joined query.
+ *
+ * @param id                  user's id.
+ * @param email               user's email.
+ * @param name                user's name.
+ * @param role                user's {@link Role}.
+ * @param userStatus          user's {@link UserStatus}.
+ * @param refreshTokenKey     key refresh tokens are signed with.
+ * @param languageCode        code of user's language.
+ * @param password            password hash, {@code null} for users without own
+ *                            security.
+ * @param pendingVerification whether email of user is not verified yet.
+ */
+public record SignInCredentialsDto(Long id, String email, String name, Role role, UserStatus userStatus,
+    String refreshTokenKey, String languageCode, String password, boolean pendingVerification) {
+}
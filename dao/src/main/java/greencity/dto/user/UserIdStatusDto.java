@@ -0,0 +1,16 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserIdStatusDto {
+    private final Long id;
+    private final UserStatus userStatus;
+    private final Role role;
+}
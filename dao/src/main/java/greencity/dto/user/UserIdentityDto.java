@@ -0,0 +1,20 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+
+/**
+ * Columns of {@link greencity.entity.User} other services need to resolve a
+ * user by id, email or uuid.
+ *
+ * @param id           user's id.
+ * @param uuid         user's uuid.
+ * @param email        user's email.
+ * @param name         user's name.
+ * @param role         user's {@link Role}.
+ * @param userStatus   user's {@link UserStatus}.
+ * @param languageCode code of user's language, {@code null} if not set.
+ */
+public record UserIdentityDto(Long id, String uuid, String email, String name, Role role, UserStatus userStatus,
+    String languageCode) {
+}
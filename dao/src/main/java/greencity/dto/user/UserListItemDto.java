@@ -0,0 +1,21 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Columns of {@link greencity.entity.User} shown in user lists, selected
+ * without loading the entity.
+ *
+ * @param id                 user's id.
+ * @param name               user's name.
+ * @param dateOfRegistration date of registration.
+ * @param email              user's email.
+ * @param userStatus         user's {@link UserStatus}.
+ * @param role               user's {@link Role}.
+ * @param userCredo          user's credo.
+ */
+public record UserListItemDto(Long id, String name, LocalDateTime dateOfRegistration, String email,
+    UserStatus userStatus, Role role, String userCredo) {
+}
@@ -0,0 +1,21 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+
+/**
+ * Columns of {@link greencity.entity.User} shown in user profile, selected
+ * without loading the entity.
+ *
+ * @param profilePicturePath path to profile picture.
+ * @param name               user's name.
+ * @param city               user's city.
+ * @param userCredo          user's credo.
+ * @param showLocation       whether location is shown.
+ * @param showEcoPlace       whether eco places are shown.
+ * @param showShoppingList   whether shopping list is shown.
+ * @param rating             user's rating.
+ * @param role               user's {@link Role}.
+ */
+public record UserProfileInfoDto(String profilePicturePath, String name, String city, String userCredo,
+    Boolean showLocation, Boolean showEcoPlace, Boolean showShoppingList, Double rating, Role role) {
+}
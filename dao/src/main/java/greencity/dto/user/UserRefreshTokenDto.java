@@ -0,0 +1,19 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserRefreshTokenDto {
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final UserStatus userStatus;
+    private final String refreshTokenKey;
+    private final String languageCode;
+}
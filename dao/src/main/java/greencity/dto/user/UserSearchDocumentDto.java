@@ -0,0 +1,12 @@
+package greencity.dto.user;
+
+/**
+ * Columns of {@link greencity.entity.User} matched by admin user search.
+ *
+ * @param id        user's id.
+ * @param name      user's name.
+ * @param email     user's email.
+ * @param userCredo user's credo.
+ */
+public record UserSearchDocumentDto(Long id, String name, String email, String userCredo) {
+}
@@ -0,0 +1,12 @@
+package greencity.dto.user;
+
+import greencity.enums.UserStatus;
+
+/**
+ * Amount of {@link greencity.entity.User}s with a {@link UserStatus}.
+ *
+ * @param userStatus status of the users.
+ * @param amount     amount of the users.
+ */
+public record UserStatusAmountDto(UserStatus userStatus, long amount) {
+}
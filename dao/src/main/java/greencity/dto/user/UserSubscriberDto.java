@@ -0,0 +1,12 @@
+package greencity.dto.user;
+
+/**
+ * Columns of {@link greencity.entity.User} needed to send an email digest.
+ *
+ * @param id           user's id.
+ * @param name         user's name.
+ * @param email        user's email.
+ * @param languageCode code of user's language, {@code null} if not set.
+ */
+public record UserSubscriberDto(Long id, String name, String email, String languageCode) {
+}
@@ -0,0 +1,54 @@
+package greencity.entity;
+
+import greencity.enums.RegistrationGrain;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Amount of users registered in one day, week or month, kept up to date on
+ * sign-up so that registration statistics don't scan users.
+ */
+@Entity
+@Table(name = "registration_statistics")
+@IdClass(RegistrationStatistics.Bucket.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistrationStatistics {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "grain")
+    private RegistrationGrain grain;
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+    @Column(name = "users_amount")
+    private long usersAmount;
+
+    /**
+     * Key of {@link RegistrationStatistics}: grain and first day of the bucket.
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Bucket implements Serializable {
+        private RegistrationGrain grain;
+        private LocalDate bucketStart;
+    }
+}
@@ -1,6 +1,6 @@
 package greencity.entity;
 
-import greencity.dto.user.RegistrationStatisticsDtoResponse;
+import greencity.entity.listener.UserWriteListener;
 import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
@@ -12,31 +12,44 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@SqlResultSetMapping(
-    name = "monthsStatisticsMapping",
-    classes = {
-        @ConstructorResult(
-            targetClass = RegistrationStatisticsDtoResponse.class,
-            columns = {
-                @ColumnResult(name = "month", type = Integer.class),
-                @ColumnResult(name = "count", type = Long.class)
-            })
+@NamedEntityGraph(name = User.LIST_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("ownSecurity"),
+        @NamedAttributeNode("verifyEmail"),
+        @NamedAttributeNode("restorePasswordEmail")
+    })
+@NamedEntityGraph(name = User.DETAILS_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("ownSecurity"),
+        @NamedAttributeNode("verifyEmail"),
+        @NamedAttributeNode("restorePasswordEmail"),
+        @NamedAttributeNode("language")
     })
-@NamedNativeQuery(name = "User.findAllRegistrationMonths",
-    query = "SELECT EXTRACT(MONTH FROM date_of_registration) - 1 as month, count(date_of_registration) FROM users "
-        + "WHERE EXTRACT(YEAR from date_of_registration) = EXTRACT(YEAR FROM CURRENT_DATE) "
-        + "GROUP BY month",
-    resultSetMapping = "monthsStatisticsMapping")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @Builder
 @Table(name = "users")
+@EntityListeners(UserWriteListener.class)
 @EqualsAndHashCode(
     exclude = {"verifyEmail", "ownSecurity",
         "refreshTokenKey", "restorePasswordEmail"})
 public class User {
+    /**
+     * Fetch plan for pages of users shown in lists, management and search. The
+     * one-to-one associations are mapped by the other side, so Hibernate loads
+     * them eagerly in any case; the graph joins them into the page query instead
+     * of one select per user and association.
+     */
+    public static final String LIST_GRAPH = "User.list";
+
+    /**
+     * Fetch plan for loading users for sign in, profile and mapping to
+     * {@code UserVO}. Joins language as well, because it is part of the result.
+     */
+    public static final String DETAILS_GRAPH = "User.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
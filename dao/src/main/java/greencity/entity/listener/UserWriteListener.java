@@ -0,0 +1,42 @@
+package greencity.entity.listener;
+
+import greencity.dto.user.UserSearchDocumentDto;
+import greencity.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes {@link UserWrittenEvent} whenever {@link User} entity is flushed,
+ * so in-memory views of users can follow every write path. Bulk JPQL and native
+ * statements bypass entity callbacks and aren't reported. Hibernate creates the
+ * listener through Spring, which injects the publisher.
+ */
+@RequiredArgsConstructor
+public class UserWriteListener {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Reports inserted or updated user.
+     *
+     * @param user {@link User}
+     */
+    @PostPersist
+    @PostUpdate
+    public void onWrite(User user) {
+        applicationEventPublisher.publishEvent(new UserWrittenEvent(this, user.getId(),
+            new UserSearchDocumentDto(user.getId(), user.getName(), user.getEmail(), user.getUserCredo())));
+    }
+
+    /**
+     * Reports deleted user.
+     *
+     * @param user {@link User}
+     */
+    @PostRemove
+    public void onRemove(User user) {
+        applicationEventPublisher.publishEvent(new UserWrittenEvent(this, user.getId(), null));
+    }
+}
@@ -0,0 +1,36 @@
+package greencity.entity.listener;
+
+import greencity.dto.user.UserSearchDocumentDto;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that is meant for notifying that {@link greencity.entity.User} was
+ * inserted, updated or deleted.
+ */
+@Getter
+public class UserWrittenEvent extends ApplicationEvent {
+    /**
+     * Id of the written user.
+     */
+    private final Long userId;
+    /**
+     * Searchable columns of the user, {@code null} if the user was deleted.
+     */
+    private final transient UserSearchDocumentDto document;
+
+    /**
+     * Creates a new {@link UserWrittenEvent}.
+     *
+     * @param source   the object on which the event initially occurred (never
+     *                 {@code null})
+     * @param userId   id of the written user
+     * @param document searchable columns of the user, {@code null} if the user
+     *                 was deleted
+     */
+    public UserWrittenEvent(Object source, Long userId, UserSearchDocumentDto document) {
+        super(source);
+        this.userId = userId;
+        this.document = document;
+    }
+}
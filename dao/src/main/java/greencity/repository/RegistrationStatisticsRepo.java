@@ -0,0 +1,64 @@
+package greencity.repository;
+
+import greencity.entity.RegistrationStatistics;
+import greencity.enums.RegistrationGrain;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RegistrationStatisticsRepo
+    extends JpaRepository<RegistrationStatistics, RegistrationStatistics.Bucket> {
+    /**
+     * Find buckets of given grain starting in {@code [from, to]}, ordered by
+     * start.
+     *
+     * @param grain {@link RegistrationGrain} of buckets.
+     * @param from  first day of the range.
+     * @param to    last day of the range.
+     * @return list of {@link RegistrationStatistics}
+     */
+    List<RegistrationStatistics> findAllByGrainAndBucketStartBetweenOrderByBucketStart(RegistrationGrain grain,
+        LocalDate from, LocalDate to);
+
+    /**
+     * Adds one registered user to the bucket, creating it if absent.
+     *
+     * @param grain       name of {@link RegistrationGrain}.
+     * @param bucketStart first day of the bucket.
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "INSERT INTO registration_statistics (grain, bucket_start, users_amount) "
+            + "VALUES (:grain, :bucketStart, 1) ON CONFLICT (grain, bucket_start) "
+            + "DO UPDATE SET users_amount = registration_statistics.users_amount + 1")
+    void increment(String grain, LocalDate bucketStart);
+
+    /**
+     * Removes all buckets of given grain.
+     *
+     * @param grain name of {@link RegistrationGrain}.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM registration_statistics WHERE grain = :grain")
+    void deleteAllByGrainName(String grain);
+
+    /**
+     * Counts users by date of registration truncated to the unit and stores the
+     * amounts as buckets of given grain.
+     *
+     * @param grain name of {@link RegistrationGrain}.
+     * @param unit  {@code date_trunc} unit of the grain.
+     * @return amount of stored buckets.
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "INSERT INTO registration_statistics (grain, bucket_start, users_amount) "
+            + "SELECT :grain, CAST(date_trunc(:unit, u.date_of_registration) AS DATE) AS bucket_start, COUNT(*) "
+            + "FROM users u WHERE u.date_of_registration IS NOT NULL GROUP BY bucket_start "
+            + "ON CONFLICT (grain, bucket_start) DO UPDATE SET users_amount = EXCLUDED.users_amount")
+    int backfill(String grain, String unit);
+}
@@ -0,0 +1,20 @@
+package greencity.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Writes last activity times of many {@link greencity.entity.User}s at once,
+ * which a derived query can't express with a variable amount of rows.
+ */
+public interface UserActivityRepo {
+    /**
+     * Sets last activity times of users with one {@code UPDATE ... FROM
+     * (VALUES ...)} statement. Times earlier than the stored ones are ignored,
+     * so a delayed write never moves activity back.
+     *
+     * @param lastActivityTimes last activity time by user id.
+     * @return number of updated rows
+     */
+    int updateLastActivityTimes(Map<Long, LocalDateTime> lastActivityTimes);
+}
@@ -0,0 +1,42 @@
+package greencity.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link UserActivityRepo} with a native statement built for
+ * the amount of users.
+ */
+public class UserActivityRepoImpl implements UserActivityRepo {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int updateLastActivityTimes(Map<Long, LocalDateTime> lastActivityTimes) {
+        if (lastActivityTimes.isEmpty()) {
+            return 0;
+        }
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 1; i <= lastActivityTimes.size(); i++) {
+            values.add("(CAST(?" + (2 * i - 1) + " AS bigint), CAST(?" + 2 * i + " AS timestamp))");
+        }
+        Query query = entityManager.createNativeQuery("UPDATE users u SET last_activity_time = v.last_activity_time "
+            + "FROM (VALUES " + values + ") AS v(id, last_activity_time) WHERE u.id = v.id "
+            + "AND (u.last_activity_time IS NULL OR u.last_activity_time < v.last_activity_time)");
+        int position = 1;
+        for (Map.Entry<Long, LocalDateTime> entry : lastActivityTimes.entrySet()) {
+            query.setParameter(position++, entry.getKey());
+            query.setParameter(position++, entry.getValue());
+        }
+        return query.executeUpdate();
+    }
+}
@@ -2,8 +2,11 @@ package greencity.repository;
 
 import greencity.entity.UserDeactivationReason;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +18,19 @@ public interface UserDeactivationRepo extends JpaRepository<UserDeactivationReas
         value = "SELECT * FROM reasons_for_user_deactivation where id_user = :id "
             + "ORDER BY date_of_deactivation DESC LIMIT 1")
     Optional<UserDeactivationReason> getLastDeactivationReasons(Long id);
+
+    /**
+     * Records the same reasons of deactivation for many users with one
+     * statement.
+     *
+     * @param userIds                ids of deactivated users.
+     * @param reason                 reasons joined by {@code /}.
+     * @param dateTimeOfDeactivation moment of deactivation.
+     * @return number of recorded reasons
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+        value = "INSERT INTO reasons_for_user_deactivation (date_of_deactivation, reason, id_user) "
+            + "SELECT :dateTimeOfDeactivation, :reason, u.id FROM users u WHERE u.id IN (:userIds)")
+    int saveReasonsOfUsers(Collection<Long> userIds, String reason, LocalDateTime dateTimeOfDeactivation);
 }
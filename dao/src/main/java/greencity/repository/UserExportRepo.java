@@ -0,0 +1,23 @@
+package greencity.repository;
+
+import greencity.entity.User;
+import java.util.function.Consumer;
+
+/**
+ * Reads all {@link User}s through a forward-only cursor for exports, which
+ * {@code findAll} would load into memory at once.
+ */
+public interface UserExportRepo {
+    /**
+     * Passes users following the given id to the action one by one, in id
+     * order. Rows are fetched from the cursor in batches of fetch size, and the
+     * persistence context is cleared after every batch, so memory doesn't grow
+     * with the table. Must be called in a transaction.
+     *
+     * @param afterId   id of the last exported user, 0 to start from the first.
+     * @param fetchSize amount of rows fetched at once.
+     * @param action    {@link Consumer} of every user, which must not keep it
+     *                  managed.
+     */
+    void forEachUserAfter(long afterId, int fetchSize, Consumer<User> action);
+}
@@ -0,0 +1,41 @@
+package greencity.repository;
+
+import greencity.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+
+/**
+ * Implementation of {@link UserExportRepo} with a scrolled query.
+ */
+public class UserExportRepoImpl implements UserExportRepo {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachUserAfter(long afterId, int fetchSize, Consumer<User> action) {
+        Stream<User> users = entityManager
+            .createQuery("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id", User.class)
+            .setParameter("afterId", afterId)
+            .setHint(AvailableHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(User.DETAILS_GRAPH))
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream();
+        try (users) {
+            int read = 0;
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++read % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package greencity.repository;
+
+import greencity.dto.user.UserListItemDto;
+import greencity.entity.User;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Selects pages of {@link UserListItemDto} for {@link Specification}s of
+ * {@link User}, which derived and {@code @Query} methods can't combine with a
+ * projection. Counting is left to callers, so they can choose how exact the
+ * total must be.
+ */
+public interface UserListItemRepo {
+    /**
+     * Find content of the page of {@link UserListItemDto}s of users matching
+     * specification, without counting them.
+     *
+     * @param spec     {@link Specification} of users, may be {@code null}.
+     * @param pageable pageable configuration.
+     * @return list of {@link UserListItemDto}
+     */
+    List<UserListItemDto> findListItems(Specification<User> spec, Pageable pageable);
+
+    /**
+     * Find {@link UserListItemDto}s of users matching specification that follow
+     * the given position in {@code (sort key, id)} order. Seeks by index instead
+     * of skipping rows with offset, so every page costs the same.
+     *
+     * @param spec      {@link Specification} of users, may be {@code null}.
+     * @param order     {@link Sort.Order} by one of not null columns, ties are
+     *                  broken by id in the same direction.
+     * @param lastValue value of sort key of the last item of previous page,
+     *                  {@code null} for the first page.
+     * @param lastId    id of the last item of previous page, {@code null} for
+     *                  the first page.
+     * @param limit     max amount of items.
+     * @return list of {@link UserListItemDto}
+     */
+    List<UserListItemDto> findListItemsAfter(Specification<User> spec, Sort.Order order, Comparable<?> lastValue,
+        Long lastId, int limit);
+
+    /**
+     * Counts users matching specification.
+     *
+     * @param spec {@link Specification} of users, may be {@code null}.
+     * @return amount of users
+     */
+    long countListItems(Specification<User> spec);
+}
@@ -0,0 +1,137 @@
+package greencity.repository;
+
+import greencity.constant.RepoConstants;
+import greencity.dto.user.UserListItemDto;
+import greencity.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Implementation of {@link UserListItemRepo} with Criteria API constructor
+ * queries.
+ */
+public class UserListItemRepoImpl implements UserListItemRepo {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserListItemDto> findListItems(Specification<User> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserListItemDto> criteriaQuery = criteriaBuilder.createQuery(UserListItemDto.class);
+        Root<User> root = criteriaQuery.from(User.class);
+        selectListItem(criteriaQuery, root, criteriaBuilder);
+        Predicate predicate = toPredicate(spec, root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.orderBy(toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<UserListItemDto> query = entityManager.createQuery(criteriaQuery);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserListItemDto> findListItemsAfter(Specification<User> spec, Sort.Order order,
+        Comparable<?> lastValue, Long lastId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserListItemDto> criteriaQuery = criteriaBuilder.createQuery(UserListItemDto.class);
+        Root<User> root = criteriaQuery.from(User.class);
+        selectListItem(criteriaQuery, root, criteriaBuilder);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = toPredicate(spec, root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (lastId != null) {
+            predicates.add(after(root, criteriaBuilder, order, lastValue, lastId));
+        }
+        criteriaQuery.where(predicates.toArray(new Predicate[0]));
+        Path<?> sortKey = root.get(order.getProperty());
+        Path<?> id = root.get(RepoConstants.ID);
+        criteriaQuery.orderBy(order.isAscending()
+            ? List.of(criteriaBuilder.asc(sortKey), criteriaBuilder.asc(id))
+            : List.of(criteriaBuilder.desc(sortKey), criteriaBuilder.desc(id)));
+
+        return entityManager.createQuery(criteriaQuery)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long countListItems(Specification<User> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<User> root = criteriaQuery.from(User.class);
+        criteriaQuery.select(criteriaBuilder.count(root));
+        Predicate predicate = toPredicate(spec, root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        return entityManager.createQuery(criteriaQuery).getSingleResult();
+    }
+
+    private static void selectListItem(CriteriaQuery<UserListItemDto> criteriaQuery, Root<User> root,
+        CriteriaBuilder criteriaBuilder) {
+        criteriaQuery.select(criteriaBuilder.construct(UserListItemDto.class,
+            root.get(RepoConstants.ID),
+            root.get(RepoConstants.NAME),
+            root.get(RepoConstants.REGISTRATION_DATE),
+            root.get(RepoConstants.EMAIL),
+            root.get(RepoConstants.USER_STATUS),
+            root.get(RepoConstants.ROLE),
+            root.get(RepoConstants.USER_CREDO)));
+    }
+
+    private static Predicate toPredicate(Specification<User> spec, Root<User> root, CriteriaQuery<?> criteriaQuery,
+        CriteriaBuilder criteriaBuilder) {
+        return spec == null ? null : spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+    }
+
+    /**
+     * Builds {@code (sortKey, id) > (lastValue, lastId)} for ascending order and
+     * {@code <} for descending one.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(Root<User> root, CriteriaBuilder criteriaBuilder, Sort.Order order,
+        Comparable lastValue, Long lastId) {
+        Path<Long> id = root.get(RepoConstants.ID);
+        Predicate idAfter = order.isAscending()
+            ? criteriaBuilder.greaterThan(id, lastId)
+            : criteriaBuilder.lessThan(id, lastId);
+        if (RepoConstants.ID.equals(order.getProperty())) {
+            return idAfter;
+        }
+        Path<Comparable> sortKey = root.get(order.getProperty());
+        Predicate sortKeyAfter = order.isAscending()
+            ? criteriaBuilder.greaterThan(sortKey, lastValue)
+            : criteriaBuilder.lessThan(sortKey, lastValue);
+        return criteriaBuilder.or(sortKeyAfter,
+            criteriaBuilder.and(criteriaBuilder.equal(sortKey, lastValue), idAfter));
+    }
+}
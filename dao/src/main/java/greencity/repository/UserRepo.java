@@ -1,37 +1,47 @@
 package greencity.repository;
 
-import greencity.dto.user.RegistrationStatisticsDtoResponse;
+import greencity.dto.user.CityUsersAmountDto;
+import greencity.dto.user.SignInCredentialsDto;
+import greencity.dto.user.UserIdStatusDto;
+import greencity.dto.user.UserIdentityDto;
+import greencity.dto.user.UserListItemDto;
+import greencity.dto.user.UserProfileInfoDto;
+import greencity.dto.user.UserRefreshTokenDto;
+import greencity.dto.user.UserSearchDocumentDto;
+import greencity.dto.user.UserStatusAmountDto;
+import greencity.dto.user.UserSubscriberDto;
 import greencity.entity.User;
 import greencity.enums.EmailNotification;
+import greencity.enums.Role;
 import greencity.enums.UserStatus;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
-import jakarta.persistence.NamedNativeQuery;
 import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Provides an interface to manage {@link User} entity.
  */
 @Repository
-public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserListItemRepo,
+    UserExportRepo, UserActivityRepo {
     /**
      * Find {@link User} by email.
      *
      * @param email user email.
      * @return {@link User}
      */
+    @EntityGraph(User.DETAILS_GRAPH)
     Optional<User> findByEmail(String email);
 
     @Query("select u.id from User u where u.email like %?1")
@@ -43,8 +53,72 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @return {@link Page}
      * @author Rostyslav Khasanov
      */
+    @EntityGraph(User.LIST_GRAPH)
     Page<User> findAll(Pageable pageable);
 
+    /**
+     * Find columns of {@link User} shown in profile, without loading the entity.
+     *
+     * @param id user id.
+     * @return {@link UserProfileInfoDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserProfileInfoDto(u.profilePicturePath, u.name, u.city, u.userCredo, "
+        + "u.showLocation, u.showEcoPlace, u.showShoppingList, u.rating, u.role) FROM User u WHERE u.id = :id")
+    Optional<UserProfileInfoDto> findProfileInfoById(Long id);
+
+    /**
+     * Find searchable columns of users following the given id, in id order.
+     * Lets in-memory search index be loaded in batches.
+     *
+     * @param afterId  id of the last user of previous batch, 0 for the first one.
+     * @param pageable size of the batch.
+     * @return list of {@link UserSearchDocumentDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserSearchDocumentDto(u.id, u.name, u.email, u.userCredo) FROM User u "
+        + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSearchDocumentDto> findSearchDocumentsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Find {@link UserListItemDto}s of users with given ids, in no particular
+     * order.
+     *
+     * @param ids ids of users.
+     * @return list of {@link UserListItemDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserListItemDto(u.id, u.name, u.dateOfRegistration, u.email, "
+        + "u.userStatus, u.role, u.userCredo) FROM User u WHERE u.id IN :ids")
+    List<UserListItemDto> findListItemsByIds(Collection<Long> ids);
+
+    /**
+     * Find {@link User}s matching specification by page.
+     *
+     * @param spec     {@link Specification} of users.
+     * @param pageable pageable configuration.
+     * @return {@link Page}
+     */
+    @Override
+    @EntityGraph(User.LIST_GRAPH)
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+
+    /**
+     * Find all {@link User}s.
+     *
+     * @return list of {@link User}
+     */
+    @Override
+    @EntityGraph(User.DETAILS_GRAPH)
+    List<User> findAll();
+
+    /**
+     * Find {@link User} by id.
+     *
+     * @param id user id.
+     * @return {@link User}
+     */
+    @Override
+    @EntityGraph(User.DETAILS_GRAPH)
+    Optional<User> findById(Long id);
+
     /**
      * Find id by email.
      *
@@ -65,14 +139,39 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     Optional<String> findUuidByEmail(String email);
 
     /**
-     * Find not 'DEACTIVATED' {@link User} by email.
+     * Find id, status and role of {@link User} by email without loading the
+     * entity.
      *
      * @param email - {@link User}'s email
-     * @return found {@link User}
-     * @author Vasyl Zhovnir
+     * @return {@link UserIdStatusDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserIdStatusDto(u.id, u.userStatus, u.role) "
+        + "FROM User u WHERE u.email = :email")
+    Optional<UserIdStatusDto> findIdAndStatusByEmail(String email);
+
+    /**
+     * Find fields of {@link User} needed to rotate refresh token, without loading
+     * the entity.
+     *
+     * @param email - {@link User}'s email
+     * @return {@link UserRefreshTokenDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserRefreshTokenDto(u.id, u.email, u.role, u.userStatus, "
+        + "u.refreshTokenKey, l.code) FROM User u LEFT JOIN u.language l WHERE u.email = :email")
+    Optional<UserRefreshTokenDto> findRefreshTokenByEmail(String email);
+
+    /**
+     * Find credentials of {@link User} for sign in with one query, without
+     * loading the entity and its one-to-one associations.
+     *
+     * @param email - {@link User}'s email
+     * @return {@link SignInCredentialsDto}
      */
-    @Query("FROM User WHERE email=:email AND userStatus <> 1")
-    Optional<User> findNotDeactivatedByEmail(String email);
+    @Query("SELECT new greencity.dto.user.SignInCredentialsDto(u.id, u.email, u.name, u.role, u.userStatus, "
+        + "u.refreshTokenKey, l.code, o.password, CASE WHEN v.id IS NULL THEN false ELSE true END) "
+        + "FROM User u LEFT JOIN u.language l LEFT JOIN u.ownSecurity o LEFT JOIN u.verifyEmail v "
+        + "WHERE u.email = :email")
+    Optional<SignInCredentialsDto> findSignInCredentialsByEmail(String email);
 
     /**
      * Find all {@link User}'s with {@link EmailNotification} type.
@@ -80,8 +179,58 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @param emailNotification - type of {@link EmailNotification}
      * @return list of {@link User}'s
      */
+    @EntityGraph(User.DETAILS_GRAPH)
     List<User> findAllByEmailNotification(EmailNotification emailNotification);
 
+    /**
+     * Find batch of {@link UserSubscriberDto}s of users with
+     * {@link EmailNotification} type and id greater than given, ordered by id.
+     *
+     * @param emailNotification type of {@link EmailNotification}.
+     * @param afterId           id of the last user of previous batch, 0 for the
+     *                          first one.
+     * @param pageable          size of the batch.
+     * @return list of {@link UserSubscriberDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserSubscriberDto(u.id, u.name, u.email, l.code) "
+        + "FROM User u LEFT JOIN u.language l "
+        + "WHERE u.emailNotification = :emailNotification AND u.id > :afterId ORDER BY u.id")
+    List<UserSubscriberDto> findSubscribersAfter(EmailNotification emailNotification, Long afterId,
+        Pageable pageable);
+
+    /**
+     * Find {@link UserIdentityDto}s of users with given ids in one query.
+     *
+     * @param ids ids of users.
+     * @return list of {@link UserIdentityDto} of found users, in no particular
+     *         order.
+     */
+    @Query("SELECT new greencity.dto.user.UserIdentityDto(u.id, u.uuid, u.email, u.name, u.role, u.userStatus, "
+        + "l.code) FROM User u LEFT JOIN u.language l WHERE u.id IN :ids")
+    List<UserIdentityDto> findIdentitiesByIdIn(Collection<Long> ids);
+
+    /**
+     * Find {@link UserIdentityDto}s of users with given emails in one query.
+     *
+     * @param emails emails of users.
+     * @return list of {@link UserIdentityDto} of found users, in no particular
+     *         order.
+     */
+    @Query("SELECT new greencity.dto.user.UserIdentityDto(u.id, u.uuid, u.email, u.name, u.role, u.userStatus, "
+        + "l.code) FROM User u LEFT JOIN u.language l WHERE u.email IN :emails")
+    List<UserIdentityDto> findIdentitiesByEmailIn(Collection<String> emails);
+
+    /**
+     * Find {@link UserIdentityDto}s of users with given uuids in one query.
+     *
+     * @param uuids uuids of users.
+     * @return list of {@link UserIdentityDto} of found users, in no particular
+     *         order.
+     */
+    @Query("SELECT new greencity.dto.user.UserIdentityDto(u.id, u.uuid, u.email, u.name, u.role, u.userStatus, "
+        + "l.code) FROM User u LEFT JOIN u.language l WHERE u.uuid IN :uuids")
+    List<UserIdentityDto> findIdentitiesByUuidIn(Collection<String> uuids);
+
     /**
      * Updates refresh token for a given user.
      *
@@ -95,31 +244,56 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     int updateUserRefreshToken(String refreshTokenKey, Long id);
 
     /**
-     * Counts all users by user {@link UserStatus}.
+     * Replaces refresh token key of user only if it still equals the old one, so
+     * of concurrent refreshes with the same token exactly one succeeds.
      *
-     * @return amount of user with given {@link UserStatus}.
+     * @param id     - user's id
+     * @param oldKey - refresh token key the token was verified with
+     * @param newKey - new refresh token key
+     * @return - number of updated rows, {@code 0} if key was already rotated
      */
-    long countAllByUserStatus(UserStatus userStatus);
+    @Modifying
+    @Query(value = "UPDATE User SET refreshTokenKey=:newKey WHERE id=:id AND refreshTokenKey=:oldKey")
+    int compareAndSetRefreshTokenKey(Long id, String oldKey, String newKey);
 
     /**
-     * Get profile picture path {@link String}.
+     * Estimates amount of users from planner statistics of PostgreSQL, without
+     * scanning the table.
      *
-     * @return profile picture path {@link String}
+     * @return estimated amount, negative if table was never analyzed.
      */
-    @Query("SELECT profilePicturePath FROM User WHERE id=:id")
-    Optional<String> getProfilePicturePathByUserId(Long id);
+    @Query(nativeQuery = true, value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class "
+        + "WHERE oid = CAST('users' AS regclass)")
+    Optional<Long> estimateUsersAmount();
 
     /**
-     * Updates last activity time for a given user.
+     * Counts users of every {@link UserStatus}.
      *
-     * @param userId               - {@link User}'s id
-     * @param userLastActivityTime - new {@link User}'s last activity time
-     * @author Yurii Zhurakovskyi
+     * @return {@link List} of {@link UserStatusAmountDto}, statuses without
+     *         users are absent.
      */
-    @Modifying
-    @Transactional
-    @Query(value = "UPDATE User SET lastActivityTime=:userLastActivityTime WHERE id=:userId")
-    void updateUserLastActivityTime(Long userId, LocalDateTime userLastActivityTime);
+    @Query("SELECT new greencity.dto.user.UserStatusAmountDto(u.userStatus, COUNT(u)) FROM User u "
+        + "GROUP BY u.userStatus")
+    List<UserStatusAmountDto> countUsersByStatus();
+
+    /**
+     * Counts users with given ids by {@link UserStatus}.
+     *
+     * @param ids ids of users.
+     * @return {@link List} of {@link UserStatusAmountDto}, statuses without
+     *         users are absent.
+     */
+    @Query("SELECT new greencity.dto.user.UserStatusAmountDto(u.userStatus, COUNT(u)) FROM User u "
+        + "WHERE u.id IN :ids GROUP BY u.userStatus")
+    List<UserStatusAmountDto> countUsersByStatusAndIdIn(Collection<Long> ids);
+
+    /**
+     * Get profile picture path {@link String}.
+     *
+     * @return profile picture path {@link String}
+     */
+    @Query("SELECT profilePicturePath FROM User WHERE id=:id")
+    Optional<String> getProfilePicturePathByUserId(Long id);
 
     /**
      * Find the last activity time by {@link User}'s id.
@@ -132,6 +306,16 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
         value = "SELECT last_activity_time FROM users WHERE id=:userId")
     Optional<Timestamp> findLastActivityTimeById(Long userId);
 
+    /**
+     * Find ids of users that {@link #scheduleDeleteDeactivatedUsers()} deletes:
+     * 'DEACTIVATED' users that last visited the site 2 years ago.
+     *
+     * @return {@link List} of ids.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM users where user_status = 1 "
+        + "AND last_activity_time + interval '2 year' <= CURRENT_TIMESTAMP")
+    List<Long> findIdsOfDeactivatedUsersToDelete();
+
     /**
      * Delete from the database users that have status_user 'DEACTIVATED' and last
      * visited the site 2 years ago.
@@ -154,6 +338,28 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query(value = "UPDATE User SET userStatus = 1 where id IN(:ids)")
     void deactivateSelectedUsers(List<Long> ids);
 
+    /**
+     * Set {@link UserStatus} of {@link User}s with one statement.
+     *
+     * @param ids        ids of {@link User}s.
+     * @param userStatus new {@link UserStatus}.
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE User SET userStatus = :userStatus WHERE id IN :ids")
+    int updateUsersStatus(Collection<Long> ids, UserStatus userStatus);
+
+    /**
+     * Set {@link Role} of {@link User}s with one statement.
+     *
+     * @param ids  ids of {@link User}s.
+     * @param role new {@link Role}.
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE User SET role = :role WHERE id IN :ids")
+    int updateUsersRole(Collection<Long> ids, Role role);
+
     /**
      * Method returns {@link User} by search query and page.
      *
@@ -161,6 +367,7 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @param query  query to search.
      * @return list of {@link User}.
      */
+    @EntityGraph(User.LIST_GRAPH)
     @Query("SELECT u FROM User u WHERE CONCAT(u.id,'') LIKE LOWER(CONCAT('%', :query, '%')) "
         + "OR LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%'))"
         + "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')) "
@@ -180,33 +387,13 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     int scheduleDeleteCreatedUsers();
 
     /**
-     * Find and return all cities for all users.
-     *
-     * @return {@link List} of {@link String} of cities
-     **/
-    @Query("SELECT city FROM User")
-    List<String> findAllUsersCities();
-
-    /**
-     * Find and return all registration months. Runs an SQL Query which is described
-     * in {@link User} under {@link NamedNativeQuery} annotation. Spring Data JPA
-     * can run a named native query that follows the naming convention
-     * {entityClass.repositoryMethodName}.
-     *
-     * @return {@link List} of {@link RegistrationStatisticsDtoResponse}
-     **/
-    @Query(nativeQuery = true)
-    List<RegistrationStatisticsDtoResponse> findAllRegistrationMonths();
-
-    /**
-     * Converts result of findAllRegistrationMonths() method to {@link Map}.
+     * Count users of every city that is set.
      *
-     * @return {@link Map}
+     * @return {@link List} of {@link CityUsersAmountDto}
      */
-    default Map<Integer, Long> findAllRegistrationMonthsMap() {
-        return findAllRegistrationMonths().stream().collect(
-            Collectors.toMap(RegistrationStatisticsDtoResponse::getMonth, RegistrationStatisticsDtoResponse::getCount));
-    }
+    @Query("SELECT new greencity.dto.user.CityUsersAmountDto(u.city, COUNT(u)) FROM User u "
+        + "WHERE u.city IS NOT NULL GROUP BY u.city")
+    List<CityUsersAmountDto> countUsersByCity();
 
     /**
      * Method that returns count of mutual friends.
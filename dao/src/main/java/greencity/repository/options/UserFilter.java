@@ -1,6 +1,5 @@
 package greencity.repository.options;
 
-import greencity.constant.RepoConstants;
 import greencity.dto.filter.FilterUserDto;
 import greencity.entity.User;
 import org.springframework.data.jpa.domain.Specification;
@@ -8,19 +7,16 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
 
 /**
- * The class implements {@link Specification}. Constructor takes a {@code DTO}
- * class the type of which determines the further creation of a new
- * {@link Predicate} object.
+ * The class implements {@link Specification}. Constructor compiles search
+ * input of {@code DTO} to {@link UserFilterQuery}, which determines the further
+ * creation of a new {@link Predicate} object.
  *
  * @author Rostyslav Khasanov
  */
 public class UserFilter implements Specification<User> {
-    private final transient FilterUserDto filterUserDto;
+    private final transient UserFilterQuery query;
 
     /**
      * The constructor takes {@link FilterUserDto} object.
@@ -28,52 +24,23 @@ public class UserFilter implements Specification<User> {
      * @param filterUserDto object contains fields to filter by.
      */
     public UserFilter(FilterUserDto filterUserDto) {
-        this.filterUserDto = filterUserDto;
+        this.query = UserFilterQuery.compile(filterUserDto.getSearchReg());
     }
 
     /**
-     * Forms a list of {@link Predicate} based on type of the classes initialized in
-     * the constructors.
-     */
-    @Override
-    public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
-        List<Predicate> predicates = new ArrayList<>();
-
-        predicates.add(hasFieldsLike(root, criteriaBuilder, filterUserDto.getSearchReg()));
-
-        return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-    }
-
-    /**
-     * Returns a predicate where {@link User} has some values defined in the
-     * incoming {@link FilterUserDto} object.
+     * Returns condition the search input was compiled to.
      *
-     * @param r  must not be {@literal null}.
-     * @param cb must not be {@literal null}.
-     * @return a {@link Predicate}, may be {@literal null}.
+     * @return {@link UserFilterQuery}
      */
-    private Predicate hasFieldsLike(Root<User> r, CriteriaBuilder cb, String reg) {
-        reg = replaceCriteria(reg);
-        return cb.or(
-            cb.like(r.get(RepoConstants.NAME), reg),
-            cb.like(r.get(RepoConstants.EMAIL), reg),
-            cb.like(r.get(RepoConstants.REGISTRATION_DATE).as(String.class), reg));
+    public UserFilterQuery getQuery() {
+        return query;
     }
 
     /**
-     * Returns a String criteria for search.
-     *
-     * @param criteria String for search.
-     * @return String creteria not be {@literal null}.
+     * Forms {@link Predicate} of the condition compiled from search input.
      */
-    private String replaceCriteria(String criteria) {
-        criteria = Optional.ofNullable(criteria).orElseGet(() -> "");
-        criteria = criteria.trim();
-        criteria = criteria.replace("_", "\\_");
-        criteria = criteria.replace("%", "\\%");
-        criteria = criteria.replace("\\", "\\\\");
-        criteria = criteria.replace("'", "\\'");
-        criteria = "%" + criteria + "%";
-        return criteria;
+    @Override
+    public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
+        return query.toPredicate(root, criteriaBuilder);
     }
 }
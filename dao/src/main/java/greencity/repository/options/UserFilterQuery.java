@@ -0,0 +1,161 @@
+package greencity.repository.options;
+
+import greencity.constant.RepoConstants;
+import greencity.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search input of {@link UserFilter} compiled to one typed condition, so that
+ * the predicate compares a column the way a btree index can answer: a range of
+ * registration dates, an equal or prefix email, or a prefix of the name.
+ * Emails are matched ignoring case, against {@code lower(email)}, so an index on
+ * that expression answers them.
+ */
+public sealed interface UserFilterQuery {
+    /**
+     * Complete email address.
+     */
+    Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    /**
+     * Year, year and month, or date of registration.
+     */
+    Pattern DATE = Pattern.compile("\\d{4}(-\\d{2}(-\\d{2})?)?");
+
+    /**
+     * Builds the predicate of the condition.
+     *
+     * @param root            must not be {@literal null}.
+     * @param criteriaBuilder must not be {@literal null}.
+     * @return {@link Predicate}
+     */
+    Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder);
+
+    /**
+     * Classifies search input. Dates become a range of registration dates,
+     * input with {@code @} matches email ignoring case, anything else is a
+     * prefix of the name. Names are matched by prefix only, because a match of
+     * a contained part can't use an index. Blank input matches every user.
+     *
+     * @param input search input, may be {@literal null}.
+     * @return {@link UserFilterQuery}
+     */
+    static UserFilterQuery compile(String input) {
+        String trimmed = input == null ? "" : input.trim();
+        if (trimmed.isEmpty()) {
+            return new Everyone();
+        }
+        if (DATE.matcher(trimmed).matches()) {
+            try {
+                return RegisteredBetween.of(trimmed);
+            } catch (DateTimeParseException e) {
+                return new NameStartsWith(trimmed);
+            }
+        }
+        if (EMAIL.matcher(trimmed).matches()) {
+            return new EmailIs(trimmed.toLowerCase(Locale.ROOT));
+        }
+        if (trimmed.indexOf('@') >= 0) {
+            return new EmailStartsWith(trimmed.toLowerCase(Locale.ROOT));
+        }
+        return new NameStartsWith(trimmed);
+    }
+
+    /**
+     * Escapes {@code LIKE} wildcards and appends one matching any suffix.
+     *
+     * @param prefix text the value must start with.
+     * @return pattern for {@code LIKE} with {@code \} as escape character.
+     */
+    static String prefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Matches every user.
+     */
+    record Everyone() implements UserFilterQuery {
+        @Override
+        public Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.conjunction();
+        }
+    }
+
+    /**
+     * Users registered in {@code [from, to)}.
+     *
+     * @param from first moment of the range.
+     * @param to   first moment after the range.
+     */
+    record RegisteredBetween(LocalDateTime from, LocalDateTime to) implements UserFilterQuery {
+        static RegisteredBetween of(String date) {
+            return switch (date.length()) {
+                case 4 -> {
+                    LocalDate start = LocalDate.of(Integer.parseInt(date), 1, 1);
+                    yield new RegisteredBetween(start.atStartOfDay(), start.plusYears(1).atStartOfDay());
+                }
+                case 7 -> {
+                    LocalDate start = YearMonth.parse(date).atDay(1);
+                    yield new RegisteredBetween(start.atStartOfDay(), start.plusMonths(1).atStartOfDay());
+                }
+                default -> {
+                    LocalDate start = LocalDate.parse(date);
+                    yield new RegisteredBetween(start.atStartOfDay(), start.plusDays(1).atStartOfDay());
+                }
+            };
+        }
+
+        @Override
+        public Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.get(RepoConstants.REGISTRATION_DATE), from),
+                criteriaBuilder.lessThan(root.get(RepoConstants.REGISTRATION_DATE), to));
+        }
+    }
+
+    /**
+     * Users with this email, ignoring case.
+     *
+     * @param email trimmed email in lower case.
+     */
+    record EmailIs(String email) implements UserFilterQuery {
+        @Override
+        public Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.equal(criteriaBuilder.lower(root.get(RepoConstants.EMAIL)), email);
+        }
+    }
+
+    /**
+     * Users whose email starts with the prefix, ignoring case.
+     *
+     * @param prefix trimmed beginning of email in lower case.
+     */
+    record EmailStartsWith(String prefix) implements UserFilterQuery {
+        @Override
+        public Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.like(criteriaBuilder.lower(root.get(RepoConstants.EMAIL)), prefixPattern(prefix),
+                '\\');
+        }
+    }
+
+    /**
+     * Users whose name starts with the prefix. Names containing the input
+     * elsewhere are not matched.
+     *
+     * @param prefix trimmed beginning of name.
+     */
+    record NameStartsWith(String prefix) implements UserFilterQuery {
+        @Override
+        public Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.like(root.get(RepoConstants.NAME), prefixPattern(prefix), '\\');
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package greencity.repository.options;
+
+import greencity.constant.RepoConstants;
+import greencity.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link Specification} of {@link User}s whose id, name, email or credo
+ * contains the search query, the same conditions as
+ * {@code UserRepo.searchBy}.
+ */
+public class UserSearch implements Specification<User> {
+    private final String query;
+
+    /**
+     * The constructor takes search query.
+     *
+     * @param query query to search, {@code null} matches every user.
+     */
+    public UserSearch(String query) {
+        this.query = query;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
+        String pattern = "%" + (query == null ? "" : query.toLowerCase()) + "%";
+        return criteriaBuilder.or(
+            criteriaBuilder.like(root.get(RepoConstants.ID).as(String.class), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get(RepoConstants.NAME)), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get(RepoConstants.EMAIL)), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get(RepoConstants.USER_CREDO)), pattern));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 /**
@@ -27,6 +28,21 @@ public interface OwnSecurityRepo extends JpaRepository<OwnSecurity, Long> {
     @Query("UPDATE OwnSecurity o SET o.password = :password WHERE o.user.id = :id")
     void updatePassword(@Param("password") String password, @Param("id") Long id);
 
+    /**
+     * Replaces password hash with a rehashed one, unless the password was changed
+     * meanwhile.
+     *
+     * @param id          id of {@link greencity.entity.User}
+     * @param oldPassword hash the password was verified with
+     * @param newPassword new hash of the same password
+     * @return number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OwnSecurity o SET o.password = :newPassword WHERE o.user.id = :id AND o.password = :oldPassword")
+    int rehashPassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+        @Param("newPassword") String newPassword);
+
     /**
      * Finds user by id.
      *
@@ -0,0 +1,54 @@
+package greencity.repository;
+
+import greencity.entity.User;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest
+class UserExportRepoImplTest {
+    private static final int USERS_AMOUNT = 25;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        UserTestData.persistUsers(entityManager, USERS_AMOUNT);
+    }
+
+    @Test
+    void forEachUserAfterStreamsUsersInIdOrderTest() {
+        List<User> users = new ArrayList<>();
+        long afterId = userRepo.findIdByEmail("user9@gmail.com").orElseThrow();
+
+        userRepo.forEachUserAfter(afterId, 4, users::add);
+
+        assertEquals(USERS_AMOUNT - 10, users.size());
+        assertEquals(users.stream().map(User::getId).sorted().toList(), users.stream().map(User::getId).toList());
+        assertNotNull(users.get(0).getLanguage().getCode());
+        assertFalse(entityManager.getEntityManager().contains(users.get(0)));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("greencity.entity")
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class)
+    static class TestConfig {
+    }
+}
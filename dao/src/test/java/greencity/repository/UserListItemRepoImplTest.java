@@ -0,0 +1,100 @@
+package greencity.repository;
+
+import greencity.dto.filter.FilterUserDto;
+import greencity.dto.user.UserListItemDto;
+import greencity.entity.User;
+import greencity.repository.options.UserFilter;
+import greencity.repository.options.UserSearch;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserListItemRepoImplTest {
+    private static final int USERS_AMOUNT = 25;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserTestData.persistUsers(entityManager, USERS_AMOUNT);
+        statistics = UserTestData.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void listItemProjectionsLoadNoEntitiesTest() {
+        Specification<User> byName = (root, query, cb) -> cb.like(root.get("name"), "user1%");
+
+        List<UserListItemDto> page = userRepo.findListItems(null, PageRequest.of(0, 20));
+        List<UserListItemDto> filtered = userRepo.findListItems(byName, PageRequest.of(0, 5, Sort.by("email")));
+        List<UserListItemDto> found = userRepo.findListItems(new UserSearch("user2"), PageRequest.of(0, 20));
+
+        assertEquals(20, page.size());
+        assertEquals(5, filtered.size());
+        assertEquals("user10@gmail.com", filtered.get(0).email());
+        assertEquals(6, found.size());
+        assertEquals(USERS_AMOUNT, userRepo.countListItems(null));
+        assertEquals(11, userRepo.countListItems(byName));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findListItemsAfterWalksAllUsersInOrderTest() {
+        Sort.Order byEmailDesc = Sort.Order.desc("email");
+        List<String> emails = new ArrayList<>();
+        List<UserListItemDto> page = userRepo.findListItemsAfter(null, byEmailDesc, null, null, 10);
+        while (!page.isEmpty()) {
+            page.forEach(user -> emails.add(user.email()));
+            UserListItemDto last = page.get(page.size() - 1);
+            page = userRepo.findListItemsAfter(null, byEmailDesc, last.email(), last.id(), 10);
+        }
+
+        assertEquals(USERS_AMOUNT, emails.size());
+        assertEquals(emails.stream().sorted(Comparator.reverseOrder()).toList(), emails);
+        assertEquals(6, userRepo.countListItems(new UserSearch("USER2")));
+    }
+
+    @Test
+    void userFilterMatchesCompiledConditionsTest() {
+        String thisYear = String.valueOf(LocalDateTime.now().getYear());
+
+        assertEquals(11, userRepo.countListItems(new UserFilter(new FilterUserDto(" user1"))));
+        assertEquals(1, userRepo.countListItems(new UserFilter(new FilterUserDto("user7@gmail.com"))));
+        assertEquals(1, userRepo.countListItems(new UserFilter(new FilterUserDto("user2@"))));
+        assertEquals(1, userRepo.countListItems(new UserFilter(new FilterUserDto("User7@GMail.com"))));
+        assertEquals(1, userRepo.countListItems(new UserFilter(new FilterUserDto("USER2@"))));
+        assertEquals(0, userRepo.countListItems(new UserFilter(new FilterUserDto("user_"))));
+        assertEquals(USERS_AMOUNT, userRepo.countListItems(new UserFilter(new FilterUserDto(thisYear))));
+        assertEquals(0, userRepo.countListItems(new UserFilter(new FilterUserDto("1999-02"))));
+        assertEquals(USERS_AMOUNT, userRepo.countListItems(new UserFilter(new FilterUserDto(null))));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("greencity.entity")
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class)
+    static class TestConfig {
+    }
+}
@@ -0,0 +1,78 @@
+package greencity.repository;
+
+import greencity.entity.User;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepoFetchPlanTest {
+    private static final int USERS_AMOUNT = 25;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserTestData.persistUsers(entityManager, USERS_AMOUNT);
+        statistics = UserTestData.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void findAllByPageRunsBoundedNumberOfStatementsTest() {
+        Page<User> page = userRepo.findAll(PageRequest.of(0, 20));
+        page.forEach(user -> assertNotNull(user.getOwnSecurity().getPassword()));
+
+        assertEquals(20, page.getNumberOfElements());
+        long pageOfTwenty = statistics.getPrepareStatementCount();
+        assertTrue(pageOfTwenty <= 3, "Statements for page of 20 users: " + pageOfTwenty);
+
+        entityManager.clear();
+        statistics.clear();
+        userRepo.findAll(PageRequest.of(0, 5));
+
+        assertEquals(statistics.getPrepareStatementCount(), pageOfTwenty);
+    }
+
+    @Test
+    void findByEmailRunsOneStatementTest() {
+        User user = userRepo.findByEmail("user0@gmail.com").orElseThrow();
+
+        assertEquals("password", user.getOwnSecurity().getPassword());
+        assertNotNull(user.getVerifyEmail());
+        assertEquals("ua", user.getLanguage().getCode());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllRunsOneStatementTest() {
+        assertEquals(USERS_AMOUNT, userRepo.findAll().size());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("greencity.entity")
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class)
+    static class TestConfig {
+    }
+}
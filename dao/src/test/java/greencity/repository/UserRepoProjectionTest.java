@@ -0,0 +1,87 @@
+package greencity.repository;
+
+import greencity.dto.user.UserIdentityDto;
+import greencity.dto.user.UserSubscriberDto;
+import greencity.enums.EmailNotification;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepoProjectionTest {
+    private static final int USERS_AMOUNT = 25;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserTestData.persistUsers(entityManager, USERS_AMOUNT);
+        statistics = UserTestData.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void findProfileInfoByIdLoadsNoEntitiesTest() {
+        Long id = userRepo.findIdByEmail("user0@gmail.com").orElseThrow();
+
+        assertEquals("user0", userRepo.findProfileInfoById(id).orElseThrow().name());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findSubscribersAfterLoadsNoEntitiesTest() {
+        List<UserSubscriberDto> subscribers = new ArrayList<>();
+        List<UserSubscriberDto> batch =
+            userRepo.findSubscribersAfter(EmailNotification.DISABLED, 0L, PageRequest.of(0, 10));
+        while (!batch.isEmpty()) {
+            subscribers.addAll(batch);
+            batch = userRepo.findSubscribersAfter(EmailNotification.DISABLED, batch.get(batch.size() - 1).id(),
+                PageRequest.of(0, 10));
+        }
+
+        assertEquals(USERS_AMOUNT, subscribers.size());
+        assertEquals(subscribers.stream().map(UserSubscriberDto::id).sorted().toList(),
+            subscribers.stream().map(UserSubscriberDto::id).toList());
+        assertEquals("ua", subscribers.get(0).languageCode());
+        assertTrue(userRepo.findSubscribersAfter(EmailNotification.DAILY, 0L, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findIdentitiesRunOneQueryTest() {
+        List<UserIdentityDto> byEmails = userRepo.findIdentitiesByEmailIn(
+            List.of("user1@gmail.com", "user2@gmail.com", "missing@gmail.com"));
+        List<UserIdentityDto> byIds = userRepo.findIdentitiesByIdIn(List.of(byEmails.get(0).id(), -1L));
+
+        assertEquals(2, byEmails.size());
+        assertEquals(List.of(byEmails.get(0)), byIds);
+        assertEquals("ua", byIds.get(0).languageCode());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("greencity.entity")
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class)
+    static class TestConfig {
+    }
+}
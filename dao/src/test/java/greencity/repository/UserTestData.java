@@ -0,0 +1,55 @@
+package greencity.repository;
+
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.User;
+import greencity.entity.VerifyEmail;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/**
+ * Seeds users shared by repository tests: {@code user0..userN} with emails
+ * {@code user<i>@gmail.com}, passwords and verify emails of even users.
+ */
+final class UserTestData {
+    private UserTestData() {
+    }
+
+    static void persistUsers(TestEntityManager entityManager, int amount) {
+        Language language = entityManager.persist(Language.builder().code("ua").build());
+        for (int i = 0; i < amount; i++) {
+            User user = entityManager.persist(User.builder()
+                .name("user" + i)
+                .email("user" + i + "@gmail.com")
+                .role(Role.ROLE_USER)
+                .userStatus(UserStatus.ACTIVATED)
+                .emailNotification(EmailNotification.DISABLED)
+                .dateOfRegistration(LocalDateTime.now())
+                .refreshTokenKey("secret")
+                .language(language)
+                .build());
+            entityManager.persist(OwnSecurity.builder().password("password").user(user).build());
+            if (i % 2 == 0) {
+                entityManager.persist(VerifyEmail.builder()
+                    .token("token" + i)
+                    .expiryDate(LocalDateTime.now().plusDays(1))
+                    .user(user)
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Statistics clearedStatistics(TestEntityManager entityManager) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
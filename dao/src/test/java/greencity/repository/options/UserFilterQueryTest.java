@@ -0,0 +1,49 @@
+package greencity.repository.options;
+
+import greencity.repository.options.UserFilterQuery.EmailIs;
+import greencity.repository.options.UserFilterQuery.EmailStartsWith;
+import greencity.repository.options.UserFilterQuery.Everyone;
+import greencity.repository.options.UserFilterQuery.NameStartsWith;
+import greencity.repository.options.UserFilterQuery.RegisteredBetween;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserFilterQueryTest {
+    @Test
+    void compileDatesToRangesTest() {
+        assertEquals(new RegisteredBetween(LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0)),
+            UserFilterQuery.compile("2023"));
+        assertEquals(new RegisteredBetween(LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0)),
+            UserFilterQuery.compile("2023-12"));
+        assertEquals(new RegisteredBetween(LocalDateTime.of(2024, 2, 29, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0)),
+            UserFilterQuery.compile(" 2024-02-29 "));
+    }
+
+    @Test
+    void compileInvalidDateToNameTest() {
+        assertEquals(new NameStartsWith("2023-13"), UserFilterQuery.compile("2023-13"));
+        assertEquals(new NameStartsWith("2023-02-30"), UserFilterQuery.compile("2023-02-30"));
+    }
+
+    @Test
+    void compileEmailsTest() {
+        assertEquals(new EmailIs("anna@gmail.com"), UserFilterQuery.compile(" anna@gmail.com"));
+        assertEquals(new EmailStartsWith("anna@gm"), UserFilterQuery.compile("anna@gm"));
+        assertEquals(new EmailIs("anna@gmail.com"), UserFilterQuery.compile("Anna@GMail.com"));
+        assertEquals(new EmailStartsWith("anna@gm"), UserFilterQuery.compile("ANNA@Gm"));
+    }
+
+    @Test
+    void compileNamesAndBlankInputTest() {
+        assertEquals(new NameStartsWith("Anna"), UserFilterQuery.compile("Anna"));
+        assertEquals(new Everyone(), UserFilterQuery.compile("  "));
+        assertEquals(new Everyone(), UserFilterQuery.compile(null));
+    }
+
+    @Test
+    void prefixPatternEscapesWildcardsTest() {
+        assertEquals("a\\_b\\%c\\\\%", UserFilterQuery.prefixPattern("a_b%c\\"));
+    }
+}
@@ -15,6 +15,7 @@ public final class AppConstant {
     public static final String DEFAULT_LANGUAGE_CODE = "en";
     public static final String PASSWORD = "password";
     public static final String USER_STATUS = "user_status";
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
     private AppConstant() {
     }
 }
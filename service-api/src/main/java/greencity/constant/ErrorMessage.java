@@ -33,6 +33,15 @@ public final class ErrorMessage {
     public static final String USER_DOESNT_HAVE_ACCESS_TO_DATA = "User doesn't have acces to this data.";
     public static final String INVALID_GOOGLE_TOKEN = "Invalid Google token. ";
     public static final String EXPIRED_GOOGLE_TOKEN = "Google id token is not valid or expired. ";
+    public static final String PASSWORD_HASHING_UNAVAILABLE = "Too many sign in requests, try again later";
+    public static final String BAD_CONTINUATION_TOKEN = "Continuation token is malformed or issued for another query";
+    public static final String UNSUPPORTED_KEYSET_SORT = "Keyset pagination can't sort by: ";
+    public static final String BAD_REGISTRATION_STATISTICS_RANGE = "Start of the range must not be after its end";
+    public static final String TOO_MANY_USERS_TO_LOOKUP = "Too many users requested in one lookup, at most: ";
+    public static final String TOO_MANY_USERS_FOR_BULK_OPERATION = "Too many users selected, at most: ";
+    public static final String BAD_BULK_USER_OPERATION = "Bulk operation lacks status, role or reasons";
+    public static final String BULK_USER_OPERATION_NOT_FOUND = "Bulk operation not found or expired: ";
+    public static final String BULK_USER_OPERATIONS_BUSY = "Too many bulk operations are running, try again later";
 
     private ErrorMessage() {
     }
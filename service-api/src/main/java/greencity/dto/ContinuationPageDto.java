@@ -0,0 +1,21 @@
+package greencity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Page of keyset pagination together with token to request the next page.
+ *
+ * @param <P> type of page dto, {@link PageableDto} or
+ *            {@link PageableAdvancedDto}.
+ */
+@Data
+@AllArgsConstructor
+public class ContinuationPageDto<P> {
+    private P page;
+
+    /**
+     * Opaque token of the next page, {@code null} on the last page.
+     */
+    private String continuationToken;
+}
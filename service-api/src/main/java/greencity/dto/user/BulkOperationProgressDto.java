@@ -0,0 +1,31 @@
+package greencity.dto.user;
+
+import greencity.enums.BulkOperationState;
+import greencity.enums.BulkUserAction;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of bulk admin operation. {@code processed} counts selected users
+ * already handled, {@code affected} those of them that were actually changed,
+ * {@code notificationFailures} changed users whose email couldn't be sent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationProgressDto {
+    private String id;
+    private BulkUserAction action;
+    private BulkOperationState state;
+    private int total;
+    private int processed;
+    private int affected;
+    private int notificationFailures;
+    private String error;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
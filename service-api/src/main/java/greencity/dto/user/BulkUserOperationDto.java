@@ -0,0 +1,32 @@
+package greencity.dto.user;
+
+import greencity.enums.BulkUserAction;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Admin action on selected users. {@code userStatus} is required by
+ * {@link BulkUserAction#SET_STATUS}, {@code role} by
+ * {@link BulkUserAction#SET_ROLE} and {@code reasons} by
+ * {@link BulkUserAction#DEACTIVATE}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserOperationDto {
+    @NotEmpty
+    private List<Long> ids;
+    @NotNull
+    private BulkUserAction action;
+    private UserStatus userStatus;
+    private Role role;
+    private List<String> reasons;
+}
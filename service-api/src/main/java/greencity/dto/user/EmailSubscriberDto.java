@@ -0,0 +1,20 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recipient of email digest of some {@link greencity.enums.EmailNotification}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailSubscriberDto {
+    private Long id;
+    private String name;
+    private String email;
+    private String languageCode;
+}
@@ -0,0 +1,19 @@
+package greencity.dto.user;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Amount of users registered in a day, week or month.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationStatisticsDto {
+    private LocalDate bucketStart;
+    private long usersAmount;
+}
@@ -0,0 +1,22 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of batch lookup for one requested id, email or uuid. Missing users
+ * are returned with {@code found} set to {@code false} and no {@code user}.
+ *
+ * @param <K> type of the requested key.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupResultDto<K> {
+    private K key;
+    private boolean found;
+    private UserRefDto user;
+}
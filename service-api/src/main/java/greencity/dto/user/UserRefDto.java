@@ -0,0 +1,25 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim view of user returned by batch lookups of other services.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRefDto {
+    private Long id;
+    private String uuid;
+    private String email;
+    private String name;
+    private Role role;
+    private UserStatus userStatus;
+    private String languageCode;
+}
@@ -0,0 +1,19 @@
+package greencity.dto.user;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Amount of users together with the moment it was counted at.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsersAmountDto {
+    private long amount;
+    private Instant countedAt;
+}
@@ -0,0 +1,8 @@
+package greencity.enums;
+
+/**
+ * State of bulk admin operation.
+ */
+public enum BulkOperationState {
+    RUNNING, COMPLETED, FAILED
+}
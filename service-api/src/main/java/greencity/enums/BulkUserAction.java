@@ -0,0 +1,24 @@
+package greencity.enums;
+
+/**
+ * Change applied by bulk admin operation to every selected user.
+ */
+public enum BulkUserAction {
+    /**
+     * Sets {@link UserStatus#ACTIVATED} and sends activation emails.
+     */
+    ACTIVATE,
+    /**
+     * Sets {@link UserStatus#DEACTIVATED}, records reasons and sends them by
+     * email.
+     */
+    DEACTIVATE,
+    /**
+     * Sets given {@link UserStatus} without notifications.
+     */
+    SET_STATUS,
+    /**
+     * Sets given {@link Role}.
+     */
+    SET_ROLE
+}
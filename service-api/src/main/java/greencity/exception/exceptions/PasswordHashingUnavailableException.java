@@ -0,0 +1,16 @@
+package greencity.exception.exceptions;
+
+/**
+ * Exception that we get when password hashing pool is saturated and the
+ * request can't be admitted.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    /**
+     * Constructor for PasswordHashingUnavailableException.
+     *
+     * @param message - giving message.
+     */
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
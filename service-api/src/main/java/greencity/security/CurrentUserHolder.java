@@ -0,0 +1,114 @@
+package greencity.security;
+
+import greencity.dto.user.UserVO;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Request-scoped holder of the authenticated user. The authentication filter
+ * puts email and id of the user into it, and the first lookup of that user by
+ * email within the request stores the loaded {@link UserVO}, so that argument
+ * resolvers, controllers and services share it instead of querying the user
+ * again. Outside of a request the holder is always empty.
+ */
+@Component
+public class CurrentUserHolder {
+    private static final String EMAIL = CurrentUserHolder.class.getName() + ".EMAIL";
+    private static final String ID = CurrentUserHolder.class.getName() + ".ID";
+    private static final String LANGUAGE = CurrentUserHolder.class.getName() + ".LANGUAGE";
+    private static final String USER = CurrentUserHolder.class.getName() + ".USER";
+
+    /**
+     * Stores principal of the current request.
+     *
+     * @param email        email of authenticated user.
+     * @param userId       id of authenticated user.
+     * @param languageCode language code from claim-rich access token, may be
+     *                     {@code null}.
+     */
+    public void setPrincipal(String email, Long userId, String languageCode) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(EMAIL, email, RequestAttributes.SCOPE_REQUEST);
+            attributes.setAttribute(ID, userId, RequestAttributes.SCOPE_REQUEST);
+            if (languageCode != null) {
+                attributes.setAttribute(LANGUAGE, languageCode, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+
+    /**
+     * Returns email of authenticated user of the current request.
+     *
+     * @return {@link Optional} of email.
+     */
+    public Optional<String> getEmail() {
+        return getAttribute(EMAIL, String.class);
+    }
+
+    /**
+     * Returns id of authenticated user of the current request.
+     *
+     * @return {@link Optional} of id.
+     */
+    public Optional<Long> getUserId() {
+        return getAttribute(ID, Long.class);
+    }
+
+    /**
+     * Returns id of authenticated user if it has given email.
+     *
+     * @param email email of the user.
+     * @return {@link Optional} of id.
+     */
+    public Optional<Long> getUserId(String email) {
+        return getEmail().filter(email::equals).flatMap(currentEmail -> getUserId());
+    }
+
+    /**
+     * Returns language code of authenticated user taken from claim-rich access
+     * token. The code reflects the moment the token was issued and isn't
+     * invalidated by a change of language, so it suits only callers that
+     * tolerate a stale value; the stored language has to be read otherwise.
+     *
+     * @return {@link Optional} of language code, empty for tokens without it.
+     */
+    public Optional<String> getLanguageCode() {
+        return getAttribute(LANGUAGE, String.class);
+    }
+
+    /**
+     * Returns already loaded authenticated user if it has given email.
+     *
+     * @param email email of the user.
+     * @return {@link Optional} of {@link UserVO}.
+     */
+    public Optional<UserVO> getUser(String email) {
+        return getAttribute(USER, UserVO.class)
+            .filter(user -> user.getEmail().equals(email));
+    }
+
+    /**
+     * Stores loaded user if it is the authenticated user of the current request.
+     *
+     * @param user {@link UserVO}
+     */
+    public void setUser(UserVO user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && user != null && user.getEmail() != null
+            && user.getEmail().equals(attributes.getAttribute(EMAIL, RequestAttributes.SCOPE_REQUEST))) {
+            attributes.setAttribute(USER, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static <T> Optional<T> getAttribute(String name, Class<T> type) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        Object value = attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+}
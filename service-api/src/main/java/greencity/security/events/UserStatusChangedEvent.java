@@ -0,0 +1,38 @@
+package greencity.security.events;
+
+import greencity.enums.UserStatus;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that is meant for notifying about status change of one or more users,
+ * including their deletion.
+ */
+@Getter
+public class UserStatusChangedEvent extends ApplicationEvent {
+    /**
+     * Ids of {@link greencity.dto.user.UserVO} whose status was changed.
+     */
+    private final transient List<Long> userIds;
+    /**
+     * Status that was assigned to the users, {@code null} if they were deleted.
+     */
+    private final UserStatus userStatus;
+
+    /**
+     * Creates a new {@link UserStatusChangedEvent} with ids of users and status
+     * that was assigned to them.
+     *
+     * @param source     the object on which the event initially occurred (never
+     *                   {@code null})
+     * @param userIds    ids of users whose status was changed
+     * @param userStatus new status of the users, {@code null} if they were
+     *                   deleted
+     */
+    public UserStatusChangedEvent(Object source, List<Long> userIds, UserStatus userStatus) {
+        super(source);
+        this.userIds = List.copyOf(userIds);
+        this.userStatus = userStatus;
+    }
+}
@@ -0,0 +1,46 @@
+package greencity.security.jwt;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Claims of verified access token that are kept as details of the
+ * authentication. User id, language code and status version are present only in
+ * claim-rich tokens and are {@code null} otherwise.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AccessTokenClaims {
+    public static final String USER_ID = "id";
+    public static final String LANGUAGE = "lang";
+    public static final String STATUS_VERSION = "ver";
+
+    private final Date expiration;
+    private final Long userId;
+    private final String languageCode;
+    private final Integer statusVersion;
+
+    /**
+     * Calculates status version of the user: a fingerprint of names of user's
+     * role and status, so it doesn't change when the enums are reordered. Token
+     * issued for another role or status carries another version, so it can be
+     * detected as stale.
+     *
+     * <p>
+     * The version is not monotonic: it only tells whether the token was issued
+     * for the current role and status. A token issued before the user was
+     * blocked and then activated again matches the current version once more.
+     *
+     * @param role       {@link Role} of user.
+     * @param userStatus {@link UserStatus} of user.
+     * @return version of role and status.
+     */
+    public static int statusVersion(Role role, UserStatus userStatus) {
+        return (role.name() + ':' + userStatus.name()).hashCode();
+    }
+}
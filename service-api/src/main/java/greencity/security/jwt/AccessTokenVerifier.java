@@ -0,0 +1,132 @@
+package greencity.security.jwt;
+
+import static greencity.constant.AppConstant.ROLE;
+import greencity.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies access tokens. Signing key and {@link JwtParser} are built once, so
+ * every token is parsed and its signature checked exactly once per call.
+ * Tokens with {@code kid} header are verified with public key of
+ * {@link SigningKeyRing}, tokens without it with shared HMAC key.
+ *
+ * @version 1.1
+ */
+@Component
+public class AccessTokenVerifier {
+    /**
+     * Authorities of every {@link Role}, shared between authentications since
+     * access tokens carry a single role.
+     */
+    private static final Map<String, List<GrantedAuthority>> ROLE_AUTHORITIES = Arrays.stream(Role.values())
+        .collect(Collectors.toUnmodifiableMap(Role::name,
+            role -> List.of(new SimpleGrantedAuthority(role.name()))));
+    private final JwtParser parser;
+
+    /**
+     * Constructor.
+     *
+     * @param jwtTool {@link JwtTool} that provides access token key.
+     */
+    @Autowired
+    public AccessTokenVerifier(JwtTool jwtTool) {
+        this(jwtTool.getAccessTokenKey(), jwtTool.getSigningKeyRing());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param accessTokenKey key that access tokens are signed with.
+     */
+    public AccessTokenVerifier(String accessTokenKey) {
+        this(accessTokenKey, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param accessTokenKey HMAC key of tokens without {@code kid}.
+     * @param signingKeyRing {@link SigningKeyRing} of asymmetric keys, may be
+     *                       {@code null}.
+     */
+    public AccessTokenVerifier(String accessTokenKey, SigningKeyRing signingKeyRing) {
+        SecretKey hmacKey = Keys.hmacShaKeyFor(accessTokenKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+            .keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    String kid = header.getKeyId();
+                    if (kid == null) {
+                        return hmacKey;
+                    }
+                    return Optional.ofNullable(signingKeyRing)
+                        .flatMap(keyRing -> keyRing.findPublicKey(kid))
+                        .orElseThrow(() -> new UnsupportedJwtException("Access token signed with unknown key " + kid));
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Verifies access token and builds authentication from its claims.
+     *
+     * @param accessToken jwt access token.
+     * @return {@link Authentication} with email as principal, roles as authorities
+     *         and {@link AccessTokenClaims} as details.
+     * @throws io.jsonwebtoken.ExpiredJwtException   if the token expired.
+     * @throws io.jsonwebtoken.MalformedJwtException if the token is not a valid
+     *                                               JWS or has no roles.
+     * @throws io.jsonwebtoken.security.SignatureException if the signature
+     *                                                     validation fails.
+     */
+    public Authentication verify(String accessToken) {
+        Claims claims = parser.parseSignedClaims(accessToken).getPayload();
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            claims.getSubject(),
+            "",
+            toAuthorities(claims.get(ROLE)));
+        authentication.setDetails(new AccessTokenClaims(
+            claims.getExpiration(),
+            claims.get(AccessTokenClaims.USER_ID, Long.class),
+            claims.get(AccessTokenClaims.LANGUAGE, String.class),
+            claims.get(AccessTokenClaims.STATUS_VERSION, Integer.class)));
+        return authentication;
+    }
+
+    private static List<GrantedAuthority> toAuthorities(Object roles) {
+        if (!(roles instanceof List<?> roleNames)) {
+            throw new MalformedJwtException("Access token has no roles");
+        }
+        if (roleNames.size() == 1) {
+            List<GrantedAuthority> authorities = ROLE_AUTHORITIES.get(String.valueOf(roleNames.get(0)));
+            if (authorities != null) {
+                return authorities;
+            }
+        }
+        return roleNames.stream()
+            .map(String::valueOf)
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+    }
+}
@@ -1,11 +1,10 @@
 package greencity.security.jwt;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import static greencity.constant.AppConstant.ROLE;
 import greencity.dto.user.UserVO;
 import greencity.enums.Role;
 import io.jsonwebtoken.ClaimsBuilder;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,7 +15,6 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
-import javax.crypto.SecretKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,6 +32,9 @@ public class JwtTool {
     private final Integer accessTokenValidTimeInMinutes;
     private final Integer refreshTokenValidTimeInMinutes;
     private final String accessTokenKey;
+    private final SigningKeyRing signingKeyRing;
+    @Value("${greencity.security.access-token.claim-rich:false}")
+    private boolean claimRichAccessToken;
 
     /**
      * Constructor.
@@ -41,10 +42,12 @@ public class JwtTool {
     @Autowired
     public JwtTool(@Value("${accessTokenValidTimeInMinutes}") Integer accessTokenValidTimeInMinutes,
         @Value("${refreshTokenValidTimeInMinutes}") Integer refreshTokenValidTimeInMinutes,
-        @Value("${tokenKey}") String accessTokenKey) {
+        @Value("${tokenKey}") String accessTokenKey,
+        SigningKeyRing signingKeyRing) {
         this.accessTokenValidTimeInMinutes = accessTokenValidTimeInMinutes;
         this.refreshTokenValidTimeInMinutes = refreshTokenValidTimeInMinutes;
         this.accessTokenKey = accessTokenKey;
+        this.signingKeyRing = signingKeyRing;
     }
 
     /**
@@ -56,15 +59,48 @@ public class JwtTool {
     public String createAccessToken(String email, Role role) {
         ClaimsBuilder claims = Jwts.claims().subject(email);
         claims.add(ROLE, Collections.singleton(role.name()));
+        return buildAccessToken(claims);
+    }
 
+    /**
+     * Method for creating access token. When claim-rich tokens are enabled, the
+     * token also carries user id, language code and status version, so that
+     * identity endpoints can be answered without loading the user.
+     *
+     * @param user - {@link UserVO}
+     */
+    public String createAccessToken(UserVO user) {
+        if (!claimRichAccessToken) {
+            return createAccessToken(user.getEmail(), user.getRole());
+        }
+        ClaimsBuilder claims = Jwts.claims().subject(user.getEmail());
+        claims.add(ROLE, Collections.singleton(user.getRole().name()));
+        claims.add(AccessTokenClaims.USER_ID, user.getId());
+        if (user.getLanguageVO() != null) {
+            claims.add(AccessTokenClaims.LANGUAGE, user.getLanguageVO().getCode());
+        }
+        claims.add(AccessTokenClaims.STATUS_VERSION,
+            AccessTokenClaims.statusVersion(user.getRole(), user.getUserStatus()));
+        return buildAccessToken(claims);
+    }
+
+    private String buildAccessToken(ClaimsBuilder claims) {
         Date now = new Date();
         Calendar calendar = Calendar.getInstance();
         calendar.setTime(now);
         calendar.add(Calendar.MINUTE, accessTokenValidTimeInMinutes);
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
             .claims(claims.build())
             .issuedAt(now)
-            .expiration(calendar.getTime())
+            .expiration(calendar.getTime());
+        if (signingKeyRing != null && signingKeyRing.isEnabled()) {
+            SigningKeyRing.SigningKey signingKey = signingKeyRing.getCurrentKey();
+            return builder
+                .header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.keyPair().getPrivate(), signingKey.algorithm())
+                .compact();
+        }
+        return builder
             .signWith(Keys.hmacShaKeyFor(
                 accessTokenKey.getBytes(StandardCharsets.UTF_8)),
                 Jwts.SIG.HS256)
@@ -94,25 +130,16 @@ public class JwtTool {
     }
 
     /**
-     * Gets email from token and throws an error if token is expired. WARNING: The
-     * method DOESN'T CHECK whether the token's signature is valid.
+     * Gets email from token. WARNING: The method DOESN'T CHECK whether the token's
+     * signature is valid or whether it is expired.
      *
      * @param token - access token
      * @return - user's email
-     * @throws io.jsonwebtoken.ExpiredJwtException - if token is expired.
+     * @throws io.jsonwebtoken.MalformedJwtException - if token has no JSON
+     *                                               payload.
      */
     public String getEmailOutOfAccessToken(String token) {
-        String[] splitToken = token.split("\\.");
-        Base64.Decoder decoder = Base64.getUrlDecoder();
-        String payload = new String(decoder.decode(splitToken[1]));
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonNode jsonNode;
-        try {
-            jsonNode = objectMapper.readTree(payload);
-        } catch (Exception e) {
-            throw new RuntimeException("Error parsing JSON payload", e);
-        }
-        return jsonNode.path("sub").asText();
+        return TokenPayloadDecoder.readSubject(token);
     }
 
     /**
@@ -122,17 +149,16 @@ public class JwtTool {
      * @return {@link Boolean}
      */
     public boolean isTokenValid(String token, String tokenKey) {
-        boolean isValid = false;
-        SecretKey key = Keys.hmacShaKeyFor(tokenKey.getBytes());
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            isValid = true;
+            Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(tokenKey.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+            return true;
         } catch (Exception e) {
-            log.info("Given token is not valid: " + e.getMessage());
-            log.error("Exception:", e);
-            log.info("token " + token + "token key " + tokenKey);
+            log.info("Given token is not valid: {}", e.getMessage());
+            return false;
         }
-        return isValid;
     }
 
     /**
@@ -144,6 +170,16 @@ public class JwtTool {
         return accessTokenKey;
     }
 
+    /**
+     * Returns key ring that access tokens are signed with when asymmetric signing
+     * is enabled.
+     *
+     * @return {@link SigningKeyRing}
+     */
+    public SigningKeyRing getSigningKeyRing() {
+        return signingKeyRing;
+    }
+
     /**
      * Method that get token from {@link HttpServletRequest}.
      *
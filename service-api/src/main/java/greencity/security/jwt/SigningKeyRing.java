@@ -0,0 +1,190 @@
+package greencity.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asymmetric keys that access tokens are signed with. Every key is identified
+ * by {@code kid}; one of them signs tokens and all of them are published, so
+ * other services can verify tokens locally using
+ * {@code /.well-known/jwks.json}. When signing algorithm is {@code HS256} the
+ * ring is disabled and tokens are signed with shared {@code tokenKey}.
+ *
+ * <p>
+ * Keys are loaded from configuration as a JWK Set of private keys, so every
+ * replica signs and verifies with the same keys and tokens survive restarts.
+ * Keys are rotated by configuration: a new key is added to the set of every
+ * replica first, then it is made the signing one, and the previous key is
+ * removed once tokens signed by it have expired.
+ *
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+    private static final String HS256 = "HS256";
+    private final SignatureAlgorithm algorithm;
+    private final Map<String, SigningKey> keys;
+    private final SigningKey currentKey;
+
+    /**
+     * Constructor.
+     *
+     * @param algorithm   {@code HS256}, {@code ES256} or {@code EdDSA}.
+     * @param signingKeys JWK Set of private keys, required unless algorithm is
+     *                    {@code HS256}.
+     * @param signingKid  id of the key new tokens are signed with, may be empty
+     *                    when the set holds a single key.
+     */
+    @Autowired
+    public SigningKeyRing(@Value("${greencity.security.access-token.signing-algorithm:HS256}") String algorithm,
+        @Value("${greencity.security.access-token.signing-keys:}") String signingKeys,
+        @Value("${greencity.security.access-token.signing-kid:}") String signingKid) {
+        this(toSignatureAlgorithm(algorithm), signingKeys, signingKid);
+    }
+
+    private SigningKeyRing(SignatureAlgorithm algorithm, String signingKeys, String signingKid) {
+        this(algorithm, algorithm == null ? List.of() : parseKeys(algorithm, signingKeys), signingKid);
+    }
+
+    /**
+     * Constructor for keys that are already loaded.
+     *
+     * @param algorithm  {@link SignatureAlgorithm} of the keys, {@code null} to
+     *                   disable the ring.
+     * @param keys       {@link Collection} of {@link SigningKey}.
+     * @param signingKid id of the key new tokens are signed with, may be empty
+     *                   when there is a single key.
+     */
+    public SigningKeyRing(SignatureAlgorithm algorithm, Collection<SigningKey> keys, String signingKid) {
+        this.algorithm = algorithm;
+        this.keys = new LinkedHashMap<>();
+        keys.forEach(key -> this.keys.put(key.kid(), key));
+        this.currentKey = algorithm == null ? null : findCurrentKey(signingKid);
+        if (currentKey != null) {
+            log.info("Access tokens are signed with {} key {}", algorithm.getId(), currentKey.kid());
+        }
+    }
+
+    /**
+     * Checks whether tokens are signed with asymmetric keys.
+     *
+     * @return {@code true} if ring is enabled.
+     */
+    public boolean isEnabled() {
+        return algorithm != null;
+    }
+
+    /**
+     * Returns key that new tokens are signed with.
+     *
+     * @return current {@link SigningKey}.
+     */
+    public SigningKey getCurrentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Finds public key by its id.
+     *
+     * @param kid key id from token header.
+     * @return {@link Optional} of {@link PublicKey}.
+     */
+    public Optional<PublicKey> findPublicKey(String kid) {
+        return Optional.ofNullable(keys.get(kid)).map(key -> key.keyPair().getPublic());
+    }
+
+    /**
+     * Returns public keys of all configured keys in JWK format.
+     *
+     * @return {@link List} of {@link PublicJwk}.
+     */
+    public List<PublicJwk<?>> getPublicJwks() {
+        return keys.values().stream()
+            .<PublicJwk<?>>map(key -> Jwks.builder()
+                .key(key.keyPair().getPublic())
+                .id(key.kid())
+                .algorithm(algorithm.getId())
+                .publicKeyUse("sig")
+                .build())
+            .toList();
+    }
+
+    private SigningKey findCurrentKey(String signingKid) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("No access token signing keys configured for " + algorithm.getId());
+        }
+        if (signingKid == null || signingKid.isBlank()) {
+            if (keys.size() > 1) {
+                throw new IllegalArgumentException("Access token signing kid is required for several keys");
+            }
+            return keys.values().iterator().next();
+        }
+        SigningKey key = keys.get(signingKid);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown access token signing kid: " + signingKid);
+        }
+        return key;
+    }
+
+    private static List<SigningKey> parseKeys(SignatureAlgorithm algorithm, String signingKeys) {
+        if (signingKeys == null || signingKeys.isBlank()) {
+            return List.of();
+        }
+        return Jwks.setParser().build().parse(signingKeys).getKeys().stream()
+            .map(jwk -> toSigningKey(algorithm, jwk))
+            .toList();
+    }
+
+    private static SigningKey toSigningKey(SignatureAlgorithm algorithm, Jwk<?> jwk) {
+        if (!(jwk instanceof PrivateJwk<?, ?, ?> privateJwk)) {
+            throw new IllegalArgumentException("Access token signing key is not private: " + jwk.getId());
+        }
+        if (jwk.getId() == null || jwk.getId().isBlank()) {
+            throw new IllegalArgumentException("Access token signing key has no kid");
+        }
+        if (jwk.getAlgorithm() != null && !algorithm.getId().equals(jwk.getAlgorithm())) {
+            throw new IllegalArgumentException("Access token signing key " + jwk.getId() + " is not "
+                + algorithm.getId());
+        }
+        return new SigningKey(jwk.getId(), privateJwk.toKeyPair().toJavaKeyPair(), algorithm);
+    }
+
+    private static SignatureAlgorithm toSignatureAlgorithm(String algorithm) {
+        if (HS256.equalsIgnoreCase(algorithm)) {
+            return null;
+        }
+        if (Jwts.SIG.ES256.getId().equalsIgnoreCase(algorithm)) {
+            return Jwts.SIG.ES256;
+        }
+        if (Jwts.SIG.EdDSA.getId().equalsIgnoreCase(algorithm)) {
+            return Jwts.SIG.EdDSA;
+        }
+        throw new IllegalArgumentException("Unsupported access token signing algorithm: " + algorithm);
+    }
+
+    /**
+     * Signing key with its id.
+     *
+     * @param kid       key id put into token header.
+     * @param keyPair   private and public keys.
+     * @param algorithm {@link SignatureAlgorithm} of the key.
+     */
+    public record SigningKey(String kid, KeyPair keyPair, SignatureAlgorithm algorithm) {
+    }
+}
@@ -0,0 +1,67 @@
+package greencity.security.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.MalformedJwtException;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Reads claims out of JWT payload without verifying the signature. The payload
+ * is decoded once and streamed with a shared {@link JsonFactory}, stopping at
+ * the requested claim, so no tree or mapper is built per token.
+ */
+public final class TokenPayloadDecoder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String SUBJECT = "sub";
+
+    private TokenPayloadDecoder() {
+    }
+
+    /**
+     * Reads {@code sub} claim of token. WARNING: The method DOESN'T CHECK whether
+     * the token's signature is valid.
+     *
+     * @param token jwt token.
+     * @return subject of token, or {@code null} if token has none.
+     * @throws MalformedJwtException if token has no payload or it isn't JSON.
+     */
+    public static String readSubject(String token) {
+        return readStringClaim(token, SUBJECT);
+    }
+
+    /**
+     * Reads top-level string claim of token. WARNING: The method DOESN'T CHECK
+     * whether the token's signature is valid.
+     *
+     * @param token jwt token.
+     * @param claim name of the claim.
+     * @return value of claim, or {@code null} if token has no such claim.
+     * @throws MalformedJwtException if token has no payload or it isn't JSON.
+     */
+    public static String readStringClaim(String token, String claim) {
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            throw new MalformedJwtException("Token has no payload");
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(
+            Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("Token payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (claim.equals(name)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("Error parsing token payload", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package greencity.service;
+
+import greencity.dto.user.BulkOperationProgressDto;
+import greencity.dto.user.BulkUserOperationDto;
+
+/**
+ * Provides the interface to admin operations on many selected users.
+ */
+public interface BulkUserOperationService {
+    /**
+     * Starts bulk admin operation in background. Selected users are changed by
+     * chunks, each with one statement in its own transaction, so progress of
+     * large selections is visible while they are processed. The admin is never
+     * changed by own operation.
+     *
+     * @param operation  {@link BulkUserOperationDto}.
+     * @param adminEmail email of admin who started the operation.
+     * @return {@link BulkOperationProgressDto} of started operation.
+     */
+    BulkOperationProgressDto start(BulkUserOperationDto operation, String adminEmail);
+
+    /**
+     * Returns progress of bulk admin operation.
+     *
+     * @param operationId id of the operation.
+     * @return {@link BulkOperationProgressDto}.
+     */
+    BulkOperationProgressDto getProgress(String operationId);
+}
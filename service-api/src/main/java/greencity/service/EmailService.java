@@ -111,6 +111,24 @@ public interface EmailService {
      */
     void sendMessageOfActivation(UserActivationDto userActivationDto);
 
+    /**
+     * Method for sending reasons of deactivating many users as one batch over
+     * a single connection. Sends on the calling thread, so it is meant for
+     * background jobs.
+     *
+     * @param userDeactivationDtos - information about every deactivated User.
+     */
+    void sendReasonsOfDeactivation(List<UserDeactivationReasonDto> userDeactivationDtos);
+
+    /**
+     * Method for sending messages of activation to many users as one batch over
+     * a single connection. Sends on the calling thread, so it is meant for
+     * background jobs.
+     *
+     * @param userActivationDtos - information about every activated User.
+     */
+    void sendMessagesOfActivation(List<UserActivationDto> userActivationDtos);
+
     /**
      * Method for send violation to user.
      * 
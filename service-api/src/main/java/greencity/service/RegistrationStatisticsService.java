@@ -0,0 +1,37 @@
+package greencity.service;
+
+import greencity.dto.user.RegistrationStatisticsDto;
+import greencity.enums.RegistrationGrain;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Provides the interface to pre-aggregated statistics of user registrations.
+ */
+public interface RegistrationStatisticsService {
+    /**
+     * Adds a registered user to daily, weekly and monthly statistics. Joins
+     * the transaction saving the user.
+     *
+     * @param dateOfRegistration date of registration of the user.
+     */
+    void recordRegistration(LocalDateTime dateOfRegistration);
+
+    /**
+     * Find amounts of users registered in days, weeks or months that start in
+     * the range. Buckets without registrations are absent.
+     *
+     * @param grain {@link RegistrationGrain} of buckets.
+     * @param from  first day of the range.
+     * @param to    last day of the range.
+     * @return {@link List} of {@link RegistrationStatisticsDto} ordered by start.
+     */
+    List<RegistrationStatisticsDto> findStatistics(RegistrationGrain grain, LocalDate from, LocalDate to);
+
+    /**
+     * Rebuilds statistics of all grains from dates of registration of existing
+     * users.
+     */
+    void backfill();
+}
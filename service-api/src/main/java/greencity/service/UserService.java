@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.dto.ContinuationPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -14,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Provides the interface to manage {UserVO} entity.
@@ -30,6 +32,20 @@ public interface UserService {
      */
     List<UserVO> findAllByEmailNotification(EmailNotification emailNotification);
 
+    /**
+     * Find recipients of email digest of {@link EmailNotification} type by
+     * batches ordered by id, following position in continuation token.
+     *
+     * @param emailNotification type of {@link EmailNotification}.
+     * @param continuationToken token of the batch, empty for the first batch.
+     * @param batchSize         size of the first batch, limited by
+     *                          configuration.
+     * @return a dto of {@link ContinuationPageDto} with {@link List} of
+     *         {@link EmailSubscriberDto}.
+     */
+    ContinuationPageDto<List<EmailSubscriberDto>> findSubscribersByEmailNotification(
+        EmailNotification emailNotification, String continuationToken, int batchSize);
+
     /**
      * Delete from the database users that have status 'DEACTIVATED' and last
      * visited the site 2 years ago.
@@ -39,7 +55,7 @@ public interface UserService {
     int scheduleDeleteDeactivatedUsers();
 
     /**
-     * Find and return all cities for all users.
+     * Find and return distinct cities of all users in alphabetical order.
      *
      * @return {@link List} of {@link String} of cities
      **/
@@ -77,13 +93,25 @@ public interface UserService {
     UserVO findByEmail(String email);
 
     /**
-     * Method that allow you to find not 'DEACTIVATED' {@link UserVO} by email.
+     * Method that finds id of not 'DEACTIVATED' user by email. Uses cached user
+     * status, so the database is queried only on a cache miss.
      *
      * @param email - {@link UserVO}'s email
-     * @return {@link Optional} of found {@link UserVO}.
-     * @author Vasyl Zhovnir
+     * @return {@link Optional} of user's id, empty if user doesn't exist or is
+     *         deactivated.
      */
-    Optional<UserVO> findNotDeactivatedByEmail(String email);
+    Optional<Long> findNotDeactivatedIdByEmail(String email);
+
+    /**
+     * Method that checks whether status version carried by access token matches
+     * current role and status of the user. The check is not monotonic, see
+     * {@link greencity.security.jwt.AccessTokenClaims#statusVersion}.
+     *
+     * @param email         - {@link UserVO}'s email
+     * @param statusVersion - status version from access token
+     * @return {@code true} if token was issued for current role and status.
+     */
+    boolean isStatusVersionCurrent(String email, int statusVersion);
 
     /**
      * Find UserVO's id by UserVO email.
@@ -102,6 +130,33 @@ public interface UserService {
      */
     String findUuIdByEmail(String email);
 
+    /**
+     * Find users by ids in one query.
+     *
+     * @param ids ids of users, limited by configuration.
+     * @return {@link UserLookupResultDto} for every requested id, in request
+     *         order, with misses marked as not found.
+     */
+    List<UserLookupResultDto<Long>> findRefsByIds(List<Long> ids);
+
+    /**
+     * Find users by emails in one query.
+     *
+     * @param emails emails of users, limited by configuration.
+     * @return {@link UserLookupResultDto} for every requested email, in request
+     *         order, with misses marked as not found.
+     */
+    List<UserLookupResultDto<String>> findRefsByEmails(List<String> emails);
+
+    /**
+     * Find users by uuids in one query.
+     *
+     * @param uuids uuids of users, limited by configuration.
+     * @return {@link UserLookupResultDto} for every requested uuid, in request
+     *         order, with misses marked as not found.
+     */
+    List<UserLookupResultDto<String>> findRefsByUuids(List<String> uuids);
+
     /**
      * Update {@code ROLE} of user.
      *
@@ -131,6 +186,19 @@ public interface UserService {
      */
     PageableDto<UserForListDto> findByPage(Pageable pageable);
 
+    /**
+     * Find {@link UserForListDto}-s by keyset page, following position in
+     * continuation token instead of skipping rows with offset.
+     *
+     * @param continuationToken token of the page, empty for the first page.
+     * @param pageable          size and sort of the first page, sort by id if
+     *                          not set.
+     * @param withCount         whether to count total amount of users.
+     * @return a dto of {@link ContinuationPageDto} with {@link PageableDto}.
+     */
+    ContinuationPageDto<PageableDto<UserForListDto>> findByContinuationToken(String continuationToken,
+        Pageable pageable, boolean withCount);
+
     /**
      * Find {@link UserVO} for management by page .
      *
@@ -140,6 +208,19 @@ public interface UserService {
      */
     PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable);
 
+    /**
+     * Find {@link UserManagementDto}-s by keyset page.
+     *
+     * @param continuationToken token of the page, empty for the first page.
+     * @param pageable          size and sort of the first page, sort by id if
+     *                          not set.
+     * @param withCount         whether to count total amount of users.
+     * @return a dto of {@link ContinuationPageDto} with
+     *         {@link PageableAdvancedDto}.
+     */
+    ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> findUserForManagementByContinuationToken(
+        String continuationToken, Pageable pageable, boolean withCount);
+
     /**
      * Method that allows you to update {@link UserVO} by dto.
      *
@@ -223,10 +304,11 @@ public interface UserService {
     /**
      * Counts all users by user {@link UserStatus} ACTIVATED.
      *
-     * @return amount of users with {@link UserStatus} ACTIVATED.
+     * @return {@link UsersAmountDto} with amount of users with
+     *         {@link UserStatus} ACTIVATED and the moment it was counted at.
      * @author Shevtsiv Rostyslav
      */
-    long getActivatedUsersAmount();
+    UsersAmountDto getActivatedUsersAmount();
 
     /**
      * Get profile picture path {@link String}.
@@ -329,6 +411,21 @@ public interface UserService {
      */
     PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query);
 
+    /**
+     * Method for getting {@link UserManagementDto}-s by search query and keyset
+     * page.
+     *
+     * @param continuationToken token of the page, empty for the first page.
+     * @param paging            size and sort of the first page, sort by id if
+     *                          not set.
+     * @param query             query to search.
+     * @param withCount         whether to count total amount of found users.
+     * @return a dto of {@link ContinuationPageDto} with
+     *         {@link PageableAdvancedDto}.
+     */
+    ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> searchByContinuationToken(String continuationToken,
+        Pageable paging, String query, boolean withCount);
+
     /**
      * Method for getting all Users.
      *
@@ -336,6 +433,14 @@ public interface UserService {
      */
     List<UserVO> findAll();
 
+    /**
+     * Method for exporting all Users one by one without loading them at once.
+     *
+     * @param afterId  id of the last exported user, 0 to start from the first.
+     * @param consumer {@link Consumer} of every {@link UserVO}, in id order.
+     */
+    void exportAll(long afterId, Consumer<UserVO> consumer);
+
     /**
      * {@inheritDoc}
      */
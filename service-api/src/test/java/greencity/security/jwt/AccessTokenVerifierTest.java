@@ -0,0 +1,128 @@
+package greencity.security.jwt;
+
+import static greencity.constant.AppConstant.ROLE;
+import greencity.enums.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import javax.crypto.SecretKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class AccessTokenVerifierTest {
+    private static final String ACCESS_TOKEN_KEY = "123123123123123123123123123123123123";
+    private static final String EMAIL = "test@gmail.com";
+
+    private final AccessTokenVerifier accessTokenVerifier = new AccessTokenVerifier(ACCESS_TOKEN_KEY);
+
+    private String createToken(String key, List<String> roles, Date expiration) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+            .subject(EMAIL)
+            .claim(ROLE, roles)
+            .expiration(expiration)
+            .signWith(secretKey)
+            .compact();
+    }
+
+    private Date inOneHour() {
+        return new Date(System.currentTimeMillis() / 1000 * 1000 + 3_600_000);
+    }
+
+    @Test
+    void verifyTest() {
+        Date expiration = inOneHour();
+        String token = createToken(ACCESS_TOKEN_KEY, List.of(Role.ROLE_ADMIN.name()), expiration);
+
+        Authentication authentication = accessTokenVerifier.verify(token);
+
+        assertEquals(EMAIL, authentication.getPrincipal());
+        assertEquals("", authentication.getCredentials());
+        assertEquals(List.of(new SimpleGrantedAuthority(Role.ROLE_ADMIN.name())),
+            List.copyOf(authentication.getAuthorities()));
+        assertEquals(new AccessTokenClaims(expiration, null, null, null), authentication.getDetails());
+    }
+
+    @Test
+    void verifyClaimRichTokenTest() {
+        Date expiration = inOneHour();
+        String token = Jwts.builder()
+            .subject(EMAIL)
+            .claim(ROLE, List.of(Role.ROLE_USER.name()))
+            .claim(AccessTokenClaims.USER_ID, 1L)
+            .claim(AccessTokenClaims.LANGUAGE, "ua")
+            .claim(AccessTokenClaims.STATUS_VERSION, 2)
+            .expiration(expiration)
+            .signWith(Keys.hmacShaKeyFor(ACCESS_TOKEN_KEY.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        assertEquals(new AccessTokenClaims(expiration, 1L, "ua", 2), accessTokenVerifier.verify(token).getDetails());
+    }
+
+    @Test
+    void verifySharesAuthoritiesOfKnownRoleTest() {
+        String token = createToken(ACCESS_TOKEN_KEY, List.of(Role.ROLE_USER.name()), inOneHour());
+
+        assertSame(accessTokenVerifier.verify(token).getAuthorities().iterator().next(),
+            accessTokenVerifier.verify(token).getAuthorities().iterator().next());
+    }
+
+    @Test
+    void verifyExpiredTokenTest() {
+        String token = createToken(ACCESS_TOKEN_KEY, List.of(Role.ROLE_USER.name()),
+            new Date(System.currentTimeMillis() - 60_000));
+
+        assertThrows(ExpiredJwtException.class, () -> accessTokenVerifier.verify(token));
+    }
+
+    @Test
+    void verifyTokenSignedWithOtherKeyTest() {
+        String token = createToken("321321321321321321321321321321321321", List.of(Role.ROLE_USER.name()),
+            inOneHour());
+
+        assertThrows(SignatureException.class, () -> accessTokenVerifier.verify(token));
+    }
+
+    @Test
+    void verifyTokenWithoutRolesTest() {
+        String token = Jwts.builder()
+            .subject(EMAIL)
+            .expiration(inOneHour())
+            .signWith(Keys.hmacShaKeyFor(ACCESS_TOKEN_KEY.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        assertThrows(MalformedJwtException.class, () -> accessTokenVerifier.verify(token));
+    }
+
+    @Test
+    void verifyTokenSignedWithKeyRingTest() {
+        SigningKeyRing.SigningKey previousKey =
+            new SigningKeyRing.SigningKey("previous", Jwts.SIG.EdDSA.keyPair().build(), Jwts.SIG.EdDSA);
+        SigningKeyRing.SigningKey signingKey =
+            new SigningKeyRing.SigningKey("current", Jwts.SIG.EdDSA.keyPair().build(), Jwts.SIG.EdDSA);
+        SigningKeyRing keyRing = new SigningKeyRing(Jwts.SIG.EdDSA, List.of(previousKey, signingKey), "current");
+        String token = Jwts.builder()
+            .header().keyId(signingKey.kid()).and()
+            .subject(EMAIL)
+            .claim(ROLE, List.of(Role.ROLE_USER.name()))
+            .expiration(inOneHour())
+            .signWith(signingKey.keyPair().getPrivate(), signingKey.algorithm())
+            .compact();
+        AccessTokenVerifier keyRingVerifier = new AccessTokenVerifier(ACCESS_TOKEN_KEY, keyRing);
+
+        assertEquals(EMAIL, keyRingVerifier.verify(token).getName());
+        SigningKeyRing rotatedKeyRing = new SigningKeyRing(Jwts.SIG.EdDSA, List.of(signingKey), "current");
+        assertEquals(EMAIL, new AccessTokenVerifier(ACCESS_TOKEN_KEY, rotatedKeyRing).verify(token).getName());
+        assertThrows(UnsupportedJwtException.class, () -> accessTokenVerifier.verify(token));
+    }
+}
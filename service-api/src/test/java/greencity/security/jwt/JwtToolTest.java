@@ -1,8 +1,10 @@
 package greencity.security.jwt;
 
 import static greencity.constant.AppConstant.ROLE;
+import greencity.dto.language.LanguageVO;
 import greencity.dto.user.UserVO;
 import greencity.enums.Role;
+import greencity.enums.UserStatus;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +35,9 @@ class JwtToolTest {
     @Mock
     HttpServletRequest request;
 
+    @Mock
+    SigningKeyRing signingKeyRing;
+
     @InjectMocks
     private JwtTool jwtTool;
 
@@ -67,6 +72,43 @@ class JwtToolTest {
         assertEquals(expectedRole, Role.valueOf(authorities.get(0)));
     }
 
+    @Test
+    void createClaimRichAccessToken() {
+        ReflectionTestUtils.setField(jwtTool, "claimRichAccessToken", true);
+        UserVO userVO = UserVO.builder()
+            .id(1L)
+            .email(expectedEmail)
+            .role(expectedRole)
+            .userStatus(UserStatus.ACTIVATED)
+            .languageVO(LanguageVO.builder().id(1L).code("ua").build())
+            .build();
+
+        String accessToken = jwtTool.createAccessToken(userVO);
+
+        AccessTokenClaims claims = (AccessTokenClaims) new AccessTokenVerifier(jwtTool.getAccessTokenKey())
+            .verify(accessToken).getDetails();
+        assertEquals(1L, claims.getUserId());
+        assertEquals("ua", claims.getLanguageCode());
+        assertEquals(AccessTokenClaims.statusVersion(expectedRole, UserStatus.ACTIVATED), claims.getStatusVersion());
+    }
+
+    @Test
+    void createAccessTokenSignedWithKeyRing() {
+        SigningKeyRing keyRing = new SigningKeyRing(Jwts.SIG.ES256, List.of(
+            new SigningKeyRing.SigningKey("current", Jwts.SIG.ES256.keyPair().build(), Jwts.SIG.ES256)), "current");
+        ReflectionTestUtils.setField(jwtTool, "signingKeyRing", keyRing);
+
+        String accessToken = jwtTool.createAccessToken(expectedEmail, expectedRole);
+
+        assertEquals(keyRing.getCurrentKey().kid(), Jwts.parser()
+            .verifyWith(keyRing.getCurrentKey().keyPair().getPublic())
+            .build()
+            .parseSignedClaims(accessToken)
+            .getHeader()
+            .getKeyId());
+        assertEquals(expectedEmail, new AccessTokenVerifier(jwtTool.getAccessTokenKey(), keyRing)
+            .verify(accessToken).getName());
+    }
 
     @Test
     void createRefreshToken() {
@@ -0,0 +1,94 @@
+package greencity.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SigningKeyRingTest {
+    private static String jwkSet(SignatureAlgorithm algorithm, String... kids) {
+        return Arrays.stream(kids)
+            .map(kid -> Jwks.UNSAFE_JSON(Jwks.builder().keyPair(algorithm.keyPair().build()).id(kid).build()))
+            .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    @Test
+    void hmacAlgorithmDisablesRingTest() {
+        SigningKeyRing keyRing = new SigningKeyRing("HS256", "", "");
+
+        assertFalse(keyRing.isEnabled());
+        assertNull(keyRing.getCurrentKey());
+        assertTrue(keyRing.getPublicJwks().isEmpty());
+    }
+
+    @Test
+    void unsupportedAlgorithmTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing("RS256", "", ""));
+    }
+
+    @Test
+    void asymmetricAlgorithmRequiresKeysTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing("ES256", "", ""));
+    }
+
+    @Test
+    void singleConfiguredKeySignsTokensTest() {
+        SigningKeyRing keyRing = new SigningKeyRing("ES256", jwkSet(Jwts.SIG.ES256, "first"), "");
+
+        assertTrue(keyRing.isEnabled());
+        assertEquals("first", keyRing.getCurrentKey().kid());
+        assertEquals(Jwts.SIG.ES256, keyRing.getCurrentKey().algorithm());
+    }
+
+    @Test
+    void signingKidSelectsCurrentKeyAndAllKeysArePublishedTest() {
+        SigningKeyRing keyRing = new SigningKeyRing("ES256", jwkSet(Jwts.SIG.ES256, "previous", "next"), "next");
+
+        assertEquals("next", keyRing.getCurrentKey().kid());
+        assertTrue(keyRing.findPublicKey("previous").isPresent());
+        assertEquals(2, keyRing.getPublicJwks().size());
+    }
+
+    @Test
+    void severalKeysRequireSigningKidTest() {
+        String keys = jwkSet(Jwts.SIG.ES256, "previous", "next");
+
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing("ES256", keys, ""));
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing("ES256", keys, "unknown"));
+    }
+
+    @Test
+    void replicasLoadingSameKeysShareThemTest() {
+        String keys = jwkSet(Jwts.SIG.EdDSA, "shared");
+
+        SigningKeyRing first = new SigningKeyRing("EdDSA", keys, "shared");
+        SigningKeyRing second = new SigningKeyRing("EdDSA", keys, "shared");
+
+        assertArrayEquals(first.getCurrentKey().keyPair().getPublic().getEncoded(),
+            second.findPublicKey("shared").orElseThrow().getEncoded());
+    }
+
+    @Test
+    void getPublicJwksTest() {
+        SigningKeyRing keyRing = new SigningKeyRing("EdDSA", jwkSet(Jwts.SIG.EdDSA, "current"), "current");
+
+        List<PublicJwk<?>> jwks = keyRing.getPublicJwks();
+
+        assertEquals(1, jwks.size());
+        assertEquals("current", jwks.get(0).getId());
+        assertEquals("EdDSA", jwks.get(0).getAlgorithm());
+        assertEquals("sig", jwks.get(0).getPublicKeyUse());
+        assertFalse(jwks.get(0).containsKey("d"));
+    }
+}
@@ -0,0 +1,37 @@
+package greencity.security.jwt;
+
+import io.jsonwebtoken.MalformedJwtException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenPayloadDecoderTest {
+    private static String token(String payload) {
+        return "eyJhbGciOiJIUzI1NiJ9."
+            + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+            + ".signature";
+    }
+
+    @Test
+    void readSubjectSkipsNestedClaimsTest() {
+        String token = token("{\"role\":[\"ROLE_USER\"],\"nested\":{\"sub\":\"other\"},\"sub\":\"test@gmail.com\"}");
+
+        assertEquals("test@gmail.com", TokenPayloadDecoder.readSubject(token));
+    }
+
+    @Test
+    void readSubjectOfTokenWithoutSubjectTest() {
+        assertNull(TokenPayloadDecoder.readSubject(token("{\"exp\":1}")));
+    }
+
+    @Test
+    void readSubjectOfMalformedTokenTest() {
+        assertThrows(MalformedJwtException.class, () -> TokenPayloadDecoder.readSubject("no-dots"));
+        assertThrows(MalformedJwtException.class, () -> TokenPayloadDecoder.readSubject(token("[1,2]")));
+        assertThrows(MalformedJwtException.class, () -> TokenPayloadDecoder.readSubject("a.!!!.b"));
+    }
+}
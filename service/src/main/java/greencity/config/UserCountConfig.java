@@ -0,0 +1,56 @@
+package greencity.config;
+
+import greencity.repository.UserRepo;
+import greencity.service.CachedUserCountStrategy;
+import greencity.service.EstimatedUserCountStrategy;
+import greencity.service.ExactUserCountStrategy;
+import greencity.service.UserCountStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses how totals of paged user lists are counted, by
+ * {@code greencity.user-count.mode}:
+ * <ul>
+ * <li>{@code exact} runs {@code count(*)} for every page;</li>
+ * <li>{@code cached} keeps exact counts per filter signature for
+ * {@code greencity.user-count.cache.time-to-live-seconds}, so totals may lag
+ * behind by that time;</li>
+ * <li>{@code estimated} takes the amount of all users from
+ * {@code pg_class.reltuples} once it reaches
+ * {@code greencity.user-count.estimated.exact-threshold}, and counts exactly
+ * below it. The estimate applies only to unfiltered counts; filtered ones are
+ * counted as in {@code cached} mode.</li>
+ * </ul>
+ */
+@Configuration
+public class UserCountConfig {
+    /**
+     * Provides {@link UserCountStrategy} for totals of paged user lists.
+     *
+     * @param userRepo          {@link UserRepo}
+     * @param mode              {@code exact}, {@code cached} or
+     *                          {@code estimated}.
+     * @param maximumSize       maximum number of cached filter signatures.
+     * @param timeToLiveSeconds how long cached count is kept.
+     * @param exactThreshold    estimated amount of users below which they are
+     *                          counted exactly.
+     * @return {@link UserCountStrategy} of the mode.
+     */
+    @Bean
+    public UserCountStrategy userCountStrategy(UserRepo userRepo,
+        @Value("${greencity.user-count.mode:exact}") String mode,
+        @Value("${greencity.user-count.cache.maximum-size:1000}") long maximumSize,
+        @Value("${greencity.user-count.cache.time-to-live-seconds:60}") long timeToLiveSeconds,
+        @Value("${greencity.user-count.estimated.exact-threshold:100000}") long exactThreshold) {
+        UserCountStrategy exact = new ExactUserCountStrategy(userRepo);
+        return switch (mode) {
+            case "exact" -> exact;
+            case "cached" -> new CachedUserCountStrategy(exact, maximumSize, timeToLiveSeconds);
+            case "estimated" -> new EstimatedUserCountStrategy(userRepo, exact,
+                new CachedUserCountStrategy(exact, maximumSize, timeToLiveSeconds), exactThreshold);
+            default -> throw new IllegalArgumentException("Unsupported user count mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package greencity.filters;
+
+import greencity.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.StringJoiner;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link Specification} of users built by {@link UserCriteriaPlanner}: typed
+ * conditions of one shape with their normalized values. A plan with a value
+ * that can't match any user, like an unknown role, matches nothing and needs
+ * no query.
+ */
+public final class UserCriteriaPlan implements Specification<User> {
+    /**
+     * Plan of criteria no user can match.
+     */
+    public static final UserCriteriaPlan NOTHING = new UserCriteriaPlan(null, null);
+
+    private final transient UserCriterion[] criteria;
+    private final transient Object[] values;
+
+    UserCriteriaPlan(UserCriterion[] criteria, Object[] values) {
+        this.criteria = criteria;
+        this.values = values;
+    }
+
+    /**
+     * Whether no user can match the plan.
+     *
+     * @return {@code true} for {@link #NOTHING}.
+     */
+    public boolean matchesNothing() {
+        return criteria == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
+        if (matchesNothing()) {
+            return criteriaBuilder.disjunction();
+        }
+        Predicate[] predicates = new Predicate[criteria.length];
+        for (int i = 0; i < criteria.length; i++) {
+            predicates[i] = criteria[i].toPredicate(root, criteriaBuilder, values[i]);
+        }
+        return criteriaBuilder.and(predicates);
+    }
+
+    /**
+     * Returns conditions with their values, equal for plans matching the same
+     * users.
+     */
+    @Override
+    public String toString() {
+        if (matchesNothing()) {
+            return "NOTHING";
+        }
+        StringJoiner joiner = new StringJoiner("&");
+        for (int i = 0; i < criteria.length; i++) {
+            joiner.add(criteria[i] + "=" + values[i]);
+        }
+        return joiner.toString();
+    }
+}
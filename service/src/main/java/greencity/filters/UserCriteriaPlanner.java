@@ -0,0 +1,93 @@
+package greencity.filters;
+
+import greencity.dto.user.UserManagementViewDto;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.options.UserFilterQuery;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns {@link UserManagementViewDto} into {@link UserCriteriaPlan} once per
+ * request. Blank criteria are dropped, id and enums are parsed up front, and a
+ * complete email is matched by equality instead of {@code LIKE}.
+ */
+@Component
+public class UserCriteriaPlanner {
+    /**
+     * Builds plan of the criteria.
+     *
+     * @param viewDto {@link UserManagementViewDto}
+     * @return {@link UserCriteriaPlan}, {@link UserCriteriaPlan#NOTHING} if a
+     *         value can't match any user.
+     */
+    public UserCriteriaPlan plan(UserManagementViewDto viewDto) {
+        Map<UserCriterion, Object> values = new EnumMap<>(UserCriterion.class);
+        String id = normalize(viewDto.getId());
+        if (id != null) {
+            if (!isId(id)) {
+                return UserCriteriaPlan.NOTHING;
+            }
+            values.put(UserCriterion.ID, Long.valueOf(id));
+        }
+        putIfPresent(values, UserCriterion.NAME, normalize(viewDto.getName()));
+        String email = normalize(viewDto.getEmail());
+        if (email != null) {
+            values.put(UserFilterQuery.EMAIL.matcher(email).matches()
+                ? UserCriterion.EMAIL_IS
+                : UserCriterion.EMAIL_CONTAINS, email);
+        }
+        putIfPresent(values, UserCriterion.USER_CREDO, normalize(viewDto.getUserCredo()));
+        String role = normalize(viewDto.getRole());
+        if (role != null) {
+            Role parsedRole = parseEnum(Role.values(), role);
+            if (parsedRole == null) {
+                return UserCriteriaPlan.NOTHING;
+            }
+            values.put(UserCriterion.ROLE, parsedRole);
+        }
+        String userStatus = normalize(viewDto.getUserStatus());
+        if (userStatus != null) {
+            UserStatus parsedUserStatus = parseEnum(UserStatus.values(), userStatus);
+            if (parsedUserStatus == null) {
+                return UserCriteriaPlan.NOTHING;
+            }
+            values.put(UserCriterion.USER_STATUS, parsedUserStatus);
+        }
+        return new UserCriteriaPlan(values.keySet().toArray(new UserCriterion[0]), values.values().toArray());
+    }
+
+    private static void putIfPresent(Map<UserCriterion, Object> values, UserCriterion criterion, String value) {
+        if (value != null) {
+            values.put(criterion, value);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static boolean isId(String value) {
+        return value.length() <= 18 && value.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Finds constant by name ignoring case, or by ordinal for numeric values.
+     */
+    private static <E extends Enum<E>> E parseEnum(E[] constants, String value) {
+        if (isId(value)) {
+            long ordinal = Long.parseLong(value);
+            return ordinal < constants.length ? constants[(int) ordinal] : null;
+        }
+        for (E constant : constants) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+}
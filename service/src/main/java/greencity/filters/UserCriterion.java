@@ -0,0 +1,67 @@
+package greencity.filters;
+
+import greencity.constant.RepoConstants;
+import greencity.entity.User;
+import greencity.repository.options.UserFilterQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Typed condition of {@link UserCriteriaPlan}. Values are normalized by
+ * {@link UserCriteriaPlanner} before, so building a predicate only binds them.
+ */
+public enum UserCriterion {
+    ID {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return criteriaBuilder.equal(root.get(RepoConstants.ID), value);
+        }
+    },
+    NAME {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return contains(root, criteriaBuilder, RepoConstants.NAME, value);
+        }
+    },
+    EMAIL_IS {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return criteriaBuilder.equal(root.get(RepoConstants.EMAIL), value);
+        }
+    },
+    EMAIL_CONTAINS {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return contains(root, criteriaBuilder, RepoConstants.EMAIL, value);
+        }
+    },
+    USER_CREDO {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return contains(root, criteriaBuilder, RepoConstants.USER_CREDO, value);
+        }
+    },
+    ROLE {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return criteriaBuilder.equal(root.get(RepoConstants.ROLE), value);
+        }
+    },
+    USER_STATUS {
+        @Override
+        Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value) {
+            return criteriaBuilder.equal(root.get(RepoConstants.USER_STATUS), value);
+        }
+    };
+
+    /**
+     * Builds predicate of the condition for the normalized value.
+     */
+    abstract Predicate toPredicate(Root<User> root, CriteriaBuilder criteriaBuilder, Object value);
+
+    private static Predicate contains(Root<User> root, CriteriaBuilder criteriaBuilder, String attribute,
+        Object value) {
+        return criteriaBuilder.like(root.get(attribute), "%" + UserFilterQuery.prefixPattern((String) value), '\\');
+    }
+}
@@ -0,0 +1,293 @@
+package greencity.mapping;
+
+import greencity.dto.user.UserAdminRegistrationDto;
+import greencity.dto.user.UserForListDto;
+import greencity.dto.user.UserListItemDto;
+import greencity.dto.user.UserManagementDto;
+import greencity.dto.user.UserManagementVO;
+import greencity.dto.user.UserProfileDtoResponse;
+import greencity.dto.user.UserProfileInfoDto;
+import greencity.dto.user.UserRoleDto;
+import greencity.dto.user.UserStatusDto;
+import greencity.dto.user.UserUpdateDto;
+import greencity.dto.user.UserVO;
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.User;
+import greencity.entity.VerifyEmail;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written mappings between {@link User} and its DTOs used on hot paths of
+ * user and security services. Unlike {@link org.modelmapper.ModelMapper} they
+ * need no reflection or type map lookups per call. Mappings that already have
+ * a converter registered in ModelMapper delegate to that converter, so both
+ * paths produce the same result.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserMapper {
+    private final UserVOMapper userVOMapper;
+    private final UserAdminRegistrationDtoMapper userAdminRegistrationDtoMapper;
+
+    /**
+     * Maps {@link User} to {@link UserVO}.
+     *
+     * @param user {@link User}
+     * @return {@link UserVO}
+     */
+    public UserVO toUserVO(User user) {
+        return userVOMapper.convert(user);
+    }
+
+    /**
+     * Maps list of {@link User} to list of {@link UserVO}.
+     *
+     * @param users list of {@link User}
+     * @return list of {@link UserVO}
+     */
+    public List<UserVO> toUserVOs(List<User> users) {
+        List<UserVO> userVOs = new ArrayList<>(users.size());
+        for (User user : users) {
+            userVOs.add(toUserVO(user));
+        }
+        return userVOs;
+    }
+
+    /**
+     * Maps {@link UserVO} back to {@link User} before it is saved.
+     *
+     * @param userVO {@link UserVO}
+     * @return {@link User}
+     */
+    public User toUser(UserVO userVO) {
+        User user = User.builder()
+            .id(userVO.getId())
+            .name(userVO.getName())
+            .email(userVO.getEmail())
+            .role(userVO.getRole())
+            .userCredo(userVO.getUserCredo())
+            .userStatus(userVO.getUserStatus())
+            .rating(userVO.getRating())
+            .emailNotification(userVO.getEmailNotification())
+            .dateOfRegistration(userVO.getDateOfRegistration())
+            .refreshTokenKey(userVO.getRefreshTokenKey())
+            .profilePicturePath(userVO.getProfilePicturePath())
+            .city(userVO.getCity())
+            .showLocation(userVO.getShowLocation())
+            .showEcoPlace(userVO.getShowEcoPlace())
+            .showShoppingList(userVO.getShowShoppingList())
+            .lastActivityTime(userVO.getLastActivityTime())
+            .language(userVO.getLanguageVO() != null ? Language.builder()
+                .id(userVO.getLanguageVO().getId())
+                .code(userVO.getLanguageVO().getCode())
+                .build() : null)
+            .build();
+        if (userVO.getVerifyEmail() != null) {
+            user.setVerifyEmail(VerifyEmail.builder()
+                .id(userVO.getVerifyEmail().getId())
+                .user(user)
+                .token(userVO.getVerifyEmail().getToken())
+                .expiryDate(userVO.getVerifyEmail().getExpiryDate())
+                .build());
+        }
+        if (userVO.getOwnSecurity() != null) {
+            user.setOwnSecurity(OwnSecurity.builder()
+                .id(userVO.getOwnSecurity().getId())
+                .password(userVO.getOwnSecurity().getPassword())
+                .user(user)
+                .build());
+        }
+        return user;
+    }
+
+    /**
+     * Maps {@link User} to {@link UserForListDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserForListDto}
+     */
+    public UserForListDto toUserForListDto(User user) {
+        return UserForListDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .dateOfRegistration(user.getDateOfRegistration())
+            .email(user.getEmail())
+            .userStatus(user.getUserStatus())
+            .role(user.getRole())
+            .userCredo(user.getUserCredo())
+            .build();
+    }
+
+    /**
+     * Maps {@link UserListItemDto} to {@link UserForListDto}.
+     *
+     * @param user {@link UserListItemDto}
+     * @return {@link UserForListDto}
+     */
+    public UserForListDto toUserForListDto(UserListItemDto user) {
+        return UserForListDto.builder()
+            .id(user.id())
+            .name(user.name())
+            .dateOfRegistration(user.dateOfRegistration())
+            .email(user.email())
+            .userStatus(user.userStatus())
+            .role(user.role())
+            .userCredo(user.userCredo())
+            .build();
+    }
+
+    /**
+     * Maps {@link User} to {@link UserManagementDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserManagementDto}
+     */
+    public UserManagementDto toUserManagementDto(User user) {
+        return UserManagementDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo(user.getUserCredo())
+            .role(user.getRole())
+            .userStatus(user.getUserStatus())
+            .build();
+    }
+
+    /**
+     * Maps {@link UserListItemDto} to {@link UserManagementDto}.
+     *
+     * @param user {@link UserListItemDto}
+     * @return {@link UserManagementDto}
+     */
+    public UserManagementDto toUserManagementDto(UserListItemDto user) {
+        return UserManagementDto.builder()
+            .id(user.id())
+            .name(user.name())
+            .email(user.email())
+            .userCredo(user.userCredo())
+            .role(user.role())
+            .userStatus(user.userStatus())
+            .build();
+    }
+
+    /**
+     * Maps {@link User} to {@link UserManagementVO}.
+     *
+     * @param user {@link User}
+     * @return {@link UserManagementVO}
+     */
+    public UserManagementVO toUserManagementVO(User user) {
+        return UserManagementVO.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo(user.getUserCredo())
+            .role(user.getRole())
+            .userStatus(user.getUserStatus())
+            .build();
+    }
+
+    /**
+     * Maps {@link UserListItemDto} to {@link UserManagementVO}.
+     *
+     * @param user {@link UserListItemDto}
+     * @return {@link UserManagementVO}
+     */
+    public UserManagementVO toUserManagementVO(UserListItemDto user) {
+        return UserManagementVO.builder()
+            .id(user.id())
+            .name(user.name())
+            .email(user.email())
+            .userCredo(user.userCredo())
+            .role(user.role())
+            .userStatus(user.userStatus())
+            .build();
+    }
+
+    /**
+     * Maps {@link User} to {@link UserRoleDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserRoleDto}
+     */
+    public UserRoleDto toUserRoleDto(User user) {
+        return new UserRoleDto(user.getId(), user.getRole());
+    }
+
+    /**
+     * Maps {@link User} to {@link UserStatusDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserStatusDto}
+     */
+    public UserStatusDto toUserStatusDto(User user) {
+        return new UserStatusDto(user.getId(), user.getUserStatus());
+    }
+
+    /**
+     * Maps {@link User} to {@link UserUpdateDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserUpdateDto}
+     */
+    public UserUpdateDto toUserUpdateDto(User user) {
+        return UserUpdateDto.builder()
+            .name(user.getName())
+            .emailNotification(user.getEmailNotification())
+            .build();
+    }
+
+    /**
+     * Maps {@link User} to {@link UserProfileDtoResponse}.
+     *
+     * @param user {@link User}
+     * @return {@link UserProfileDtoResponse}
+     */
+    public UserProfileDtoResponse toUserProfileDtoResponse(User user) {
+        return UserProfileDtoResponse.builder()
+            .profilePicturePath(user.getProfilePicturePath())
+            .name(user.getName())
+            .city(user.getCity())
+            .userCredo(user.getUserCredo())
+            .showLocation(user.getShowLocation())
+            .showEcoPlace(user.getShowEcoPlace())
+            .showShoppingList(user.getShowShoppingList())
+            .rating(user.getRating() != null ? user.getRating().floatValue() : null)
+            .role(user.getRole())
+            .build();
+    }
+
+    /**
+     * Maps {@link UserProfileInfoDto} to {@link UserProfileDtoResponse}.
+     *
+     * @param user {@link UserProfileInfoDto}
+     * @return {@link UserProfileDtoResponse}
+     */
+    public UserProfileDtoResponse toUserProfileDtoResponse(UserProfileInfoDto user) {
+        return UserProfileDtoResponse.builder()
+            .profilePicturePath(user.profilePicturePath())
+            .name(user.name())
+            .city(user.city())
+            .userCredo(user.userCredo())
+            .showLocation(user.showLocation())
+            .showEcoPlace(user.showEcoPlace())
+            .showShoppingList(user.showShoppingList())
+            .rating(user.rating() != null ? user.rating().floatValue() : null)
+            .role(user.role())
+            .build();
+    }
+
+    /**
+     * Maps {@link User} to {@link UserAdminRegistrationDto}.
+     *
+     * @param user {@link User}
+     * @return {@link UserAdminRegistrationDto}
+     */
+    public UserAdminRegistrationDto toUserAdminRegistrationDto(User user) {
+        return userAdminRegistrationDtoMapper.convert(user);
+    }
+}
@@ -16,7 +16,9 @@ import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.repository.UserRepo;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.jwt.JwtTool;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
+import greencity.service.UserStatusCounters;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
@@ -45,6 +47,8 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
     private final PlatformTransactionManager transactionManager;
     private final HttpClient googleAccessTokenVerifier;
     private final ObjectMapper objectMapper;
+    private final RegistrationStatisticsService registrationStatisticsService;
+    private final UserStatusCounters userStatusCounters;
 
     @Value("${google.resource.userInfoUri}")
     private String userInfoUri;
@@ -120,7 +124,7 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
         return user;
     }
     private SuccessSignInDto getSuccessSignInDto(UserVO user) {
-        String accessToken = jwtTool.createAccessToken(user.getEmail(), user.getRole());
+        String accessToken = jwtTool.createAccessToken(user);
         String refreshToken = jwtTool.createRefreshToken(user);
         return new SuccessSignInDto(user.getId(), accessToken, refreshToken, user.getName(), false);
     }
@@ -139,6 +143,8 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
             createdUser.setUuid(UUID.randomUUID().toString());
             Long id = userRepo.save(createdUser).getId();
             createdUser.setId(id);
+            registrationStatisticsService.recordRegistration(createdUser.getDateOfRegistration());
+            userStatusCounters.move(null, createdUser.getUserStatus(), 1);
             return createdUser;
         });
     }
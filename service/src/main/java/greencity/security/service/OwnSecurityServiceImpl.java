@@ -2,8 +2,11 @@ package greencity.security.service;
 
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
+import greencity.dto.language.LanguageVO;
+import greencity.dto.user.SignInCredentialsDto;
 import greencity.dto.user.UserAdminRegistrationDto;
 import greencity.dto.user.UserManagementDto;
+import greencity.dto.user.UserRefreshTokenDto;
 import greencity.dto.user.UserVO;
 import greencity.entity.Language;
 import greencity.entity.OwnSecurity;
@@ -14,6 +17,7 @@ import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import greencity.exception.exceptions.*;
+import greencity.mapping.UserMapper;
 import greencity.repository.UserRepo;
 import greencity.security.dto.AccessRefreshTokensDto;
 import greencity.security.dto.SuccessSignInDto;
@@ -27,8 +31,10 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
-import io.jsonwebtoken.ExpiredJwtException;
+import greencity.service.UserStatusCounters;
+import io.jsonwebtoken.JwtException;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -61,9 +67,12 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     private final RestorePasswordEmailRepo restorePasswordEmailRepo;
     private final ModelMapper modelMapper;
     private final UserRepo userRepo;
+    private final UserMapper userMapper;
     private static final String VALID_PW_CHARS =
             "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()-_=+{}[]|:;<>?,./";
     private final EmailService emailService;
+    private final RegistrationStatisticsService registrationStatisticsService;
+    private final UserStatusCounters userStatusCounters;
 
     /**
      * Constructor.
@@ -77,7 +86,10 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
                                   RestorePasswordEmailRepo restorePasswordEmailRepo,
                                   ModelMapper modelMapper,
                                   UserRepo userRepo,
-                                  EmailService emailService) {
+                                  EmailService emailService,
+                                  UserMapper userMapper,
+                                  RegistrationStatisticsService registrationStatisticsService,
+                                  UserStatusCounters userStatusCounters) {
         this.ownSecurityRepo = ownSecurityRepo;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
@@ -87,6 +99,9 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         this.modelMapper = modelMapper;
         this.userRepo = userRepo;
         this.emailService = emailService;
+        this.userMapper = userMapper;
+        this.registrationStatisticsService = registrationStatisticsService;
+        this.userStatusCounters = userStatusCounters;
     }
 
     /**
@@ -102,6 +117,8 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(user);
             user.setId(savedUser.getId());
+            registrationStatisticsService.recordRegistration(user.getDateOfRegistration());
+            userStatusCounters.move(null, user.getUserStatus(), 1);
             emailService.sendVerificationEmail(savedUser.getId(), savedUser.getName(), savedUser.getEmail(),
                     savedUser.getVerifyEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -162,6 +179,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     /**
      * {@inheritDoc}
      */
+    @Transactional
     public SuccessSignUpDto signUpEmployee(EmployeeSignUpDto employeeSignUpDto, String language) {
         String password = generatePassword();
         employeeSignUpDto.setPassword(password);
@@ -178,6 +196,8 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(employee);
             employee.setId(savedUser.getId());
+            registrationStatisticsService.recordRegistration(employee.getDateOfRegistration());
+            userStatusCounters.move(null, employee.getUserStatus(), 1);
             emailService.sendRestoreEmail(savedUser.getId(), savedUser.getFirstName(), employee.getEmail(),
                     savedUser.getRestorePasswordEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -193,43 +213,71 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     }
 
     /**
-     * {@inheritDoc}
+     * {@inheritDoc} Credentials are read with one joined query, without loading
+     * and mapping the whole user.
      */
     @Override
     public SuccessSignInDto signIn(final OwnSignInDto dto) {
-        UserVO user = userService.findByEmail(dto.getEmail());
-        if (user == null) {
-            throw new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail());
-        }
-        if (!isPasswordCorrect(dto, user)) {
+        SignInCredentialsDto user = userRepo.findSignInCredentialsByEmail(dto.getEmail())
+            .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail()));
+        if (user.password() == null || !passwordEncoder.matches(dto.getPassword(), user.password())) {
             throw new WrongPasswordException(ErrorMessage.BAD_PASSWORD);
         }
-        if (user.getVerifyEmail() != null) {
+        if (user.pendingVerification()) {
             throw new EmailNotVerified("You should verify the email first, check your email box!");
         }
-        if (user.getUserStatus() == UserStatus.DEACTIVATED) {
+        if (user.userStatus() == UserStatus.DEACTIVATED) {
             throw new BadUserStatusException(ErrorMessage.USER_DEACTIVATED);
         }
-        if (user.getUserStatus() == UserStatus.BLOCKED) {
+        if (user.userStatus() == UserStatus.BLOCKED) {
             throw new BadUserStatusException(ErrorMessage.USER_BLOCKED);
         }
-        if (user.getUserStatus() == UserStatus.CREATED) {
+        if (user.userStatus() == UserStatus.CREATED) {
             throw new BadUserStatusException(ErrorMessage.USER_CREATED);
         }
-        String accessToken = jwtTool.createAccessToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtTool.createRefreshToken(user);
-        return new SuccessSignInDto(user.getId(), accessToken, refreshToken, user.getName(), true);
+        rehashPasswordIfNeeded(dto.getPassword(), user.id(), user.password());
+        UserVO userVO = toTokenUser(user.id(), user.email(), user.role(), user.userStatus(),
+            user.refreshTokenKey(), user.languageCode());
+        String accessToken = jwtTool.createAccessToken(userVO);
+        String refreshToken = jwtTool.createRefreshToken(userVO);
+        return new SuccessSignInDto(user.id(), accessToken, refreshToken, user.name(), true);
     }
 
-    private boolean isPasswordCorrect(OwnSignInDto signInDto, UserVO user) {
-        if (user.getOwnSecurity() == null) {
-            return false;
+    /**
+     * Rehashes password with current work factor after successful sign in, so
+     * the cost can be raised without a migration.
+     */
+    private void rehashPasswordIfNeeded(String rawPassword, Long userId, String hash) {
+        if (!passwordEncoder.upgradeEncoding(hash)) {
+            return;
+        }
+        try {
+            ownSecurityRepo.rehashPassword(userId, hash, passwordEncoder.encode(rawPassword));
+        } catch (PasswordHashingUnavailableException e) {
+            log.info("Password rehash of user {} postponed: hashing pool is saturated", userId);
         }
-        return passwordEncoder.matches(signInDto.getPassword(), user.getOwnSecurity().getPassword());
     }
 
     /**
-     * {@inheritDoc}
+     * Builds {@link UserVO} with the fields access and refresh tokens are made of.
+     */
+    private static UserVO toTokenUser(Long id, String email, Role role, UserStatus userStatus,
+        String refreshTokenKey, String languageCode) {
+        return UserVO.builder()
+            .id(id)
+            .email(email)
+            .role(role)
+            .userStatus(userStatus)
+            .refreshTokenKey(refreshTokenKey)
+            .languageVO(languageCode == null ? null : LanguageVO.builder().code(languageCode).build())
+            .build();
+    }
+
+    /**
+     * {@inheritDoc} Only fields needed for the new tokens are loaded, the token is
+     * verified before anything is written, and the key is rotated with a single
+     * compare-and-set update, so of concurrent refreshes with the same token only
+     * one gets new tokens.
      */
     @Transactional
     @Override
@@ -237,24 +285,28 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         String email;
         try {
             email = jwtTool.getEmailOutOfAccessToken(refreshToken);
-        } catch (ExpiredJwtException e) {
+        } catch (JwtException e) {
+            throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+        }
+        UserRefreshTokenDto user = userRepo.findRefreshTokenByEmail(email)
+            .orElseThrow(() -> new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID));
+        checkUserStatus(user.getUserStatus());
+        String oldRefreshTokenKey = user.getRefreshTokenKey();
+        if (oldRefreshTokenKey == null || !jwtTool.isTokenValid(refreshToken, oldRefreshTokenKey)) {
             throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
         }
-        UserVO user = userService.findByEmail(email);
-        checkUserStatus(user);
         String newRefreshTokenKey = jwtTool.generateTokenKey();
-        userService.updateUserRefreshToken(newRefreshTokenKey, user.getId());
-        if (jwtTool.isTokenValid(refreshToken, user.getRefreshTokenKey())) {
-            user.setRefreshTokenKey(newRefreshTokenKey);
-            return new AccessRefreshTokensDto(
-                    jwtTool.createAccessToken(user.getEmail(), user.getRole()),
-                    jwtTool.createRefreshToken(user));
+        if (userRepo.compareAndSetRefreshTokenKey(user.getId(), oldRefreshTokenKey, newRefreshTokenKey) == 0) {
+            throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
         }
-        throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+        UserVO userVO = toTokenUser(user.getId(), user.getEmail(), user.getRole(), user.getUserStatus(),
+            newRefreshTokenKey, user.getLanguageCode());
+        return new AccessRefreshTokensDto(
+                jwtTool.createAccessToken(userVO),
+                jwtTool.createRefreshToken(userVO));
     }
 
-    private void checkUserStatus(UserVO user) {
-        UserStatus status = user.getUserStatus();
+    private void checkUserStatus(UserStatus status) {
         if (status == UserStatus.BLOCKED) {
             throw new UserBlockedException(ErrorMessage.USER_DEACTIVATED);
         } else if (status == UserStatus.DEACTIVATED) {
@@ -303,8 +355,10 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         User user = managementCreateNewRegisteredUser(dto, jwtTool.generateTokenKey());
         OwnSecurity ownSecurity = managementCreateOwnSecurity(user);
         user.setOwnSecurity(ownSecurity);
-        return modelMapper.map(
-                savePasswordRestorationTokenForUser(user, jwtTool.generateTokenKey()), UserAdminRegistrationDto.class);
+        User savedUser = savePasswordRestorationTokenForUser(user, jwtTool.generateTokenKey());
+        registrationStatisticsService.recordRegistration(user.getDateOfRegistration());
+        userStatusCounters.move(null, user.getUserStatus(), 1);
+        return userMapper.toUserAdminRegistrationDto(savedUser);
     }
 
     private User managementCreateNewRegisteredUser(UserManagementDto dto, String refreshTokenKey) {
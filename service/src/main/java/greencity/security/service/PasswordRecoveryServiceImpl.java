@@ -16,6 +16,7 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.UserStatusCounters;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +44,7 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
     private final ApplicationEventPublisher applicationEventPublisher;
     private final JwtTool jwtTool;
     private final EmailService emailService;
+    private final UserStatusCounters userStatusCounters;
     @Value("${verifyEmailTimeHour}")
     private Integer tokenExpirationTimeInHours;
 
@@ -57,6 +59,8 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
      *                                  publishing events, such as email sending or
      *                                  password update
      * @param jwtTool                   {@link JwtTool} - Used for recovery token
+     * @param userStatusCounters        {@link UserStatusCounters} - Used for
+     *                                  counting activated users
      */
     public PasswordRecoveryServiceImpl(
         OwnSecurityRepo ownSecurityRepo, PasswordEncoder passwordEncoder,
@@ -64,7 +68,8 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         UserRepo userRepo,
         ApplicationEventPublisher applicationEventPublisher,
         EmailService emailService,
-        JwtTool jwtTool) {
+        JwtTool jwtTool,
+        UserStatusCounters userStatusCounters) {
         this.ownSecurityRepo = ownSecurityRepo;
         this.passwordEncoder = passwordEncoder;
         this.restorePasswordEmailRepo = restorePasswordEmailRepo;
@@ -72,6 +77,7 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         this.applicationEventPublisher = applicationEventPublisher;
         this.emailService = emailService;
         this.jwtTool = jwtTool;
+        this.userStatusCounters = userStatusCounters;
     }
 
     /**
@@ -121,6 +127,7 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         }
         if (userStatus == UserStatus.CREATED) {
             restorePasswordEmail.getUser().setUserStatus(UserStatus.ACTIVATED);
+            userStatusCounters.move(UserStatus.CREATED, UserStatus.ACTIVATED, 1);
         }
     }
 
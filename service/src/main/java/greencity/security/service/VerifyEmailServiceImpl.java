@@ -10,6 +10,7 @@ import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
 import greencity.exception.exceptions.WrongIdException;
 import greencity.repository.UserRepo;
 import greencity.security.repository.VerifyEmailRepo;
+import greencity.service.UserStatusCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -27,6 +28,7 @@ public class VerifyEmailServiceImpl implements VerifyEmailService {
     private final VerifyEmailRepo verifyEmailRepo;
     private final UserRepo userRepo;
     private final ModelMapper modelMapper;
+    private final UserStatusCounters userStatusCounters;
 
     /**
      * {@inheritDoc}
@@ -41,8 +43,10 @@ public class VerifyEmailServiceImpl implements VerifyEmailService {
             .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId));
         if (isNotExpired(verifyEmail.getExpiryDate())) {
             int rows = verifyEmailRepo.deleteVerifyEmailByTokenAndUserId(userId, token);
+            UserStatus oldStatus = user.getUserStatus();
             user.setUserStatus(UserStatus.ACTIVATED);
             userRepo.save(user);
+            userStatusCounters.move(oldStatus, UserStatus.ACTIVATED, 1);
             log.info("User has successfully verify the email by token {}. Records deleted {}.", token, rows);
             UbsProfileCreationDto ubsProfile = modelMapper.map(user, UbsProfileCreationDto.class);
             return true;
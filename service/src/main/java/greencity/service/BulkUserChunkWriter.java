@@ -0,0 +1,91 @@
+package greencity.service;
+
+import greencity.dto.user.BulkUserOperationDto;
+import greencity.dto.user.UserIdentityDto;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.UserDeactivationRepo;
+import greencity.repository.UserRepo;
+import greencity.security.events.UserStatusChangedEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies bulk admin operation to one chunk of selected users in its own
+ * transaction: one query reads the chunk, one statement changes the users that
+ * need the change and one statement records reasons of deactivation.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkUserChunkWriter {
+    private final UserRepo userRepo;
+    private final UserDeactivationRepo userDeactivationRepo;
+    private final UserStatusCounters userStatusCounters;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Changes users of the chunk. Users that don't exist or already have the
+     * status or role are skipped.
+     *
+     * @param operation {@link BulkUserOperationDto}.
+     * @param ids       ids of users of the chunk.
+     * @return {@link UserIdentityDto}s of changed users, as they were before the
+     *         change.
+     */
+    @Transactional
+    public List<UserIdentityDto> write(BulkUserOperationDto operation, List<Long> ids) {
+        List<UserIdentityDto> users = userRepo.findIdentitiesByIdIn(ids);
+        return switch (operation.getAction()) {
+            case ACTIVATE -> changeStatus(users, UserStatus.ACTIVATED);
+            case DEACTIVATE -> deactivate(users, String.join("/", operation.getReasons()));
+            case SET_STATUS -> changeStatus(users, operation.getUserStatus());
+            case SET_ROLE -> changeRole(users, operation.getRole());
+        };
+    }
+
+    private List<UserIdentityDto> deactivate(List<UserIdentityDto> users, String reason) {
+        List<UserIdentityDto> changed = changeStatus(users, UserStatus.DEACTIVATED);
+        if (!changed.isEmpty()) {
+            userDeactivationRepo.saveReasonsOfUsers(ids(changed), reason, LocalDateTime.now());
+        }
+        return changed;
+    }
+
+    private List<UserIdentityDto> changeStatus(List<UserIdentityDto> users, UserStatus userStatus) {
+        List<UserIdentityDto> changed = users.stream()
+            .filter(user -> user.userStatus() != userStatus)
+            .collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            userRepo.updateUsersStatus(ids(changed), userStatus);
+            changed.stream()
+                .collect(Collectors.groupingBy(UserIdentityDto::userStatus, Collectors.counting()))
+                .forEach((oldStatus, amount) -> userStatusCounters.move(oldStatus, userStatus, amount));
+            applicationEventPublisher.publishEvent(new UserStatusChangedEvent(this, ids(changed), userStatus));
+        }
+        return changed;
+    }
+
+    private List<UserIdentityDto> changeRole(List<UserIdentityDto> users, Role role) {
+        List<UserIdentityDto> changed = users.stream()
+            .filter(user -> user.role() != role)
+            .collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            userRepo.updateUsersRole(ids(changed), role);
+            Map<UserStatus, List<Long>> idsByStatus = changed.stream().collect(Collectors.groupingBy(
+                UserIdentityDto::userStatus, Collectors.mapping(UserIdentityDto::id, Collectors.toList())));
+            idsByStatus.forEach((userStatus, userIds) -> applicationEventPublisher
+                .publishEvent(new UserStatusChangedEvent(this, userIds, userStatus)));
+        }
+        return changed;
+    }
+
+    private static List<Long> ids(List<UserIdentityDto> users) {
+        return users.stream().map(UserIdentityDto::id).collect(Collectors.toList());
+    }
+}
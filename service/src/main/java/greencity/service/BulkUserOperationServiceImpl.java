@@ -0,0 +1,242 @@
+package greencity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.constant.AppConstant;
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.BulkOperationProgressDto;
+import greencity.dto.user.BulkUserOperationDto;
+import greencity.dto.user.UserActivationDto;
+import greencity.dto.user.UserDeactivationReasonDto;
+import greencity.dto.user.UserIdentityDto;
+import greencity.enums.BulkOperationState;
+import greencity.enums.BulkUserAction;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.exception.exceptions.WrongEmailException;
+import greencity.repository.UserRepo;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs bulk admin operations one at a time on a background thread. Selected
+ * users are changed by chunks through {@link BulkUserChunkWriter}, and emails
+ * of every committed chunk are sent as one batch before the next chunk starts.
+ * Emails that fail are counted in progress and don't stop the operation.
+ * Progress of operations is kept in memory for a limited time after start.
+ */
+@Slf4j
+@Service
+public class BulkUserOperationServiceImpl implements BulkUserOperationService {
+    private final UserRepo userRepo;
+    private final BulkUserChunkWriter chunkWriter;
+    private final EmailService emailService;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxUsers;
+    private final Cache<String, Progress> operations;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo               {@link UserRepo}
+     * @param chunkWriter            {@link BulkUserChunkWriter}
+     * @param emailService           {@link EmailService}
+     * @param chunkSize              amount of users changed by one statement.
+     * @param maxUsers               largest amount of users in one operation.
+     * @param queueCapacity          amount of operations that may wait for the
+     *                               running one.
+     * @param progressTimeToLiveSecs how long progress is kept after start.
+     */
+    @Autowired
+    public BulkUserOperationServiceImpl(UserRepo userRepo, BulkUserChunkWriter chunkWriter,
+        EmailService emailService,
+        @Value("${greencity.bulk-user-operations.chunk-size:500}") int chunkSize,
+        @Value("${greencity.bulk-user-operations.max-users:100000}") int maxUsers,
+        @Value("${greencity.bulk-user-operations.queue-capacity:10}") int queueCapacity,
+        @Value("${greencity.bulk-user-operations.progress-time-to-live-seconds:86400}") long progressTimeToLiveSecs) {
+        this(userRepo, chunkWriter, emailService,
+            new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bulk-user-operation-"), new ThreadPoolExecutor.AbortPolicy()),
+            chunkSize, maxUsers, progressTimeToLiveSecs);
+    }
+
+    BulkUserOperationServiceImpl(UserRepo userRepo, BulkUserChunkWriter chunkWriter, EmailService emailService,
+        Executor executor, int chunkSize, int maxUsers, long progressTimeToLiveSecs) {
+        this.userRepo = userRepo;
+        this.chunkWriter = chunkWriter;
+        this.emailService = emailService;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxUsers = maxUsers;
+        this.operations = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(progressTimeToLiveSecs))
+            .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkOperationProgressDto start(BulkUserOperationDto operation, String adminEmail) {
+        validate(operation);
+        Long adminId = userRepo.findIdByEmail(adminEmail)
+            .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
+        List<Long> ids = operation.getIds().stream()
+            .filter(Objects::nonNull)
+            .filter(id -> !id.equals(adminId))
+            .distinct()
+            .collect(Collectors.toList());
+        Progress progress = new Progress(UUID.randomUUID().toString(), operation.getAction(), ids.size());
+        operations.put(progress.id, progress);
+        try {
+            executor.execute(() -> run(operation, ids, progress));
+        } catch (RejectedExecutionException e) {
+            operations.invalidate(progress.id);
+            throw new BadRequestException(ErrorMessage.BULK_USER_OPERATIONS_BUSY);
+        }
+        return progress.toDto();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkOperationProgressDto getProgress(String operationId) {
+        Progress progress = operations.getIfPresent(operationId);
+        if (progress == null) {
+            throw new NotFoundException(ErrorMessage.BULK_USER_OPERATION_NOT_FOUND + operationId);
+        }
+        return progress.toDto();
+    }
+
+    /**
+     * Stops the background thread when the context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void validate(BulkUserOperationDto operation) {
+        if (operation.getIds().size() > maxUsers) {
+            throw new BadRequestException(ErrorMessage.TOO_MANY_USERS_FOR_BULK_OPERATION + maxUsers);
+        }
+        boolean complete = switch (operation.getAction()) {
+            case ACTIVATE -> true;
+            case DEACTIVATE -> operation.getReasons() != null && !operation.getReasons().isEmpty();
+            case SET_STATUS -> operation.getUserStatus() != null;
+            case SET_ROLE -> operation.getRole() != null;
+        };
+        if (!complete) {
+            throw new BadRequestException(ErrorMessage.BAD_BULK_USER_OPERATION);
+        }
+    }
+
+    private void run(BulkUserOperationDto operation, List<Long> ids, Progress progress) {
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                List<UserIdentityDto> changed = chunkWriter.write(operation, chunk);
+                progress.chunkDone(chunk.size(), changed.size());
+                try {
+                    notifyUsers(operation, changed);
+                } catch (RuntimeException e) {
+                    log.error("Bulk operation {} failed to notify {} users", progress.id, changed.size(), e);
+                    progress.notificationFailed(changed.size());
+                }
+            }
+            progress.finish(BulkOperationState.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Bulk operation {} failed after {} users", progress.id, progress.processed, e);
+            progress.finish(BulkOperationState.FAILED, e.getMessage());
+        }
+    }
+
+    private void notifyUsers(BulkUserOperationDto operation, List<UserIdentityDto> changed) {
+        if (operation.getAction() == BulkUserAction.DEACTIVATE) {
+            String reasons = String.join("/", operation.getReasons());
+            emailService.sendReasonsOfDeactivation(changed.stream()
+                .map(user -> UserDeactivationReasonDto.builder()
+                    .email(user.email())
+                    .name(user.name())
+                    .deactivationReasons(UserServiceImpl.filterReasons(lang(user), reasons))
+                    .lang(lang(user))
+                    .build())
+                .collect(Collectors.toList()));
+        } else if (operation.getAction() == BulkUserAction.ACTIVATE) {
+            emailService.sendMessagesOfActivation(changed.stream()
+                .map(user -> UserActivationDto.builder()
+                    .email(user.email())
+                    .name(user.name())
+                    .lang(lang(user))
+                    .build())
+                .collect(Collectors.toList()));
+        }
+    }
+
+    private static String lang(UserIdentityDto user) {
+        return user.languageCode() == null ? AppConstant.DEFAULT_LANGUAGE_CODE : user.languageCode();
+    }
+
+    /**
+     * Progress of one operation, written by the background thread and read by
+     * requests.
+     */
+    private static final class Progress {
+        private final String id;
+        private final BulkUserAction action;
+        private final int total;
+        private final Instant startedAt = Instant.now();
+        private volatile int processed;
+        private volatile int affected;
+        private volatile int notificationFailures;
+        private volatile BulkOperationState state = BulkOperationState.RUNNING;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private Progress(String id, BulkUserAction action, int total) {
+            this.id = id;
+            this.action = action;
+            this.total = total;
+        }
+
+        private void chunkDone(int chunkProcessed, int chunkAffected) {
+            affected += chunkAffected;
+            processed += chunkProcessed;
+        }
+
+        private void notificationFailed(int users) {
+            notificationFailures += users;
+        }
+
+        private void finish(BulkOperationState finalState, String finalError) {
+            error = finalError;
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        private BulkOperationProgressDto toDto() {
+            return new BulkOperationProgressDto(id, action, state, total, processed, affected, notificationFailures,
+                error, startedAt, finishedAt);
+        }
+    }
+}
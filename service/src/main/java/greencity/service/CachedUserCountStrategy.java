@@ -0,0 +1,40 @@
+package greencity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.entity.User;
+import java.time.Duration;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link UserCountStrategy} that keeps exact counts per filter signature for a
+ * time to live, so paging through the same filter counts once. Totals may lag
+ * behind by at most the time to live.
+ */
+public class CachedUserCountStrategy implements UserCountStrategy {
+    private final UserCountStrategy delegate;
+    private final Cache<String, Long> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate          {@link UserCountStrategy} that counts on a miss.
+     * @param maximumSize       maximum number of cached signatures.
+     * @param timeToLiveSeconds how long count is kept after counting.
+     */
+    public CachedUserCountStrategy(UserCountStrategy delegate, long maximumSize, long timeToLiveSeconds) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(timeToLiveSeconds))
+            .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(String signature, Specification<User> spec) {
+        return cache.get(signature, key -> delegate.count(key, spec));
+    }
+}
@@ -241,6 +241,11 @@ public class EmailServiceImpl implements EmailService {
     }
 
     private void sendEmail(String receiverEmail, String subject, String content) {
+        MimeMessage mimeMessage = createMessage(receiverEmail, subject, content);
+        executor.execute(() -> javaMailSender.send(mimeMessage));
+    }
+
+    private MimeMessage createMessage(String receiverEmail, String subject, String content) {
         log.info(LogMessage.IN_SEND_EMAIL, receiverEmail, subject);
         MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage);
@@ -252,7 +257,7 @@ public class EmailServiceImpl implements EmailService {
         } catch (MessagingException e) {
             log.error(e.getMessage());
         }
-        executor.execute(() -> javaMailSender.send(mimeMessage));
+        return mimeMessage;
     }
 
     @Override
@@ -269,23 +274,58 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendReasonOfDeactivation(UserDeactivationReasonDto userDeactivationDto) {
+        String template = createReasonsOfDeactivationTemplate(userDeactivationDto);
+        sendEmail(userDeactivationDto.getEmail(), EmailConstants.DEACTIVATION, template);
+    }
+
+    @Override
+    public void sendMessageOfActivation(UserActivationDto userActivationDto) {
+        String template = createActivationTemplate(userActivationDto);
+        sendEmail(userActivationDto.getEmail(), EmailConstants.ACTIVATION, template);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sendReasonsOfDeactivation(List<UserDeactivationReasonDto> userDeactivationDtos) {
+        sendBatch(userDeactivationDtos.stream()
+            .map(dto -> createMessage(dto.getEmail(), EmailConstants.DEACTIVATION,
+                createReasonsOfDeactivationTemplate(dto)))
+            .toArray(MimeMessage[]::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sendMessagesOfActivation(List<UserActivationDto> userActivationDtos) {
+        sendBatch(userActivationDtos.stream()
+            .map(dto -> createMessage(dto.getEmail(), EmailConstants.ACTIVATION, createActivationTemplate(dto)))
+            .toArray(MimeMessage[]::new));
+    }
+
+    private String createReasonsOfDeactivationTemplate(UserDeactivationReasonDto userDeactivationDto) {
         Map<String, Object> model = new HashMap<>();
         model.put(EmailConstants.CLIENT_LINK, clientLink);
         model.put(EmailConstants.USER_NAME, userDeactivationDto.getName());
         model.put(EmailConstants.REASONS, userDeactivationDto.getDeactivationReasons());
         changeLocale(userDeactivationDto.getLang());
-        String template = createEmailTemplate(model, EmailConstants.REASONS_OF_DEACTIVATION_PAGE);
-        sendEmail(userDeactivationDto.getEmail(), EmailConstants.DEACTIVATION, template);
+        return createEmailTemplate(model, EmailConstants.REASONS_OF_DEACTIVATION_PAGE);
     }
 
-    @Override
-    public void sendMessageOfActivation(UserActivationDto userActivationDto) {
+    private String createActivationTemplate(UserActivationDto userActivationDto) {
         Map<String, Object> model = new HashMap<>();
         model.put(EmailConstants.CLIENT_LINK, clientLink);
         model.put(EmailConstants.USER_NAME, userActivationDto.getName());
         changeLocale(userActivationDto.getLang());
-        String template = createEmailTemplate(model, EmailConstants.ACTIVATION_PAGE);
-        sendEmail(userActivationDto.getEmail(), EmailConstants.ACTIVATION, template);
+        return createEmailTemplate(model, EmailConstants.ACTIVATION_PAGE);
+    }
+
+    private void sendBatch(MimeMessage[] mimeMessages) {
+        if (mimeMessages.length > 0) {
+            javaMailSender.send(mimeMessages);
+        }
     }
 
     @Override
@@ -0,0 +1,49 @@
+package greencity.service;
+
+import greencity.entity.User;
+import greencity.repository.UserRepo;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link UserCountStrategy} that takes amount of all users from planner
+ * statistics instead of scanning the table. Below the threshold, or if the
+ * table was never analyzed, all users are counted exactly. Planner estimates of
+ * {@code LIKE '%...%'} filters are too rough to show, so filtered counts go to
+ * the filtered strategy.
+ */
+public class EstimatedUserCountStrategy implements UserCountStrategy {
+    private final UserRepo userRepo;
+    private final UserCountStrategy exact;
+    private final UserCountStrategy filtered;
+    private final long exactThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo       {@link UserRepo}
+     * @param exact          {@link UserCountStrategy} for all users below the
+     *                       threshold.
+     * @param filtered       {@link UserCountStrategy} for filtered users.
+     * @param exactThreshold estimated amount below which users are counted
+     *                       exactly.
+     */
+    public EstimatedUserCountStrategy(UserRepo userRepo, UserCountStrategy exact, UserCountStrategy filtered,
+        long exactThreshold) {
+        this.userRepo = userRepo;
+        this.exact = exact;
+        this.filtered = filtered;
+        this.exactThreshold = exactThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(String signature, Specification<User> spec) {
+        if (spec != null) {
+            return filtered.count(signature, spec);
+        }
+        long estimate = userRepo.estimateUsersAmount().orElse(-1L);
+        return estimate >= exactThreshold ? estimate : exact.count(signature, null);
+    }
+}
@@ -0,0 +1,22 @@
+package greencity.service;
+
+import greencity.entity.User;
+import greencity.repository.UserRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link UserCountStrategy} that runs {@code count(*)} on every call.
+ */
+@RequiredArgsConstructor
+public class ExactUserCountStrategy implements UserCountStrategy {
+    private final UserRepo userRepo;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(String signature, Specification<User> spec) {
+        return userRepo.countListItems(spec);
+    }
+}
@@ -0,0 +1,116 @@
+package greencity.service;
+
+import greencity.repository.UserRepo;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer of users' last activity times. Reports of activity only
+ * replace the latest time of the user in memory; the times are written
+ * periodically by batched statements, so frequent reports of one user cost a
+ * single row write per flush.
+ *
+ * <p>
+ * Times not yet flushed are lost if the application stops abruptly; on regular
+ * shutdown the buffer is drained.
+ */
+@Slf4j
+@Component
+public class LastActivityBuffer {
+    /**
+     * Largest batch whose two parameters per user fit into the 32767 bind
+     * parameters PostgreSQL allows in one statement.
+     */
+    static final int MAX_BATCH_SIZE = Short.MAX_VALUE / 2;
+
+    private final UserRepo userRepo;
+    private final int batchSize;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo  {@link UserRepo}
+     * @param batchSize amount of users written by one statement, larger values
+     *                  are lowered to {@link #MAX_BATCH_SIZE}.
+     */
+    public LastActivityBuffer(UserRepo userRepo,
+        @Value("${greencity.last-activity.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Last activity batch size must be positive: " + batchSize);
+        }
+        if (batchSize > MAX_BATCH_SIZE) {
+            log.warn("Last activity batch size {} exceeds bind parameter limit, using {}", batchSize, MAX_BATCH_SIZE);
+        }
+        this.userRepo = userRepo;
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Keeps the time as last activity of the user unless a later one is
+     * already kept.
+     *
+     * @param userId           user's id.
+     * @param lastActivityTime time of activity.
+     */
+    public void record(Long userId, LocalDateTime lastActivityTime) {
+        pending.merge(userId, lastActivityTime, (kept, reported) -> reported.isAfter(kept) ? reported : kept);
+    }
+
+    /**
+     * Returns last activity time of the user that isn't flushed yet.
+     *
+     * @param userId user's id.
+     * @return {@link Optional} of time, empty if nothing is pending.
+     */
+    public Optional<LocalDateTime> pending(Long userId) {
+        return Optional.ofNullable(pending.get(userId));
+    }
+
+    /**
+     * Writes pending times by batches. Times of a batch that fails to be
+     * written are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${greencity.last-activity.flush-rate:5000}")
+    public synchronized void flush() {
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        Iterator<Long> userIds = pending.keySet().iterator();
+        while (userIds.hasNext()) {
+            Long userId = userIds.next();
+            LocalDateTime lastActivityTime = pending.remove(userId);
+            if (lastActivityTime != null) {
+                batch.put(userId, lastActivityTime);
+            }
+            if (batch.size() == batchSize || (!userIds.hasNext() && !batch.isEmpty())) {
+                write(batch);
+                batch = new HashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Flushes pending times when the context is closed.
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void write(Map<Long, LocalDateTime> batch) {
+        try {
+            userRepo.updateLastActivityTimes(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write last activity of {} users, retrying on next flush", batch.size(), e);
+            batch.forEach(this::record);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package greencity.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.RegistrationStatisticsDto;
+import greencity.entity.RegistrationStatistics;
+import greencity.enums.RegistrationGrain;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.repository.RegistrationStatisticsRepo;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Statistics are stored in buckets of {@link RegistrationGrain}s, incremented on
+ * sign-up and rebuilt from the users table by the backfill, which runs after
+ * startup if there are no buckets yet and then on schedule, to drop deleted
+ * users and registrations made by other paths.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationStatisticsServiceImpl implements RegistrationStatisticsService {
+    private final RegistrationStatisticsRepo registrationStatisticsRepo;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void recordRegistration(LocalDateTime dateOfRegistration) {
+        LocalDate date = dateOfRegistration.toLocalDate();
+        for (RegistrationGrain grain : RegistrationGrain.values()) {
+            registrationStatisticsRepo.increment(grain.name(), bucketStart(grain, date));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RegistrationStatisticsDto> findStatistics(RegistrationGrain grain, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException(ErrorMessage.BAD_REGISTRATION_STATISTICS_RANGE);
+        }
+        return registrationStatisticsRepo
+            .findAllByGrainAndBucketStartBetweenOrderByBucketStart(grain, bucketStart(grain, from), to).stream()
+            .map(bucket -> new RegistrationStatisticsDto(bucket.getBucketStart(), bucket.getUsersAmount()))
+            .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${greencity.registration-statistics.backfill-cron:0 30 3 * * *}")
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        for (RegistrationGrain grain : RegistrationGrain.values()) {
+            registrationStatisticsRepo.deleteAllByGrainName(grain.name());
+            registrationStatisticsRepo.backfill(grain.name(), grain.name().toLowerCase(Locale.ROOT));
+        }
+        log.info("Registration statistics were rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Builds statistics once the application is ready if there are none yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (registrationStatisticsRepo.count() == 0) {
+            backfill();
+        }
+    }
+
+    private static LocalDate bucketStart(RegistrationGrain grain, LocalDate date) {
+        return switch (grain) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
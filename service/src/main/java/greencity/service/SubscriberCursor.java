@@ -0,0 +1,84 @@
+package greencity.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.enums.EmailNotification;
+import greencity.exception.exceptions.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * Position in the feed of email digest subscribers: id of the last subscriber
+ * of previous batch and size of batches. Clients get it as an opaque Base64 URL
+ * token and send it back unchanged.
+ *
+ * @param emailNotification type of {@link EmailNotification} the token was
+ *                          issued for.
+ * @param lastId            id of the last subscriber of previous batch,
+ *                          {@code 0} for the first batch.
+ * @param batchSize         size of the batch.
+ */
+record SubscriberCursor(EmailNotification emailNotification, long lastId, int batchSize) {
+    private static final byte VERSION = 1;
+
+    /**
+     * Returns cursor of the first batch if token is empty, or decodes the token
+     * otherwise.
+     *
+     * @param token             continuation token, may be empty.
+     * @param emailNotification type the token must be issued for.
+     * @param batchSize         size of the first batch.
+     * @return {@link SubscriberCursor}
+     * @throws BadRequestException if token is malformed or issued for another
+     *                             type.
+     */
+    static SubscriberCursor of(String token, EmailNotification emailNotification, int batchSize) {
+        if (token == null || token.isEmpty()) {
+            return new SubscriberCursor(emailNotification, 0L, batchSize);
+        }
+        SubscriberCursor cursor = decode(token);
+        if (cursor.emailNotification() != emailNotification) {
+            throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+        }
+        return cursor;
+    }
+
+    /**
+     * Encodes token of the batch that follows the given last subscriber.
+     *
+     * @param lastId id of the last subscriber of this batch.
+     * @return continuation token
+     */
+    String next(long lastId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(emailNotification.name());
+            out.writeLong(lastId);
+            out.writeInt(batchSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static SubscriberCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+            }
+            SubscriberCursor cursor =
+                new SubscriberCursor(EmailNotification.valueOf(in.readUTF()), in.readLong(), in.readInt());
+            if (cursor.lastId() < 0 || cursor.batchSize() < 1) {
+                throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package greencity.service;
+
+import greencity.dto.user.CityUsersAmountDto;
+import greencity.repository.UserRepo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory catalog of distinct cities of users with amount of users in each,
+ * so that the list of cities is answered without reading a row per user.
+ *
+ * <p>
+ * The catalog is loaded on first use, follows committed
+ * {@link UserCityChangedEvent}s of profile updates and is periodically
+ * reconciled against the table, which also picks up cities written by other
+ * paths, such as admin updates and deletion of users.
+ */
+@Slf4j
+@Component
+public class UserCityCatalog {
+    private final UserRepo userRepo;
+    private volatile ConcurrentNavigableMap<String, Long> usersByCity;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo {@link UserRepo}
+     */
+    public UserCityCatalog(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Returns distinct cities of users in alphabetical order.
+     *
+     * @return {@link List} of cities.
+     */
+    public List<String> cities() {
+        ConcurrentNavigableMap<String, Long> current = usersByCity;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        return new ArrayList<>(current.keySet());
+    }
+
+    /**
+     * Moves one user from old city to the new one once the change is committed.
+     *
+     * @param event {@link UserCityChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCityChanged(UserCityChangedEvent event) {
+        ConcurrentNavigableMap<String, Long> current = usersByCity;
+        if (current == null) {
+            return;
+        }
+        if (isCity(event.getOldCity())) {
+            current.computeIfPresent(event.getOldCity(), (city, amount) -> amount > 1 ? amount - 1 : null);
+        }
+        if (isCity(event.getNewCity())) {
+            current.merge(event.getNewCity(), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Replaces the catalog with amounts counted in the database. Changes
+     * committed while counting may be lost until the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${greencity.city-catalog.reconcile-rate:3600000}",
+        initialDelayString = "${greencity.city-catalog.reconcile-rate:3600000}")
+    public synchronized void reconcile() {
+        ConcurrentNavigableMap<String, Long> loaded = new ConcurrentSkipListMap<>();
+        for (CityUsersAmountDto city : userRepo.countUsersByCity()) {
+            if (isCity(city.city())) {
+                loaded.put(city.city(), city.usersAmount());
+            }
+        }
+        ConcurrentNavigableMap<String, Long> previous = usersByCity;
+        usersByCity = loaded;
+        if (previous != null && !previous.equals(loaded)) {
+            log.info("City catalog drifted from the table and was reconciled, {} cities", loaded.size());
+        }
+    }
+
+    private synchronized ConcurrentNavigableMap<String, Long> loadIfAbsent() {
+        if (usersByCity == null) {
+            reconcile();
+        }
+        return usersByCity;
+    }
+
+    private static boolean isCity(String city) {
+        return city != null && !city.isBlank();
+    }
+}
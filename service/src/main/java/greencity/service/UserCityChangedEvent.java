@@ -0,0 +1,33 @@
+package greencity.service;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that is meant for notifying about change of city of a user.
+ */
+@Getter
+public class UserCityChangedEvent extends ApplicationEvent {
+    /**
+     * City of the user before the change, {@code null} if not set.
+     */
+    private final String oldCity;
+    /**
+     * City of the user after the change, {@code null} if not set.
+     */
+    private final String newCity;
+
+    /**
+     * Creates a new {@link UserCityChangedEvent}.
+     *
+     * @param source  the object on which the event initially occurred (never
+     *                {@code null})
+     * @param oldCity city before the change
+     * @param newCity city after the change
+     */
+    public UserCityChangedEvent(Object source, String oldCity, String newCity) {
+        super(source);
+        this.oldCity = oldCity;
+        this.newCity = newCity;
+    }
+}
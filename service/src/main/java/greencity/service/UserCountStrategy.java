@@ -0,0 +1,21 @@
+package greencity.service;
+
+import greencity.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Counts users matching a filter for totals of paged responses. Implementations
+ * trade exactness of the total for the cost of counting.
+ */
+public interface UserCountStrategy {
+    /**
+     * Counts users matching specification.
+     *
+     * @param signature identifies the filter; equal signatures must mean equal
+     *                  specifications.
+     * @param spec      {@link Specification} of users, {@code null} for all
+     *                  users.
+     * @return amount of users
+     */
+    long count(String signature, Specification<User> spec);
+}
@@ -0,0 +1,157 @@
+package greencity.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.constant.RepoConstants;
+import greencity.dto.user.UserListItemDto;
+import greencity.exception.exceptions.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in keyset pagination of user lists: sort key and direction, sort
+ * key value and id of the last item of previous page, page number and size.
+ * Clients get it as an opaque Base64 URL token and send it back unchanged.
+ *
+ * @param scope      query the token was issued for.
+ * @param sortKey    {@link SortKey} of the list.
+ * @param ascending  direction of sorting.
+ * @param lastValue  sort key value of the last item of previous page,
+ *                   {@code null} for the first page.
+ * @param lastId     id of the last item of previous page, {@code null} for the
+ *                   first page.
+ * @param pageNumber number of the page, starting from {@code 0}.
+ * @param pageSize   size of the page.
+ */
+record UserListCursor(String scope, SortKey sortKey, boolean ascending, String lastValue, Long lastId,
+    int pageNumber, int pageSize) {
+    private static final byte VERSION = 1;
+
+    /**
+     * Returns cursor of the first page if token is empty, or decodes the token
+     * otherwise.
+     *
+     * @param token    continuation token, may be empty.
+     * @param scope    query the token must be issued for.
+     * @param pageable size and sort of the first page.
+     * @return {@link UserListCursor}
+     * @throws BadRequestException if token is malformed or issued for another
+     *                             query, or sort is not supported.
+     */
+    static UserListCursor of(String token, String scope, Pageable pageable) {
+        if (token == null || token.isEmpty()) {
+            Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(RepoConstants.ID));
+            return new UserListCursor(scope, SortKey.of(order.getProperty()), order.isAscending(), null, null, 0,
+                pageable.getPageSize());
+        }
+        UserListCursor cursor = decode(token);
+        if (!cursor.scope().equals(scope)) {
+            throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+        }
+        return cursor;
+    }
+
+    /**
+     * Returns order of the list.
+     *
+     * @return {@link Sort.Order}
+     */
+    Sort.Order order() {
+        return ascending ? Sort.Order.asc(sortKey.property) : Sort.Order.desc(sortKey.property);
+    }
+
+    /**
+     * Returns sort key value of the last item of previous page converted to type
+     * of the column.
+     *
+     * @return value or {@code null} for the first page.
+     */
+    Comparable<?> typedLastValue() {
+        return lastValue == null ? null : sortKey.parser.apply(lastValue);
+    }
+
+    /**
+     * Encodes token of the page that follows the given last item of this page.
+     *
+     * @param last last {@link UserListItemDto} of this page.
+     * @return continuation token
+     */
+    String next(UserListItemDto last) {
+        return new UserListCursor(scope, sortKey, ascending, String.valueOf(sortKey.extractor.apply(last)),
+            last.id(), pageNumber + 1, pageSize).encode();
+    }
+
+    private String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(scope);
+            out.writeUTF(sortKey.name());
+            out.writeBoolean(ascending);
+            out.writeUTF(lastValue);
+            out.writeLong(lastId);
+            out.writeInt(pageNumber);
+            out.writeInt(pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static UserListCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+            }
+            UserListCursor cursor = new UserListCursor(in.readUTF(), SortKey.valueOf(in.readUTF()), in.readBoolean(),
+                in.readUTF(), in.readLong(), in.readInt(), in.readInt());
+            cursor.typedLastValue();
+            if (cursor.pageSize() < 1 || cursor.pageNumber() < 0) {
+                throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(ErrorMessage.BAD_CONTINUATION_TOKEN);
+        }
+    }
+
+    /**
+     * Columns user lists can be sorted by in keyset mode. All of them are not
+     * null, so {@code (sort key, id)} gives total order.
+     */
+    enum SortKey {
+        ID(RepoConstants.ID, UserListItemDto::id, Long::valueOf),
+        NAME(RepoConstants.NAME, UserListItemDto::name, value -> value),
+        EMAIL(RepoConstants.EMAIL, UserListItemDto::email, value -> value),
+        REGISTRATION_DATE(RepoConstants.REGISTRATION_DATE, UserListItemDto::dateOfRegistration, LocalDateTime::parse);
+
+        private final String property;
+        private final Function<UserListItemDto, Object> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        SortKey(String property, Function<UserListItemDto, Object> extractor,
+            Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        static SortKey of(String property) {
+            for (SortKey sortKey : values()) {
+                if (sortKey.property.equals(property)) {
+                    return sortKey;
+                }
+            }
+            throw new BadRequestException(ErrorMessage.UNSUPPORTED_KEYSET_SORT + property);
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package greencity.service;
+
+import greencity.constant.RepoConstants;
+import greencity.dto.user.UserSearchDocumentDto;
+import greencity.entity.listener.UserWrittenEvent;
+import greencity.repository.UserRepo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory trigram index over id, name, email and credo of users, answering
+ * admin search without the full table scan that {@code LIKE '%...%'} needs.
+ * Candidates are found by intersecting posting lists of the query trigrams and
+ * then checked against the stored columns, so results are the same as of
+ * {@code UserRepo.searchBy}.
+ *
+ * <p>
+ * The index is loaded in batches on a background thread after startup and
+ * follows committed {@link UserWrittenEvent}s. Users deleted by bulk statements
+ * stay until a search finds them missing in the database. Until loading is
+ * done, and for queries or sorts it can't answer, {@link #search} returns
+ * empty, so callers fall back to the database. Slots of removed users are
+ * reused, so memory follows the number of users rather than of writes.
+ *
+ * <p>
+ * The index lives in each instance and only sees writes made by it. With
+ * several replicas, users written by another replica are found by their old
+ * columns until restart, so the index should be disabled by
+ * {@code greencity.user-search-index.enabled=false} and search left to the
+ * database.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int CONTAINS = 1;
+    private static final int PREFIX = 2;
+    private static final int EXACT = 3;
+    private static final Comparator<Match> BY_RELEVANCE =
+        Comparator.comparingInt(Match::rank).reversed().thenComparingLong(Match::userId);
+
+    private final UserRepo userRepo;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docsByUserId = new HashMap<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private long[] userIds = new long[1024];
+    private String[][] documents = new String[1024][];
+    private int docCount;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+    private Set<Long> writtenWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo  {@link UserRepo}
+     * @param enabled   whether users are indexed at all.
+     * @param batchSize amount of users read per query while loading.
+     */
+    public UserSearchIndex(UserRepo userRepo,
+        @Value("${greencity.user-search-index.enabled:true}") boolean enabled,
+        @Value("${greencity.user-search-index.batch-size:1000}") int batchSize) {
+        this.userRepo = userRepo;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts loading of the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (enabled) {
+            Thread loader = new Thread(this::loadAll, "user-search-index-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    /**
+     * Loads all users in id order, one batch per query, and makes the index
+     * answer searches. Users written meanwhile keep their newer columns.
+     */
+    public void loadAll() {
+        long start = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            List<UserSearchDocumentDto> batch;
+            do {
+                batch = userRepo.findSearchDocumentsAfter(afterId, PageRequest.of(0, batchSize));
+                putLoaded(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Loading of user search index failed, search stays in the database", e);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            writtenWhileLoading = null;
+            ready = true;
+            log.info("User search index loaded {} users in {} ms", docsByUserId.size(),
+                System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies committed write of a user.
+     *
+     * @param event {@link UserWrittenEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserWritten(UserWrittenEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getDocument() == null) {
+            remove(event.getUserId());
+        } else {
+            put(event.getDocument());
+        }
+    }
+
+    /**
+     * Indexes user or replaces its indexed columns.
+     *
+     * @param document {@link UserSearchDocumentDto}
+     */
+    public void put(UserSearchDocumentDto document) {
+        lock.writeLock().lock();
+        try {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(document.id());
+            }
+            index(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes user from the index.
+     *
+     * @param userId id of user.
+     */
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(userId);
+            }
+            Integer doc = docsByUserId.remove(userId);
+            if (doc != null) {
+                for (long gram : grams(documents[doc])) {
+                    removePosting(gram, doc);
+                }
+                documents[doc] = null;
+                freeDoc(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds ids of users whose id, name, email or credo contains the query,
+     * ignoring case. Without sort users are ranked by the best match of a
+     * column: equal, then starting with the query, then containing it.
+     *
+     * @param query    text to search.
+     * @param pageable page and sort by nothing, id, name or email.
+     * @return {@link Page} of user ids, empty if the index can't answer and the
+     *         database has to be searched.
+     */
+    public Optional<Page<Long>> search(String query, Pageable pageable) {
+        Comparator<Match> order = comparator(pageable.getSort());
+        if (!ready || order == null || query == null || query.length() < GRAM_LENGTH
+            || query.indexOf('%') >= 0 || query.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        String normalized = query.toLowerCase(Locale.ROOT);
+        int limit = pageable.isPaged() ? (int) pageable.getOffset() + pageable.getPageSize() : Integer.MAX_VALUE;
+        PriorityQueue<Match> top = new PriorityQueue<>(order.reversed());
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            for (int doc : candidates(normalized)) {
+                int rank = rank(documents[doc], normalized);
+                if (rank > 0) {
+                    total++;
+                    top.add(new Match(userIds[doc], rank, documents[doc]));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(order);
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), matches.size()) : 0;
+        List<Long> ids = matches.subList(from, matches.size()).stream()
+            .map(Match::userId)
+            .toList();
+        return Optional.of(new PageImpl<>(ids, pageable, total));
+    }
+
+    private void putLoaded(List<UserSearchDocumentDto> batch) {
+        lock.writeLock().lock();
+        try {
+            for (UserSearchDocumentDto document : batch) {
+                if (!writtenWhileLoading.contains(document.id())) {
+                    index(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(UserSearchDocumentDto document) {
+        String[] columns = {
+            String.valueOf(document.id()),
+            lowerCase(document.name()),
+            lowerCase(document.email()),
+            lowerCase(document.userCredo())
+        };
+        Integer doc = docsByUserId.get(document.id());
+        Set<Long> oldGrams;
+        if (doc == null) {
+            doc = newDoc(document.id());
+            oldGrams = Set.of();
+        } else {
+            oldGrams = grams(documents[doc]);
+        }
+        Set<Long> newGrams = grams(columns);
+        for (long gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                removePosting(gram, doc);
+            }
+        }
+        for (long gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(doc);
+            }
+        }
+        documents[doc] = columns;
+    }
+
+    private int newDoc(Long userId) {
+        int doc;
+        if (freeCount > 0) {
+            doc = freeDocs[--freeCount];
+        } else {
+            if (docCount == userIds.length) {
+                userIds = Arrays.copyOf(userIds, docCount * 2);
+                documents = Arrays.copyOf(documents, docCount * 2);
+            }
+            doc = docCount++;
+        }
+        userIds[doc] = userId;
+        docsByUserId.put(userId, doc);
+        return doc;
+    }
+
+    private void freeDoc(int doc) {
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+
+    private void removePosting(long gram, int doc) {
+        Postings postings = postingsByGram.get(gram);
+        postings.remove(doc);
+        if (postings.size == 0) {
+            postingsByGram.remove(gram);
+        }
+    }
+
+    /**
+     * Intersects posting lists of query trigrams, starting from the shortest.
+     */
+    private int[] candidates(String query) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(query, grams);
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+        Postings shortest = lists.get(0);
+        int[] result = Arrays.copyOf(shortest.docs, shortest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            Postings postings = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (postings.contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static Set<Long> grams(String[] columns) {
+        Set<Long> grams = new HashSet<>();
+        for (String column : columns) {
+            if (column != null) {
+                addGrams(column, grams);
+            }
+        }
+        return grams;
+    }
+
+    private static void addGrams(String text, Set<Long> grams) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static int rank(String[] columns, String query) {
+        int rank = 0;
+        for (String column : columns) {
+            if (column == null) {
+                continue;
+            }
+            if (column.equals(query)) {
+                return EXACT;
+            }
+            if (column.startsWith(query)) {
+                rank = PREFIX;
+            } else if (rank < CONTAINS && column.contains(query)) {
+                rank = CONTAINS;
+            }
+        }
+        return rank;
+    }
+
+    private static String lowerCase(String column) {
+        return column == null ? null : column.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns order of matches for the sort, {@code null} if the index doesn't
+     * keep the sorted column.
+     */
+    private static Comparator<Match> comparator(Sort sort) {
+        if (sort.isUnsorted()) {
+            return BY_RELEVANCE;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            return null;
+        }
+        Sort.Order order = orders.get(0);
+        Comparator<Match> comparator = switch (order.getProperty()) {
+            case RepoConstants.ID -> Comparator.comparingLong(Match::userId);
+            case RepoConstants.NAME -> Comparator.comparing(match -> match.columns()[NAME]);
+            case RepoConstants.EMAIL -> Comparator.comparing(match -> match.columns()[EMAIL]);
+            default -> null;
+        };
+        if (comparator == null) {
+            return null;
+        }
+        comparator = comparator.thenComparingLong(Match::userId);
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    private record Match(long userId, int rank, String[] columns) {
+    }
+
+    /**
+     * Sorted growable list of document numbers. Documents are numbered in order
+     * of indexing, so loading only appends; reused numbers are inserted.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            int index = size == 0 || docs[size - 1] < doc ? size : -Arrays.binarySearch(docs, 0, size, doc) - 1;
+            if (index < 0) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            docs[index] = doc;
+            size++;
+        }
+
+        void remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+}
@@ -5,10 +5,10 @@ import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.entity.Language;
 import greencity.entity.UserDeactivationReason;
-import greencity.filters.SearchCriteria;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
 import greencity.constant.LogMessage;
+import greencity.dto.ContinuationPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -19,18 +19,28 @@ import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import greencity.exception.exceptions.*;
-import greencity.filters.UserSpecification;
+import greencity.filters.UserCriteriaPlan;
+import greencity.filters.UserCriteriaPlanner;
+import greencity.mapping.UserMapper;
 import greencity.repository.LanguageRepo;
 import greencity.repository.UserDeactivationRepo;
 import greencity.repository.UserRepo;
 import greencity.repository.options.UserFilter;
+import greencity.repository.options.UserSearch;
+import greencity.security.CurrentUserHolder;
+import greencity.security.events.UserStatusChangedEvent;
+import greencity.security.jwt.AccessTokenClaims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -43,6 +53,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -52,6 +64,13 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String LIST_SCOPE = "all";
+    private static final String MANAGEMENT_SCOPE = "management";
+    private static final String SEARCH_SCOPE = "search:";
+    private static final String ALL_USERS_SIGNATURE = "all";
+    private static final String FILTER_SIGNATURE = "filter:";
+    private static final String CRITERIA_SIGNATURE = "criteria:";
+    private static final long NOT_COUNTED = -1;
     /**
      * Autowired greencity.repository.
      */
@@ -63,8 +82,24 @@ public class UserServiceImpl implements UserService {
      * Autowired mapper.
      */
     private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final UserStatusCache userStatusCache;
+    private final UserCountStrategy userCountStrategy;
+    private final UserSearchIndex userSearchIndex;
+    private final UserCriteriaPlanner userCriteriaPlanner;
+    private final UserCityCatalog userCityCatalog;
+    private final UserStatusCounters userStatusCounters;
+    private final LastActivityBuffer lastActivityBuffer;
+    private final CurrentUserHolder currentUserHolder;
     @Value("${greencity.time.after.last.activity}")
     private long timeAfterLastActivity;
+    @Value("${greencity.user-export.fetch-size:500}")
+    private int exportFetchSize;
+    @Value("${greencity.email-subscribers.max-batch-size:1000}")
+    private int subscribersMaxBatchSize;
+    @Value("${greencity.user-lookup.max-batch-size:100}")
+    private int lookupMaxBatchSize;
 
     /**
      * {@inheritDoc}
@@ -75,8 +110,8 @@ public class UserServiceImpl implements UserService {
         if (userVO.getId() != null && userRepo.existsById(userVO.getId())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "User with id " + userVO.getId() + " already exists.");
         }
-        User user = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(user), UserVO.class);
+        User user = userMapper.toUser(userVO);
+        return userMapper.toUserVO(userRepo.save(user));
     }
 
     /**
@@ -91,18 +126,19 @@ public class UserServiceImpl implements UserService {
                     .orElseThrow(() -> new NotFoundException(ErrorMessage.LANGUAGE_NOT_FOUND_BY_ID + 1L));
             user.setLanguage(defaultLanguage);
         }
-        return modelMapper.map(user, UserVO.class);
+        return userMapper.toUserVO(user);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public PageableDto<UserForListDto> findByPage(Pageable pageable) {
-        Page<User> users = userRepo.findAll(pageable);
+        Page<UserListItemDto> users = findListItemPage(ALL_USERS_SIGNATURE, null, pageable);
         List<UserForListDto> userForListDtos =
             users.getContent().stream()
-                .map(user -> modelMapper.map(user, UserForListDto.class))
+                .map(user -> userMapper.toUserForListDto(user))
                 .collect(Collectors.toList());
         return new PageableDto<>(
             userForListDtos,
@@ -115,11 +151,30 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    public ContinuationPageDto<PageableDto<UserForListDto>> findByContinuationToken(String continuationToken,
+        Pageable pageable, boolean withCount) {
+        ListItemSlice slice =
+            findListItemSlice(continuationToken, LIST_SCOPE, ALL_USERS_SIGNATURE, null, pageable, withCount);
+        List<UserForListDto> userForListDtos = slice.items().stream()
+            .map(user -> userMapper.toUserForListDto(user))
+            .collect(Collectors.toList());
+        return new ContinuationPageDto<>(
+            new PageableDto<>(userForListDtos, slice.totalElements(), slice.cursor().pageNumber(),
+                slice.totalPages()),
+            slice.continuationToken());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
     public PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable) {
-        Page<User> users = userRepo.findAll(pageable);
+        Page<UserListItemDto> users = findListItemPage(ALL_USERS_SIGNATURE, null, pageable);
         List<UserManagementDto> userManagementDtos =
             users.getContent().stream()
-                .map(user -> modelMapper.map(user, UserManagementDto.class))
+                .map(user -> userMapper.toUserManagementDto(user))
                 .collect(Collectors.toList());
         return new PageableAdvancedDto<>(
             userManagementDtos,
@@ -140,7 +195,10 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void updateUser(Long userId, UserManagementUpdateDto dto) {
         User user = findUserById(userId);
+        UserStatus oldStatus = user.getUserStatus();
         updateUserFromDto(dto, user);
+        userStatusCounters.move(oldStatus, dto.getUserStatus(), 1);
+        publishUserStatusChanged(List.of(userId), dto.getUserStatus());
     }
 
     /**
@@ -164,7 +222,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteById(Long id) {
         UserVO userVO = findById(id);
-        userRepo.delete(modelMapper.map(userVO, User.class));
+        userRepo.delete(userMapper.toUser(userVO));
+        userStatusCounters.move(userVO.getUserStatus(), null, 1);
+        publishUserStatusChanged(List.of(id), null);
     }
 
     /**
@@ -172,8 +232,14 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserVO findByEmail(String email) {
+        Optional<UserVO> currentUser = currentUserHolder.getUser(email);
+        if (currentUser.isPresent()) {
+            return currentUser.get();
+        }
         Optional<User> optionalUser = userRepo.findByEmail(email);
-        return optionalUser.isEmpty() ? null : modelMapper.map(optionalUser.get(), UserVO.class);
+        UserVO userVO = optionalUser.isEmpty() ? null : userMapper.toUserVO(optionalUser.get());
+        currentUserHolder.setUser(userVO);
+        return userVO;
     }
 
     /**
@@ -181,21 +247,29 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<UserVO> findAll() {
-        return modelMapper.map(userRepo.findAll(), new TypeToken<List<UserVO>>() {
-        }.getType());
+        return userMapper.toUserVOs(userRepo.findAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(long afterId, Consumer<UserVO> consumer) {
+        userRepo.forEachUserAfter(afterId, exportFetchSize, user -> consumer.accept(userMapper.toUserVO(user)));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public PageableAdvancedDto<UserManagementVO> search(Pageable pageable,
         UserManagementViewDto userManagementViewDto) {
-        Page<User> found = userRepo.findAll(buildSpecification(userManagementViewDto), pageable);
-
-        if (found.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No users found for the specified criteria.");
-        }
+        UserCriteriaPlan plan = userCriteriaPlanner.plan(userManagementViewDto);
+        Page<UserListItemDto> found = plan.matchesNothing()
+            ? Page.empty(pageable)
+            : findListItemPage(CRITERIA_SIGNATURE + plan, plan, pageable);
         return buildPageableAdvanceDtoFromPage(found);
     }
 
@@ -214,9 +288,9 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
-    private PageableAdvancedDto<UserManagementVO> buildPageableAdvanceDtoFromPage(Page<User> pageTags) {
+    private PageableAdvancedDto<UserManagementVO> buildPageableAdvanceDtoFromPage(Page<UserListItemDto> pageTags) {
         List<UserManagementVO> usersVOs = pageTags.getContent().stream()
-            .map(t -> modelMapper.map(t, UserManagementVO.class))
+            .map(t -> userMapper.toUserManagementVO(t))
             .collect(Collectors.toList());
 
         return new PageableAdvancedDto<>(
@@ -230,72 +304,95 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
-    private UserSpecification buildSpecification(UserManagementViewDto userViewDto) {
-        List<SearchCriteria> searchCriteriaList = buildSearchCriteriaList(userViewDto);
+    @Override
+    public Optional<Long> findNotDeactivatedIdByEmail(String email) {
+        return userStatusCache.get(email)
+            .filter(user -> user.getUserStatus() != UserStatus.DEACTIVATED)
+            .map(UserIdStatusDto::getId);
+    }
 
-        return new UserSpecification(searchCriteriaList);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStatusVersionCurrent(String email, int statusVersion) {
+        return userStatusCache.get(email)
+            .map(user -> AccessTokenClaims.statusVersion(user.getRole(), user.getUserStatus()) == statusVersion)
+            .orElse(false);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * @author Zakhar Skaletskyi
      */
-    private List<SearchCriteria> buildSearchCriteriaList(UserManagementViewDto userViewDto) {
-        List<SearchCriteria> searchCriteriaList = new ArrayList<>();
-        setValueIfNotEmpty(searchCriteriaList, "id", userViewDto.getId());
-        setValueIfNotEmpty(searchCriteriaList, "name", userViewDto.getName());
-        setValueIfNotEmpty(searchCriteriaList, "email", userViewDto.getEmail());
-        setValueIfNotEmpty(searchCriteriaList, "userCredo", userViewDto.getUserCredo());
-        setValueIfNotEmpty(searchCriteriaList, "role", userViewDto.getRole());
-        setValueIfNotEmpty(searchCriteriaList, "userStatus", userViewDto.getUserStatus());
-        return searchCriteriaList;
+    @Override
+    public Long findIdByEmail(String email) {
+        log.info(LogMessage.IN_FIND_ID_BY_EMAIL, email);
+        return userRepo.findIdByEmail(email).orElseThrow(
+            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
     }
 
     /**
      * {@inheritDoc}
      */
-    private void setValueIfNotEmpty(List<SearchCriteria> searchCriteria, String key, String value) {
-        if (!StringUtils.isEmpty(value)) {
-            searchCriteria.add(SearchCriteria.builder()
-                .key(key)
-                .type(key)
-                .value(value)
-                .build());
-        }
+    @Override
+    public String findUuIdByEmail(String email) {
+        log.info(LogMessage.IN_FIND_UUID_BY_EMAIL, email);
+        return userRepo.findUuidByEmail(email).orElseThrow(
+            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
-    public Optional<UserVO> findNotDeactivatedByEmail(String email) {
-        log.info("email {}", email);
-        User notDeactivatedByEmail = userRepo.findNotDeactivatedByEmail(email)
-            .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
-        log.info("user: {}", notDeactivatedByEmail);
-        return Optional.of(modelMapper.map(notDeactivatedByEmail, UserVO.class));
+    @Transactional(readOnly = true)
+    public List<UserLookupResultDto<Long>> findRefsByIds(List<Long> ids) {
+        return lookup(ids, userRepo::findIdentitiesByIdIn, UserIdentityDto::id);
     }
 
     /**
      * {@inheritDoc}
-     *
-     * @author Zakhar Skaletskyi
      */
     @Override
-    public Long findIdByEmail(String email) {
-        log.info(LogMessage.IN_FIND_ID_BY_EMAIL, email);
-        return userRepo.findIdByEmail(email).orElseThrow(
-            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
+    @Transactional(readOnly = true)
+    public List<UserLookupResultDto<String>> findRefsByEmails(List<String> emails) {
+        return lookup(emails, userRepo::findIdentitiesByEmailIn, UserIdentityDto::email);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public String findUuIdByEmail(String email) {
-        log.info(LogMessage.IN_FIND_UUID_BY_EMAIL, email);
-        return userRepo.findUuidByEmail(email).orElseThrow(
-            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
+    @Transactional(readOnly = true)
+    public List<UserLookupResultDto<String>> findRefsByUuids(List<String> uuids) {
+        return lookup(uuids, userRepo::findIdentitiesByUuidIn, UserIdentityDto::uuid);
+    }
+
+    /**
+     * Resolves distinct keys with one {@code IN} query and answers every
+     * requested key in request order, including repeated and missing ones.
+     */
+    private <K> List<UserLookupResultDto<K>> lookup(List<K> keys,
+        Function<Collection<K>, List<UserIdentityDto>> query, Function<UserIdentityDto, K> keyOf) {
+        if (keys.size() > lookupMaxBatchSize) {
+            throw new BadRequestException(ErrorMessage.TOO_MANY_USERS_TO_LOOKUP + lookupMaxBatchSize);
+        }
+        Set<K> distinctKeys = keys.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<K, UserRefDto> found = distinctKeys.isEmpty() ? Map.of() : query.apply(distinctKeys).stream()
+            .collect(Collectors.toMap(keyOf, this::toUserRef, (first, second) -> first));
+        List<UserLookupResultDto<K>> results = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            UserRefDto user = key == null ? null : found.get(key);
+            results.add(new UserLookupResultDto<>(key, user != null, user));
+        }
+        return results;
+    }
+
+    private UserRefDto toUserRef(UserIdentityDto identity) {
+        return new UserRefDto(identity.id(), identity.uuid(), identity.email(), identity.name(), identity.role(),
+            identity.userStatus(), identity.languageCode());
     }
 
     /**
@@ -307,7 +404,8 @@ public class UserServiceImpl implements UserService {
         User user = findUserById(id);
         checkIfUserCanUpdate(user, email);
         user.setRole(role);
-        return modelMapper.map(user, UserRoleDto.class);
+        publishUserStatusChanged(List.of(id), user.getUserStatus());
+        return userMapper.toUserRoleDto(user);
     }
 
     private User findUserById(Long id) {
@@ -329,9 +427,13 @@ public class UserServiceImpl implements UserService {
         checkUpdatableUser(id, email);
         accessForUpdateUserStatus(id, email);
         UserVO userVO = findById(id);
+        UserStatus oldStatus = userVO.getUserStatus();
         userVO.setUserStatus(userStatus);
-        User map = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(map), UserStatusDto.class);
+        User map = userMapper.toUser(userVO);
+        UserStatusDto userStatusDto = userMapper.toUserStatusDto(userRepo.save(map));
+        userStatusCounters.move(oldStatus, userStatus, 1);
+        publishUserStatusChanged(List.of(id), userStatus);
+        return userStatusDto;
     }
 
     /**
@@ -357,21 +459,21 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserVO updateLastVisit(UserVO userVO) {
-        UserVO user = findById(userVO.getId());
-        log.info(user.getLastActivityTime() + "s");
         userVO.setLastActivityTime(LocalDateTime.now());
-        User updatable = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(updatable), UserVO.class);
+        lastActivityBuffer.record(userVO.getId(), userVO.getLastActivityTime());
+        return userVO;
     }
 
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     public PageableDto<UserForListDto> getUsersByFilter(FilterUserDto filterUserDto, Pageable pageable) {
-        Page<User> users = userRepo.findAll(new UserFilter(filterUserDto), pageable);
+        UserFilter filter = new UserFilter(filterUserDto);
+        Page<UserListItemDto> users = findListItemPage(FILTER_SIGNATURE + filter.getQuery(), filter, pageable);
         List<UserForListDto> userForListDtos =
             users.getContent().stream()
-                .map(user -> modelMapper.map(user, UserForListDto.class))
+                .map(user -> userMapper.toUserForListDto(user))
                 .collect(Collectors.toList());
         return new PageableDto<>(
             userForListDtos,
@@ -394,7 +496,7 @@ public class UserServiceImpl implements UserService {
         User userEntity = userRepo.findByEmail(email)
                 .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + email));
 
-        return modelMapper.map(userEntity, UserUpdateDto.class);
+        return userMapper.toUserUpdateDto(userEntity);
     }
 
 
@@ -468,8 +570,8 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      */
     @Override
-    public long getActivatedUsersAmount() {
-        return userRepo.countAllByUserStatus(UserStatus.ACTIVATED);
+    public UsersAmountDto getActivatedUsersAmount() {
+        return userStatusCounters.amount(UserStatus.ACTIVATED);
     }
 
     /**
@@ -509,7 +611,7 @@ public class UserServiceImpl implements UserService {
         } else {
             throw new BadRequestException(ErrorMessage.IMAGE_EXISTS);
         }
-        return modelMapper.map(userRepo.save(user), UserVO.class);
+        return userMapper.toUserVO(userRepo.save(user));
     }
 
     /**
@@ -545,6 +647,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepo
             .findByEmail(email)
             .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + email));
+        String oldCity = user.getCity();
         user.setName(userProfileDtoRequest.getName());
         user.setCity(userProfileDtoRequest.getCity());
         user.setUserCredo(userProfileDtoRequest.getUserCredo());
@@ -552,6 +655,9 @@ public class UserServiceImpl implements UserService {
         user.setShowEcoPlace(userProfileDtoRequest.getShowEcoPlace());
         user.setShowShoppingList(userProfileDtoRequest.getShowShoppingList());
         userRepo.save(user);
+        if (!Objects.equals(oldCity, user.getCity())) {
+            applicationEventPublisher.publishEvent(new UserCityChangedEvent(this, oldCity, user.getCity()));
+        }
         return UpdateConstants.getResultByLanguageCode(user.getLanguage().getCode());
     }
 
@@ -561,15 +667,17 @@ public class UserServiceImpl implements UserService {
      * @author Marian Datsko
      */
     @Override
+    @Transactional(readOnly = true)
     public UserProfileDtoResponse getUserProfileInformation(Long userId) {
-        User user = userRepo
-            .findById(userId)
+        UserProfileInfoDto user = userRepo
+            .findProfileInfoById(userId)
             .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId));
-        return modelMapper.map(user, UserProfileDtoResponse.class);
+        return userMapper.toUserProfileDtoResponse(user);
     }
 
     /**
-     * Updates last activity time for a given user.
+     * Updates last activity time for a given user. The time is written by
+     * {@link LastActivityBuffer} on its next flush.
      *
      * @param userId               - {@link UserVO}'s id
      * @param userLastActivityTime - new {@link UserVO}'s last activity time
@@ -577,7 +685,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void updateUserLastActivityTime(Long userId, LocalDateTime userLastActivityTime) {
-        userRepo.updateUserLastActivityTime(userId, userLastActivityTime);
+        lastActivityBuffer.record(userId, userLastActivityTime);
     }
 
     /**
@@ -592,9 +700,10 @@ public class UserServiceImpl implements UserService {
         if (userRepo.findById(userId).isEmpty()) {
             throw new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId);
         }
-        Optional<Timestamp> lastActivityTime = userRepo.findLastActivityTimeById(userId);
+        Optional<LocalDateTime> lastActivityTime = lastActivityBuffer.pending(userId)
+            .or(() -> userRepo.findLastActivityTimeById(userId).map(Timestamp::toLocalDateTime));
         if (lastActivityTime.isPresent()) {
-            LocalDateTime userLastActivityTime = lastActivityTime.get().toLocalDateTime();
+            LocalDateTime userLastActivityTime = lastActivityTime.get();
             ZonedDateTime now = ZonedDateTime.now();
             ZonedDateTime lastActivityTimeZDT = ZonedDateTime.of(userLastActivityTime, ZoneId.systemDefault());
             long result = now.toInstant().toEpochMilli() - lastActivityTimeZDT.toInstant().toEpochMilli();
@@ -633,8 +742,11 @@ public class UserServiceImpl implements UserService {
     public UserDeactivationReasonDto deactivateUser(Long id, List<String> userReasons) {
         User foundUser =
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
+        UserStatus oldStatus = foundUser.getUserStatus();
         foundUser.setUserStatus(UserStatus.DEACTIVATED);
         userRepo.save(foundUser);
+        userStatusCounters.move(oldStatus, UserStatus.DEACTIVATED, 1);
+        publishUserStatusChanged(List.of(id), UserStatus.DEACTIVATED);
         String reasons = userReasons.stream().map(Object::toString).collect(Collectors.joining("/"));
         userDeactivationRepo.save(UserDeactivationReason.builder()
             .dateTimeOfDeactivation(LocalDateTime.now())
@@ -663,7 +775,15 @@ public class UserServiceImpl implements UserService {
             userReason.getReason());
     }
 
-    private List<String> filterReasons(String lang, String reasons) {
+    /**
+     * Picks reasons written in the language, stripping its {@code {en}} or
+     * {@code {ua}} marker.
+     *
+     * @param lang    language code.
+     * @param reasons reasons joined by {@code /}.
+     * @return reasons in the language, {@code null} for other languages.
+     */
+    static List<String> filterReasons(String lang, String reasons) {
         List<String> result = null;
         List<String> forAll = List.of(reasons.split("/"));
         if (lang.equals("en")) {
@@ -682,8 +802,11 @@ public class UserServiceImpl implements UserService {
     public UserActivationDto setActivatedStatus(Long id) {
         User foundUser =
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
+        UserStatus oldStatus = foundUser.getUserStatus();
         foundUser.setUserStatus(UserStatus.ACTIVATED);
         userRepo.save(foundUser);
+        userStatusCounters.move(oldStatus, UserStatus.ACTIVATED, 1);
+        publishUserStatusChanged(List.of(id), UserStatus.ACTIVATED);
         return UserActivationDto.builder()
             .email(foundUser.getEmail())
             .name(foundUser.getName())
@@ -710,20 +833,35 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public List<Long> deactivateAllUsers(List<Long> listId) {
+        userRepo.countUsersByStatusAndIdIn(listId)
+            .forEach(status -> userStatusCounters.move(status.userStatus(), UserStatus.DEACTIVATED, status.amount()));
         userRepo.deactivateSelectedUsers(listId);
+        publishUserStatusChanged(listId, UserStatus.DEACTIVATED);
         return listId;
     }
 
+    /**
+     * Notifies listeners (e.g. authentication cache) that status or role of users
+     * was changed.
+     *
+     * @param userIds    ids of users whose status was changed.
+     * @param userStatus new {@link UserStatus}, {@code null} if the users were
+     *                   deleted.
+     */
+    private void publishUserStatusChanged(List<Long> userIds, UserStatus userStatus) {
+        applicationEventPublisher.publishEvent(new UserStatusChangedEvent(this, userIds, userStatus));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Optional<UserVO> findByIdAndToken(Long userId, String token) {
-        User foundUser = modelMapper.map(findById(userId), User.class);
+        User foundUser = userMapper.toUser(findById(userId));
 
         VerifyEmail verifyEmail = foundUser.getVerifyEmail();
         if (verifyEmail != null && verifyEmail.getToken().equals(token)) {
-            return Optional.of(modelMapper.map(foundUser, UserVO.class));
+            return Optional.of(userMapper.toUserVO(foundUser));
         }
         return Optional.empty();
     }
@@ -732,10 +870,13 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query) {
-        Page<User> page = userRepo.searchBy(paging, query);
+        Page<UserListItemDto> page = userSearchIndex.search(query, paging)
+            .map(this::findListItemsByIds)
+            .orElseGet(() -> findListItemPage(SEARCH_SCOPE + query, new UserSearch(query), paging));
         List<UserManagementDto> users = page.stream()
-            .map(user -> modelMapper.map(user, UserManagementDto.class))
+            .map(user -> userMapper.toUserManagementDto(user))
             .collect(Collectors.toList());
         return new PageableAdvancedDto<>(
             users,
@@ -749,23 +890,164 @@ public class UserServiceImpl implements UserService {
             page.isLast());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> findUserForManagementByContinuationToken(
+        String continuationToken, Pageable pageable, boolean withCount) {
+        return toUserManagementPage(
+            findListItemSlice(continuationToken, MANAGEMENT_SCOPE, ALL_USERS_SIGNATURE, null, pageable, withCount));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> searchByContinuationToken(
+        String continuationToken, Pageable paging, String query, boolean withCount) {
+        return toUserManagementPage(findListItemSlice(continuationToken, SEARCH_SCOPE + Objects.hashCode(query),
+            SEARCH_SCOPE + query, new UserSearch(query), paging, withCount));
+    }
+
+    /**
+     * Loads page of {@link UserListItemDto} with total from
+     * {@link UserCountStrategy}. Total isn't counted if the page itself shows it.
+     */
+    private Page<UserListItemDto> findListItemPage(String signature, Specification<User> spec, Pageable pageable) {
+        return PageableExecutionUtils.getPage(userRepo.findListItems(spec, pageable), pageable,
+            () -> userCountStrategy.count(signature, spec));
+    }
+
+    /**
+     * Loads {@link UserListItemDto}s of the page of ids found by
+     * {@link UserSearchIndex} by primary key, keeping their order. Users missing
+     * in the database were deleted by bulk statements and are dropped from the
+     * index.
+     */
+    private Page<UserListItemDto> findListItemsByIds(Page<Long> ids) {
+        if (!ids.hasContent()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Long, UserListItemDto> found = new HashMap<>();
+        for (UserListItemDto item : userRepo.findListItemsByIds(ids.getContent())) {
+            found.put(item.id(), item);
+        }
+        List<UserListItemDto> items = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids) {
+            UserListItemDto item = found.get(id);
+            if (item == null) {
+                userSearchIndex.remove(id);
+            } else {
+                items.add(item);
+            }
+        }
+        return new PageImpl<>(items, ids.getPageable(),
+            ids.getTotalElements() - ids.getNumberOfElements() + items.size());
+    }
+
+    /**
+     * Loads keyset page of {@link UserListItemDto} at position of continuation
+     * token. One extra item is read to know whether the next page exists.
+     */
+    private ListItemSlice findListItemSlice(String continuationToken, String scope, String signature,
+        Specification<User> spec, Pageable pageable, boolean withCount) {
+        UserListCursor cursor = UserListCursor.of(continuationToken, scope, pageable);
+        List<UserListItemDto> items = userRepo.findListItemsAfter(spec, cursor.order(), cursor.typedLastValue(),
+            cursor.lastId(), cursor.pageSize() + 1);
+        boolean hasNext = items.size() > cursor.pageSize();
+        if (hasNext) {
+            items = items.subList(0, cursor.pageSize());
+        }
+        return new ListItemSlice(cursor, items,
+            hasNext ? cursor.next(items.get(items.size() - 1)) : null,
+            withCount ? userCountStrategy.count(signature, spec) : NOT_COUNTED);
+    }
+
+    private ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> toUserManagementPage(ListItemSlice slice) {
+        List<UserManagementDto> users = slice.items().stream()
+            .map(user -> userMapper.toUserManagementDto(user))
+            .collect(Collectors.toList());
+        int pageNumber = slice.cursor().pageNumber();
+        boolean hasNext = slice.continuationToken() != null;
+        return new ContinuationPageDto<>(
+            new PageableAdvancedDto<>(
+                users,
+                slice.totalElements(),
+                pageNumber,
+                slice.totalPages(),
+                pageNumber,
+                pageNumber > 0,
+                hasNext,
+                pageNumber == 0,
+                !hasNext),
+            slice.continuationToken());
+    }
+
+    /**
+     * Keyset page of {@link UserListItemDto}.
+     *
+     * @param cursor            {@link UserListCursor} of the page.
+     * @param items             items of the page.
+     * @param continuationToken token of the next page, {@code null} on the last
+     *                          page.
+     * @param totalElements     amount of all items, {@code -1} if not counted.
+     */
+    private record ListItemSlice(UserListCursor cursor, List<UserListItemDto> items, String continuationToken,
+        long totalElements) {
+        int totalPages() {
+            return totalElements == NOT_COUNTED
+                ? (int) NOT_COUNTED
+                : (int) ((totalElements + cursor.pageSize() - 1) / cursor.pageSize());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<UserVO> findAllByEmailNotification(EmailNotification emailNotification) {
         return userRepo.findAllByEmailNotification(emailNotification).stream()
-            .map(user -> modelMapper.map(user, UserVO.class))
+            .map(user -> userMapper.toUserVO(user))
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ContinuationPageDto<List<EmailSubscriberDto>> findSubscribersByEmailNotification(
+        EmailNotification emailNotification, String continuationToken, int batchSize) {
+        SubscriberCursor cursor = SubscriberCursor.of(continuationToken, emailNotification,
+            Math.max(1, Math.min(batchSize, subscribersMaxBatchSize)));
+        List<UserSubscriberDto> subscribers = userRepo.findSubscribersAfter(emailNotification, cursor.lastId(),
+            PageRequest.of(0, cursor.batchSize() + 1));
+        boolean hasNext = subscribers.size() > cursor.batchSize();
+        if (hasNext) {
+            subscribers = subscribers.subList(0, cursor.batchSize());
+        }
+        return new ContinuationPageDto<>(
+            subscribers.stream()
+                .map(subscriber -> new EmailSubscriberDto(subscriber.id(), subscriber.name(), subscriber.email(),
+                    subscriber.languageCode()))
+                .collect(Collectors.toList()),
+            hasNext ? cursor.next(subscribers.get(subscribers.size() - 1).id()) : null);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
     public int scheduleDeleteDeactivatedUsers() {
-        return userRepo.scheduleDeleteDeactivatedUsers();
+        List<Long> ids = userRepo.findIdsOfDeactivatedUsersToDelete();
+        int deleted = userRepo.scheduleDeleteDeactivatedUsers();
+        userStatusCounters.move(UserStatus.DEACTIVATED, null, deleted);
+        publishUserStatusChanged(ids, null);
+        return deleted;
     }
 
     /**
@@ -773,7 +1055,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<String> findAllUsersCities() {
-        return userRepo.findAllUsersCities();
+        return userCityCatalog.cities();
     }
 
     @Override
@@ -784,7 +1066,7 @@ public class UserServiceImpl implements UserService {
         boolean isAdmin = user.getRole().equals(Role.ROLE_ADMIN);
 
         if (isAdmin) {
-            return modelMapper.map(user, UserVO.class);
+            return userMapper.toUserVO(user);
         }
 
         throw new LowRoleLevelException("You do not have authorities");
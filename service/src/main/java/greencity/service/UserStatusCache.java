@@ -0,0 +1,76 @@
+package greencity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.dto.user.UserIdStatusDto;
+import greencity.repository.UserRepo;
+import greencity.security.events.UserStatusChangedEvent;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Near-cache of user id, {@link greencity.enums.UserStatus} and role by email. Lets
+ * the authentication filter reject deactivated users without querying the
+ * database on every request. Entries are loaded lazily and evicted once a
+ * status change or deletion of the user is committed; the time to live bounds
+ * staleness for changes made outside of {@link UserServiceImpl}.
+ */
+@Component
+public class UserStatusCache {
+    private final UserRepo userRepo;
+    private final Cache<String, UserIdStatusDto> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo          {@link UserRepo}
+     * @param maximumSize       maximum number of cached users.
+     * @param timeToLiveSeconds how long status is kept after loading.
+     */
+    public UserStatusCache(UserRepo userRepo,
+        @Value("${greencity.user-status-cache.maximum-size:10000}") long maximumSize,
+        @Value("${greencity.user-status-cache.time-to-live-seconds:300}") long timeToLiveSeconds) {
+        this.userRepo = userRepo;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(timeToLiveSeconds))
+            .build();
+    }
+
+    /**
+     * Returns id, status and role of user, going to the database only on a miss.
+     *
+     * @param email user's email.
+     * @return {@link Optional} of {@link UserIdStatusDto}, empty if user doesn't
+     *         exist.
+     */
+    public Optional<UserIdStatusDto> get(String email) {
+        return Optional.ofNullable(cache.get(email, key -> userRepo.findIdAndStatusByEmail(key).orElse(null)));
+    }
+
+    /**
+     * Removes cached statuses of given users.
+     *
+     * @param userIds ids of users.
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        Set<Long> ids = new HashSet<>(userIds);
+        cache.asMap().values().removeIf(user -> ids.contains(user.getId()));
+    }
+
+    /**
+     * Evicts users whose status was changed once the change is committed.
+     *
+     * @param event {@link UserStatusChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        evictUsers(event.getUserIds());
+    }
+}
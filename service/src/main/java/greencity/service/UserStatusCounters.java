@@ -0,0 +1,124 @@
+package greencity.service;
+
+import greencity.dto.user.UserStatusAmountDto;
+import greencity.dto.user.UsersAmountDto;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import java.time.Instant;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory amounts of users of every {@link UserStatus}, so that public
+ * counters are answered without counting the users table.
+ *
+ * <p>
+ * Amounts are counted on first use, follow status transitions reported by
+ * services once their transaction commits and are periodically reconciled
+ * against the table, which also picks up changes made by bulk statements that
+ * don't report them. Transitions committed while reconciling may be counted
+ * twice or lost until the next reconciliation.
+ */
+@Slf4j
+@Component
+public class UserStatusCounters {
+    private final UserRepo userRepo;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo {@link UserRepo}
+     */
+    public UserStatusCounters(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Returns amount of users with the status.
+     *
+     * @param userStatus {@link UserStatus}
+     * @return {@link UsersAmountDto} with the moment amounts were last changed
+     *         or reconciled.
+     */
+    public UsersAmountDto amount(UserStatus userStatus) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        return new UsersAmountDto(current.amounts()[userStatus.ordinal()], current.countedAt());
+    }
+
+    /**
+     * Moves users from one status to another once the current transaction
+     * commits, or at once without transaction.
+     *
+     * @param from   previous status, {@code null} for created users.
+     * @param to     new status, {@code null} for deleted users.
+     * @param amount amount of users.
+     */
+    public void move(UserStatus from, UserStatus to, long amount) {
+        if (from == to || amount == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(from, to, amount);
+                }
+            });
+        } else {
+            apply(from, to, amount);
+        }
+    }
+
+    /**
+     * Replaces amounts with ones counted in the database.
+     */
+    @Scheduled(fixedDelayString = "${greencity.user-status-counters.reconcile-rate:300000}",
+        initialDelayString = "${greencity.user-status-counters.reconcile-rate:300000}")
+    public void reconcile() {
+        long[] amounts = new long[UserStatus.values().length];
+        for (UserStatusAmountDto status : userRepo.countUsersByStatus()) {
+            amounts[status.userStatus().ordinal()] = status.amount();
+        }
+        Snapshot loaded = new Snapshot(amounts, Instant.now());
+        Snapshot previous;
+        synchronized (this) {
+            previous = snapshot;
+            snapshot = loaded;
+        }
+        if (previous != null && !Arrays.equals(previous.amounts(), amounts)) {
+            log.info("User status counters drifted from the table and were reconciled: {}", Arrays.toString(amounts));
+        }
+    }
+
+    private synchronized void apply(UserStatus from, UserStatus to, long amount) {
+        if (snapshot == null) {
+            return;
+        }
+        long[] amounts = snapshot.amounts().clone();
+        if (from != null) {
+            amounts[from.ordinal()] = Math.max(0, amounts[from.ordinal()] - amount);
+        }
+        if (to != null) {
+            amounts[to.ordinal()] += amount;
+        }
+        snapshot = new Snapshot(amounts, Instant.now());
+    }
+
+    private synchronized Snapshot loadIfAbsent() {
+        if (snapshot == null) {
+            reconcile();
+        }
+        return snapshot;
+    }
+
+    private record Snapshot(long[] amounts, Instant countedAt) {
+    }
+}
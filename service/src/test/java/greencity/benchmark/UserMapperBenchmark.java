@@ -0,0 +1,122 @@
+package greencity.benchmark;
+
+import greencity.dto.user.UserForListDto;
+import greencity.dto.user.UserVO;
+import greencity.entity.Language;
+import greencity.entity.User;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.mapping.UserAdminRegistrationDtoMapper;
+import greencity.mapping.UserMapper;
+import greencity.mapping.UserVOMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares mapping of a page of users done by {@link UserMapper} with the
+ * {@link ModelMapper} configured the same way as in {@code MapperConfig}.
+ *
+ * <p>
+ * Run with {@code main} from the IDE or
+ * {@code java -cp <test classpath> greencity.benchmark.UserMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<User> users;
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Setup
+    public void setUp() {
+        UserVOMapper userVOMapper = new UserVOMapper();
+        UserAdminRegistrationDtoMapper userAdminRegistrationDtoMapper = new UserAdminRegistrationDtoMapper();
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+            .setMatchingStrategy(MatchingStrategies.STRICT)
+            .setFieldMatchingEnabled(true)
+            .setSkipNullEnabled(true)
+            .setFieldAccessLevel(AccessLevel.PRIVATE);
+        modelMapper.addConverter(userVOMapper);
+        modelMapper.addConverter(userAdminRegistrationDtoMapper);
+        userMapper = new UserMapper(userVOMapper, userAdminRegistrationDtoMapper);
+
+        users = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            users.add(User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@gmail.com")
+                .role(Role.ROLE_USER)
+                .userStatus(UserStatus.ACTIVATED)
+                .emailNotification(EmailNotification.DISABLED)
+                .userCredo("credo")
+                .rating(10.0)
+                .dateOfRegistration(LocalDateTime.now())
+                .lastActivityTime(LocalDateTime.now())
+                .language(Language.builder().id(1L).code("ua").build())
+                .build());
+        }
+    }
+
+    @Benchmark
+    public List<UserForListDto> modelMapperUserForListDto() {
+        return modelMapper.map(users, new TypeToken<List<UserForListDto>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<UserForListDto> userMapperUserForListDto() {
+        List<UserForListDto> dtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            dtos.add(userMapper.toUserForListDto(user));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<UserVO> modelMapperUserVO() {
+        return modelMapper.map(users, new TypeToken<List<UserVO>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<UserVO> userMapperUserVO() {
+        return userMapper.toUserVOs(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UserMapperBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
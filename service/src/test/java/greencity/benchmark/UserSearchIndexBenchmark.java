@@ -0,0 +1,107 @@
+package greencity.benchmark;
+
+import greencity.dto.user.UserSearchDocumentDto;
+import greencity.repository.UserRepo;
+import greencity.service.UserSearchIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures admin search answered by {@link UserSearchIndex} over 1M users,
+ * compared with the scan of all users that {@code LIKE '%...%'} does. Queries
+ * go from selective (one email) to broad (the common email domain).
+ *
+ * <p>
+ * Run with {@code main} from the IDE or
+ * {@code java -cp <test classpath> greencity.benchmark.UserSearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class UserSearchIndexBenchmark {
+    private static final int USERS = 1_000_000;
+    private static final String[] NAMES = {"Anna", "Bohdan", "Iryna", "Oleh", "Petro", "Sofiia", "Taras", "Yulia"};
+    private static final String[] DOMAINS = {"gmail.com", "ukr.net", "i.ua"};
+
+    @Param({"user123456@", "petro", "ukr.net"})
+    private String query;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private List<UserSearchDocumentDto> users;
+    private UserSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            users.add(new UserSearchDocumentDto(id, name + " " + id,
+                "user" + id + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                random.nextInt(4) == 0 ? "Eco credo of " + name : null));
+        }
+        UserRepo userRepo = mock(UserRepo.class);
+        when(userRepo.findSearchDocumentsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int from = (int) invocation.<Long>getArgument(0).longValue();
+            int to = Math.min(from + invocation.<Pageable>getArgument(1).getPageSize(), USERS);
+            return users.subList(from, to);
+        });
+        index = new UserSearchIndex(userRepo, true, 1000);
+        index.loadAll();
+    }
+
+    @Benchmark
+    public Optional<Page<Long>> index() {
+        return index.search(query, pageable);
+    }
+
+    @Benchmark
+    public List<Long> scan() {
+        String normalized = query.toLowerCase();
+        List<Long> ids = new ArrayList<>();
+        for (UserSearchDocumentDto user : users) {
+            if (String.valueOf(user.id()).contains(normalized)
+                || user.name().toLowerCase().contains(normalized)
+                || user.email().toLowerCase().contains(normalized)
+                || user.userCredo() != null && user.userCredo().toLowerCase().contains(normalized)) {
+                ids.add(user.id());
+            }
+        }
+        return ids.subList(0, Math.min(ids.size(), pageable.getPageSize()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UserSearchIndexBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
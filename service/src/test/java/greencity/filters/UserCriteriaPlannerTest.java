@@ -0,0 +1,158 @@
+package greencity.filters;
+
+import greencity.dto.user.UserManagementViewDto;
+import greencity.entity.User;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCriteriaPlannerTest {
+    private final UserCriteriaPlanner planner = new UserCriteriaPlanner();
+
+    @Mock
+    private Root<User> root;
+    @Mock
+    private CriteriaQuery<User> criteriaQuery;
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+    @Mock
+    private Path<String> path;
+    @Mock
+    private Predicate predicate;
+
+    @Test
+    void planDropsBlankAndParsesValuesTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder()
+            .id(" 7 ")
+            .name("  ")
+            .email("test@ukr.net")
+            .userCredo("eco")
+            .role("role_admin")
+            .userStatus("2")
+            .build());
+
+        assertFalse(plan.matchesNothing());
+        assertEquals("ID=7&EMAIL_IS=test@ukr.net&USER_CREDO=eco&ROLE=ROLE_ADMIN&USER_STATUS=ACTIVATED",
+            plan.toString());
+    }
+
+    @Test
+    void planMatchesPartOfEmailWithLikeTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder().email("ukr.net").build());
+
+        assertEquals("EMAIL_CONTAINS=ukr.net", plan.toString());
+    }
+
+    @Test
+    void planOfImpossibleValuesMatchesNothingTest() {
+        assertSame(UserCriteriaPlan.NOTHING, planner.plan(UserManagementViewDto.builder().id("1L").build()));
+        assertSame(UserCriteriaPlan.NOTHING, planner.plan(UserManagementViewDto.builder().role("GUEST").build()));
+        assertSame(UserCriteriaPlan.NOTHING, planner.plan(UserManagementViewDto.builder().userStatus("9").build()));
+        assertTrue(UserCriteriaPlan.NOTHING.matchesNothing());
+    }
+
+    @Test
+    void toPredicateBindsTypedValuesTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder()
+            .name("50%")
+            .role("ROLE_USER")
+            .userStatus("blocked")
+            .build());
+        when(root.<String>get("name")).thenReturn(path);
+        when(root.<String>get("role")).thenReturn(path);
+        when(root.<String>get("userStatus")).thenReturn(path);
+        when(criteriaBuilder.like(path, "%50\\%%", '\\')).thenReturn(predicate);
+        when(criteriaBuilder.equal(path, Role.ROLE_USER)).thenReturn(predicate);
+        when(criteriaBuilder.equal(path, UserStatus.BLOCKED)).thenReturn(predicate);
+        when(criteriaBuilder.and(predicate, predicate, predicate)).thenReturn(predicate);
+
+        assertSame(predicate, plan.toPredicate(root, criteriaQuery, criteriaBuilder));
+        verify(criteriaBuilder).like(path, "%50\\%%", '\\');
+    }
+
+    @Test
+    void planOfEveryCriterionMatchesLikeSpecificationTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder()
+            .id("1")
+            .name("test")
+            .email("test@ukr.net")
+            .userCredo("test")
+            .role("1")
+            .userStatus("2")
+            .build());
+        when(root.<String>get("id")).thenReturn(path);
+        when(root.<String>get("name")).thenReturn(path);
+        when(root.<String>get("email")).thenReturn(path);
+        when(root.<String>get("userCredo")).thenReturn(path);
+        when(root.<String>get("role")).thenReturn(path);
+        when(root.<String>get("userStatus")).thenReturn(path);
+        when(criteriaBuilder.equal(path, 1L)).thenReturn(predicate);
+        when(criteriaBuilder.like(path, "%test%", '\\')).thenReturn(predicate);
+        when(criteriaBuilder.equal(path, "test@ukr.net")).thenReturn(predicate);
+        when(criteriaBuilder.equal(path, Role.ROLE_ADMIN)).thenReturn(predicate);
+        when(criteriaBuilder.equal(path, UserStatus.ACTIVATED)).thenReturn(predicate);
+        when(criteriaBuilder.and(predicate, predicate, predicate, predicate, predicate, predicate))
+            .thenReturn(predicate);
+
+        assertSame(predicate, plan.toPredicate(root, criteriaQuery, criteriaBuilder));
+        verify(criteriaBuilder, times(2)).like(path, "%test%", '\\');
+    }
+
+    @Test
+    void blankCriteriaMatchEveryUserTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder()
+            .id(" ")
+            .name("")
+            .email(" ")
+            .userCredo("")
+            .role(" ")
+            .build());
+        when(criteriaBuilder.and()).thenReturn(predicate);
+
+        assertFalse(plan.matchesNothing());
+        assertEquals("", plan.toString());
+        assertSame(predicate, plan.toPredicate(root, criteriaQuery, criteriaBuilder));
+    }
+
+    @Test
+    void malformedIdMatchesNoUserTest() {
+        UserCriteriaPlan plan = planner.plan(UserManagementViewDto.builder().id("test").build());
+        when(criteriaBuilder.disjunction()).thenReturn(predicate);
+
+        assertSame(UserCriteriaPlan.NOTHING, plan);
+        assertSame(predicate, plan.toPredicate(root, criteriaQuery, criteriaBuilder));
+    }
+
+    @Test
+    void enumsMatchByOrdinalAndByNameAlikeTest() {
+        assertEquals(planner.plan(UserManagementViewDto.builder().role("1").userStatus("2").build()).toString(),
+            planner.plan(UserManagementViewDto.builder().role("ROLE_ADMIN").userStatus("activated").build())
+                .toString());
+    }
+
+    @Test
+    void plansOfSameShapeKeepOwnValuesTest() {
+        UserCriteriaPlan first = planner.plan(UserManagementViewDto.builder().name("anna").role("0").build());
+        UserCriteriaPlan second = planner.plan(UserManagementViewDto.builder().name("oleh").role("1").build());
+
+        assertEquals("NAME=anna&ROLE=ROLE_USER", first.toString());
+        assertEquals("NAME=oleh&ROLE=ROLE_ADMIN", second.toString());
+    }
+}
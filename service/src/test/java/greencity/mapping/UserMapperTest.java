@@ -0,0 +1,77 @@
+package greencity.mapping;
+
+import greencity.ModelUtils;
+import greencity.dto.language.LanguageVO;
+import greencity.dto.user.UserForListDto;
+import greencity.dto.user.UserProfileDtoResponse;
+import greencity.dto.user.UserVO;
+import greencity.entity.User;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+class UserMapperTest {
+    private final UserMapper mapper = new UserMapper(new UserVOMapper(), new UserAdminRegistrationDtoMapper());
+
+    @Test
+    void toUserForListDto() {
+        User user = ModelUtils.getUser();
+        UserForListDto expected = UserForListDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .dateOfRegistration(user.getDateOfRegistration())
+            .email(user.getEmail())
+            .userStatus(user.getUserStatus())
+            .role(user.getRole())
+            .userCredo(user.getUserCredo())
+            .build();
+
+        assertEquals(expected, mapper.toUserForListDto(user));
+    }
+
+    @Test
+    void toUserProfileDtoResponseConvertsRating() {
+        User user = ModelUtils.getUser();
+        user.setRating(13.5);
+
+        UserProfileDtoResponse actual = mapper.toUserProfileDtoResponse(user);
+
+        assertEquals(13.5f, actual.getRating());
+        assertEquals(user.getName(), actual.getName());
+        assertEquals(user.getRole(), actual.getRole());
+    }
+
+    @Test
+    void toUserProfileDtoResponseWithoutRating() {
+        User user = ModelUtils.getUser();
+        user.setRating(null);
+
+        assertNull(mapper.toUserProfileDtoResponse(user).getRating());
+    }
+
+    @Test
+    void toUserKeepsLanguageAndBackReferences() {
+        UserVO userVO = ModelUtils.getUserVOWithData();
+        userVO.setLanguageVO(LanguageVO.builder().id(2L).code("en").build());
+
+        User actual = mapper.toUser(userVO);
+
+        assertEquals(userVO.getId(), actual.getId());
+        assertEquals(userVO.getEmail(), actual.getEmail());
+        assertEquals("en", actual.getLanguage().getCode());
+        assertSame(actual, actual.getVerifyEmail().getUser());
+        assertSame(actual, actual.getOwnSecurity().getUser());
+    }
+
+    @Test
+    void toUserVOsDelegatesToConverter() {
+        User user = ModelUtils.getUser();
+
+        assertEquals(new UserVOMapper().convert(user), mapper.toUserVOs(List.of(user)).get(0));
+    }
+}
@@ -14,7 +14,9 @@ import greencity.enums.UserStatus;
 import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.jwt.JwtTool;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
+import greencity.service.UserStatusCounters;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
@@ -64,6 +66,10 @@ class GoogleAuthServiceImplTest {
     private HttpResponse httpResponse;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private RegistrationStatisticsService registrationStatisticsService;
+    @Mock
+    private UserStatusCounters userStatusCounters;
     @InjectMocks
     private GoogleAuthServiceImpl googleAuthService;
 
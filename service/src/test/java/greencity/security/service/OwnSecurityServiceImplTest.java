@@ -7,9 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,9 +19,12 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 import greencity.ModelUtils;
 import greencity.constant.ErrorMessage;
+import greencity.dto.language.LanguageVO;
 import greencity.dto.ownsecurity.OwnSecurityVO;
+import greencity.dto.user.SignInCredentialsDto;
 import greencity.dto.user.UserAdminRegistrationDto;
 import greencity.dto.user.UserManagementDto;
+import greencity.dto.user.UserRefreshTokenDto;
 import greencity.dto.user.UserVO;
 import greencity.dto.verifyemail.VerifyEmailVO;
 import greencity.entity.Language;
@@ -37,7 +42,9 @@ import greencity.exception.exceptions.UserBlockedException;
 import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.exception.exceptions.WrongEmailException;
 import greencity.exception.exceptions.WrongPasswordException;
+import greencity.mapping.UserMapper;
 import greencity.repository.UserRepo;
+import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.ownsecurity.EmployeeSignUpDto;
 import greencity.security.dto.ownsecurity.OwnSignInDto;
 import greencity.security.dto.ownsecurity.OwnSignUpDto;
@@ -47,8 +54,10 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.RegistrationStatisticsService;
 import greencity.service.UserService;
-import io.jsonwebtoken.ExpiredJwtException;
+import greencity.service.UserStatusCounters;
+import io.jsonwebtoken.MalformedJwtException;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -92,11 +101,19 @@ class OwnSecurityServiceImplTest {
     @Mock
     EmailService emailService;
 
+    @Mock
+    UserMapper userMapper;
+
+    @Mock
+    RegistrationStatisticsService registrationStatisticsService;
+
+    @Mock
+    UserStatusCounters userStatusCounters;
+
     private OwnSecurityService ownSecurityService;
 
     private UserVO verifiedUser;
     private OwnSignInDto ownSignInDto;
-    private UserVO notVerifiedUser;
     private UpdatePasswordDto updatePasswordDto;
     private UserManagementDto userManagementDto;
 
@@ -105,7 +122,7 @@ class OwnSecurityServiceImplTest {
         initMocks(this);
         ownSecurityService = new OwnSecurityServiceImpl(ownSecurityRepo, userService, passwordEncoder,
             jwtTool, 1, restorePasswordEmailRepo, modelMapper,
-            userRepo, emailService);
+            userRepo, emailService, userMapper, registrationStatisticsService, userStatusCounters);
 
         verifiedUser = UserVO.builder()
             .email("test@gmail.com")
@@ -118,14 +135,6 @@ class OwnSecurityServiceImplTest {
             .email("test@gmail.com")
             .password("password")
             .build();
-        notVerifiedUser = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .verifyEmail(new VerifyEmailVO())
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
         updatePasswordDto = UpdatePasswordDto.builder()
             .password("newPassword")
             .confirmPassword("newPassword")
@@ -153,6 +162,8 @@ class OwnSecurityServiceImplTest {
             refEq(user.getVerifyEmail().getToken()),
             refEq("en"), eq(false));
         verify(jwtTool, times(2)).generateTokenKey();
+        verify(registrationStatisticsService).recordRegistration(any(LocalDateTime.class));
+        verify(userStatusCounters).move(null, UserStatus.CREATED, 1);
     }
 
     @Test
@@ -165,108 +176,128 @@ class OwnSecurityServiceImplTest {
         when(userRepo.save(any(User.class))).thenThrow(DataIntegrityViolationException.class);
         assertThrows(UserAlreadyRegisteredException.class,
             () -> ownSecurityService.signUp(ownSignUpDto, "en"));
+        verify(registrationStatisticsService, never()).recordRegistration(any());
+    }
+
+    private SignInCredentialsDto signInCredentials(UserStatus userStatus, String password,
+        boolean pendingVerification) {
+        return new SignInCredentialsDto(1L, "test@gmail.com", "name", Role.ROLE_USER, userStatus,
+            "refresh-key", "ua", password, pendingVerification);
     }
 
     @Test
     void signIn() {
-        when(userService.findByEmail(anyString())).thenReturn(verifiedUser);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.ACTIVATED, "password", false)));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(jwtTool.createAccessToken(any(UserVO.class))).thenReturn("new-access-token");
         when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
+        UserVO tokenUser = UserVO.builder()
+            .id(1L)
+            .email("test@gmail.com")
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
+            .refreshTokenKey("refresh-key")
+            .languageVO(LanguageVO.builder().code("ua").build())
+            .build();
+
+        SuccessSignInDto result = ownSecurityService.signIn(ownSignInDto);
+
+        assertEquals(new SuccessSignInDto(1L, "new-access-token", "new-refresh-token", "name", true), result);
+        verify(passwordEncoder, times(1)).matches("password", "password");
+        verify(jwtTool, times(1)).createAccessToken(tokenUser);
+        verify(jwtTool, times(1)).createRefreshToken(tokenUser);
+        verify(userService, never()).findByEmail(anyString());
+        verify(ownSecurityRepo, never()).rehashPassword(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void signInRehashesOutdatedPasswordTest() {
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.ACTIVATED, "password", false)));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("password")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("rehashed");
 
         ownSecurityService.signIn(ownSignInDto);
 
-        verify(userService, times(1)).findByEmail(anyString());
-        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
-        verify(jwtTool, times(1)).createAccessToken(anyString(), any(Role.class));
-        verify(jwtTool, times(1)).createRefreshToken(any(UserVO.class));
+        verify(ownSecurityRepo).rehashPassword(1L, "password", "rehashed");
     }
 
     @Test
     void signInNotVerifiedUser() {
-        when(userService.findByEmail(anyString())).thenReturn(notVerifiedUser);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
-        when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.ACTIVATED, "password", true)));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(EmailNotVerified.class,
             () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInNullUserTest() {
-        when(userService.findByEmail("test@gmail.com")).thenReturn(null);
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com")).thenReturn(Optional.empty());
         assertThrows(WrongEmailException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInWrongPasswordTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .ownSecurity(null)
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.ACTIVATED, null, false)));
         assertThrows(WrongPasswordException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInDeactivatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.DEACTIVATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.DEACTIVATED, "password", false)));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInBlockedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.BLOCKED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.BLOCKED, "password", false)));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInCreatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.CREATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        when(userRepo.findSignInCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(signInCredentials(UserStatus.CREATED, "password", false)));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void updateAccessTokensTest() {
+        UserRefreshTokenDto user = new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER,
+            UserStatus.ACTIVATED, "old-key", "ua");
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenByEmail("test@gmail.com")).thenReturn(Optional.of(user));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(true);
         when(jwtTool.generateTokenKey()).thenReturn("token-key");
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(true);
+        when(userRepo.compareAndSetRefreshTokenKey(1L, "old-key", "token-key")).thenReturn(1);
+        UserVO expected = UserVO.builder()
+            .id(1L)
+            .email("test@gmail.com")
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
+            .refreshTokenKey("token-key")
+            .languageVO(LanguageVO.builder().code("ua").build())
+            .build();
+
         ownSecurityService.updateAccessTokens("12345");
-        verify(jwtTool).createAccessToken(verifiedUser.getEmail(), verifiedUser.getRole());
-        verify(jwtTool).createRefreshToken(verifiedUser);
+
+        verify(jwtTool).createAccessToken(expected);
+        verify(jwtTool).createRefreshToken(expected);
+        verify(userService, never()).findByEmail(anyString());
     }
 
     @Test
     void updateAccessTokensBadRefreshTokenExceptionTest() {
-        when(jwtTool.getEmailOutOfAccessToken("12345")).thenThrow(ExpiredJwtException.class);
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenThrow(MalformedJwtException.class);
         assertThrows(BadRefreshTokenException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
@@ -274,26 +305,41 @@ class OwnSecurityServiceImplTest {
     @Test
     void updateAccessTokensBadRefreshTokenTest() {
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(false);
+        when(userRepo.findRefreshTokenByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.ACTIVATED, "old-key", null)));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(false);
         assertThrows(BadRefreshTokenException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(userRepo, never()).compareAndSetRefreshTokenKey(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void updateAccessTokensConcurrentlyRotatedKeyTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findRefreshTokenByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.ACTIVATED, "old-key", null)));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(true);
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(userRepo.compareAndSetRefreshTokenKey(1L, "old-key", "token-key")).thenReturn(0);
+        assertThrows(BadRefreshTokenException.class,
+            () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(jwtTool, never()).createRefreshToken(any(UserVO.class));
     }
 
     @Test
     void updateAccessTokensBlockedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.BLOCKED);
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.BLOCKED, "old-key", null)));
         assertThrows(UserBlockedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
 
     @Test
     void updateAccessTokensDeactivatedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.DEACTIVATED);
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.DEACTIVATED, "old-key", null)));
         assertThrows(UserDeactivatedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
@@ -345,7 +391,7 @@ class OwnSecurityServiceImplTest {
         when(jwtTool.generateTokenKey()).thenReturn("token-key");
         when(userRepo.findByEmail(anyString())).thenReturn(Optional.empty());
         when(userRepo.save(any())).thenReturn(user);
-        when(modelMapper.map(user, UserAdminRegistrationDto.class)).thenReturn(dto);
+        when(userMapper.toUserAdminRegistrationDto(user)).thenReturn(dto);
 
         UserAdminRegistrationDto expected = ownSecurityService.managementRegisterUser(userManagementDto);
 
@@ -353,6 +399,7 @@ class OwnSecurityServiceImplTest {
 
         verify(restorePasswordEmailRepo, times(1)).save(any());
         verify(emailService).sendApprovalEmail(1L, TestConst.NAME, TestConst.EMAIL, "token-key");
+        verify(registrationStatisticsService).recordRegistration(any(LocalDateTime.class));
     }
 
     @Test
@@ -12,6 +12,7 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.UserStatusCounters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -47,6 +48,8 @@ class PasswordRecoveryServiceImplTest {
     private OwnSecurityRepo ownSecurityRepo;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserStatusCounters userStatusCounters;
     @InjectMocks
     private PasswordRecoveryServiceImpl passwordRecoveryService;
 
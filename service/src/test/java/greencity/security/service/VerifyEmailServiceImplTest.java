@@ -8,6 +8,7 @@ import greencity.enums.UserStatus;
 import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
 import greencity.repository.UserRepo;
 import greencity.security.repository.VerifyEmailRepo;
+import greencity.service.UserStatusCounters;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,8 @@ class VerifyEmailServiceImplTest {
     private ModelMapper modelMapper;
     @Mock
     private UserRepo userRepo;
+    @Mock
+    private UserStatusCounters userStatusCounters;
 
     private final User user = User.builder()
         .id(1L)
@@ -54,6 +57,7 @@ class VerifyEmailServiceImplTest {
         verifyEmailService.verifyByToken(1L, "token");
         verify(verifyEmailRepo, times(1)).deleteVerifyEmailByTokenAndUserId(1L, "token");
         verify(userRepo, times(1)).findById(1L);
+        verify(userStatusCounters).move(UserStatus.CREATED, UserStatus.ACTIVATED, 1);
     }
 
     @Test
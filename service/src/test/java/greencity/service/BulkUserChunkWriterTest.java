@@ -0,0 +1,104 @@
+package greencity.service;
+
+import greencity.dto.user.BulkUserOperationDto;
+import greencity.dto.user.UserIdentityDto;
+import greencity.enums.BulkUserAction;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.UserDeactivationRepo;
+import greencity.repository.UserRepo;
+import greencity.security.events.UserStatusChangedEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUserChunkWriterTest {
+    private static final UserIdentityDto ANNA = new UserIdentityDto(1L, "uuid-1", "anna@gmail.com", "Anna",
+        Role.ROLE_USER, UserStatus.ACTIVATED, "ua");
+    private static final UserIdentityDto OLEH = new UserIdentityDto(2L, "uuid-2", "oleh@gmail.com", "Oleh",
+        Role.ROLE_MODERATOR, UserStatus.BLOCKED, "en");
+    private static final UserIdentityDto TARAS = new UserIdentityDto(3L, "uuid-3", "taras@gmail.com", "Taras",
+        Role.ROLE_USER, UserStatus.DEACTIVATED, "en");
+
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private UserDeactivationRepo userDeactivationRepo;
+    @Mock
+    private UserStatusCounters userStatusCounters;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @InjectMocks
+    private BulkUserChunkWriter chunkWriter;
+
+    @Test
+    void deactivateChangesOnlyUsersWithOtherStatusTest() {
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(userRepo.findIdentitiesByIdIn(ids)).thenReturn(List.of(ANNA, OLEH, TARAS));
+
+        List<UserIdentityDto> changed = chunkWriter.write(BulkUserOperationDto.builder()
+            .ids(ids)
+            .action(BulkUserAction.DEACTIVATE)
+            .reasons(List.of("{en} spam", "{ua} спам"))
+            .build(), ids);
+
+        assertEquals(List.of(ANNA, OLEH), changed);
+        verify(userRepo).updateUsersStatus(List.of(1L, 2L), UserStatus.DEACTIVATED);
+        verify(userDeactivationRepo).saveReasonsOfUsers(eq(List.of(1L, 2L)), eq("{en} spam/{ua} спам"),
+            any(LocalDateTime.class));
+        verify(userStatusCounters).move(UserStatus.ACTIVATED, UserStatus.DEACTIVATED, 1);
+        verify(userStatusCounters).move(UserStatus.BLOCKED, UserStatus.DEACTIVATED, 1);
+        ArgumentCaptor<UserStatusChangedEvent> event = ArgumentCaptor.forClass(UserStatusChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L, 2L), event.getValue().getUserIds());
+    }
+
+    @Test
+    void setRoleChangesOnlyUsersWithOtherRoleTest() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(userRepo.findIdentitiesByIdIn(ids)).thenReturn(List.of(ANNA, OLEH, TARAS));
+
+        List<UserIdentityDto> changed = chunkWriter.write(BulkUserOperationDto.builder()
+            .ids(ids)
+            .action(BulkUserAction.SET_ROLE)
+            .role(Role.ROLE_MODERATOR)
+            .build(), ids);
+
+        assertEquals(List.of(ANNA, TARAS), changed);
+        verify(userRepo).updateUsersRole(List.of(1L, 3L), Role.ROLE_MODERATOR);
+        verify(applicationEventPublisher, times(2)).publishEvent(any(UserStatusChangedEvent.class));
+        verifyNoInteractions(userStatusCounters, userDeactivationRepo);
+    }
+
+    @Test
+    void unchangedChunkRunsNoStatementsTest() {
+        List<Long> ids = List.of(3L, 4L);
+        when(userRepo.findIdentitiesByIdIn(ids)).thenReturn(List.of(TARAS));
+
+        assertTrue(chunkWriter.write(BulkUserOperationDto.builder()
+            .ids(ids)
+            .action(BulkUserAction.SET_STATUS)
+            .userStatus(UserStatus.DEACTIVATED)
+            .build(), ids).isEmpty());
+        verify(userRepo, never()).updateUsersStatus(anyCollection(), any());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+}
@@ -0,0 +1,182 @@
+package greencity.service;
+
+import greencity.dto.user.BulkOperationProgressDto;
+import greencity.dto.user.BulkUserOperationDto;
+import greencity.dto.user.UserActivationDto;
+import greencity.dto.user.UserDeactivationReasonDto;
+import greencity.dto.user.UserIdentityDto;
+import greencity.enums.BulkOperationState;
+import greencity.enums.BulkUserAction;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.repository.UserRepo;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUserOperationServiceImplTest {
+    private static final String ADMIN_EMAIL = "admin@gmail.com";
+
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private BulkUserChunkWriter chunkWriter;
+    @Mock
+    private EmailService emailService;
+
+    private BulkUserOperationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkUserOperationServiceImpl(userRepo, chunkWriter, emailService, Runnable::run, 2, 5, 60);
+    }
+
+    @Test
+    void deactivateChunksSelectionAndSendsBatchPerChunkTest() {
+        BulkUserOperationDto operation = BulkUserOperationDto.builder()
+            .ids(List.of(1L, 2L, 9L, 3L, 2L))
+            .action(BulkUserAction.DEACTIVATE)
+            .reasons(List.of("{en} spam", "{ua} спам"))
+            .build();
+        UserIdentityDto anna = new UserIdentityDto(1L, "uuid-1", "anna@gmail.com", "Anna", Role.ROLE_USER,
+            UserStatus.ACTIVATED, "ua");
+        UserIdentityDto oleh = new UserIdentityDto(3L, "uuid-3", "oleh@gmail.com", "Oleh", Role.ROLE_USER,
+            UserStatus.BLOCKED, null);
+        when(userRepo.findIdByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(9L));
+        when(chunkWriter.write(operation, List.of(1L, 2L))).thenReturn(List.of(anna));
+        when(chunkWriter.write(operation, List.of(3L))).thenReturn(List.of(oleh));
+
+        BulkOperationProgressDto started = service.start(operation, ADMIN_EMAIL);
+        BulkOperationProgressDto progress = service.getProgress(started.getId());
+
+        assertEquals(3, started.getTotal());
+        assertEquals(BulkOperationState.COMPLETED, progress.getState());
+        assertEquals(3, progress.getProcessed());
+        assertEquals(2, progress.getAffected());
+        verify(emailService).sendReasonsOfDeactivation(List.of(UserDeactivationReasonDto.builder()
+            .email("anna@gmail.com").name("Anna").deactivationReasons(List.of("спам")).lang("ua").build()));
+        verify(emailService).sendReasonsOfDeactivation(List.of(UserDeactivationReasonDto.builder()
+            .email("oleh@gmail.com").name("Oleh").deactivationReasons(List.of("spam")).lang("en").build()));
+    }
+
+    @Test
+    void activateSendsActivationEmailsTest() {
+        BulkUserOperationDto operation = BulkUserOperationDto.builder()
+            .ids(List.of(1L))
+            .action(BulkUserAction.ACTIVATE)
+            .build();
+        when(userRepo.findIdByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(9L));
+        when(chunkWriter.write(operation, List.of(1L))).thenReturn(List.of(new UserIdentityDto(1L, "uuid-1",
+            "anna@gmail.com", "Anna", Role.ROLE_USER, UserStatus.DEACTIVATED, "en")));
+
+        service.start(operation, ADMIN_EMAIL);
+
+        verify(emailService).sendMessagesOfActivation(List.of(UserActivationDto.builder()
+            .email("anna@gmail.com").name("Anna").lang("en").build()));
+    }
+
+    @Test
+    void failedEmailsDoNotStopOperationTest() {
+        BulkUserOperationDto operation = BulkUserOperationDto.builder()
+            .ids(List.of(1L, 2L, 3L))
+            .action(BulkUserAction.ACTIVATE)
+            .build();
+        UserIdentityDto anna = new UserIdentityDto(1L, "uuid-1", "anna@gmail.com", "Anna", Role.ROLE_USER,
+            UserStatus.DEACTIVATED, "en");
+        UserIdentityDto petro = new UserIdentityDto(2L, "uuid-2", "petro@gmail.com", "Petro", Role.ROLE_USER,
+            UserStatus.DEACTIVATED, "en");
+        UserIdentityDto oleh = new UserIdentityDto(3L, "uuid-3", "oleh@gmail.com", "Oleh", Role.ROLE_USER,
+            UserStatus.DEACTIVATED, "en");
+        when(userRepo.findIdByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(9L));
+        when(chunkWriter.write(operation, List.of(1L, 2L))).thenReturn(List.of(anna, petro));
+        when(chunkWriter.write(operation, List.of(3L))).thenReturn(List.of(oleh));
+        doThrow(new IllegalStateException("mail server is down"))
+            .doNothing()
+            .when(emailService).sendMessagesOfActivation(any());
+
+        BulkOperationProgressDto progress = service.getProgress(service.start(operation, ADMIN_EMAIL).getId());
+
+        assertEquals(BulkOperationState.COMPLETED, progress.getState());
+        assertEquals(3, progress.getProcessed());
+        assertEquals(3, progress.getAffected());
+        assertEquals(2, progress.getNotificationFailures());
+        verify(chunkWriter).write(operation, List.of(3L));
+        verify(emailService, times(2)).sendMessagesOfActivation(any());
+    }
+
+    @Test
+    void failedChunkStopsOperationTest() {
+        BulkUserOperationDto operation = BulkUserOperationDto.builder()
+            .ids(List.of(1L, 2L, 3L))
+            .action(BulkUserAction.SET_ROLE)
+            .role(Role.ROLE_MODERATOR)
+            .build();
+        when(userRepo.findIdByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(9L));
+        when(chunkWriter.write(operation, List.of(1L, 2L))).thenReturn(List.of());
+        when(chunkWriter.write(operation, List.of(3L))).thenThrow(new IllegalStateException("database is down"));
+
+        BulkOperationProgressDto progress = service.getProgress(service.start(operation, ADMIN_EMAIL).getId());
+
+        assertEquals(BulkOperationState.FAILED, progress.getState());
+        assertEquals(2, progress.getProcessed());
+        assertEquals("database is down", progress.getError());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void incompleteOrTooLargeOperationsAreRejectedTest() {
+        BulkUserOperationDto withoutReasons = BulkUserOperationDto.builder()
+            .ids(List.of(1L))
+            .action(BulkUserAction.DEACTIVATE)
+            .build();
+        BulkUserOperationDto withoutStatus = BulkUserOperationDto.builder()
+            .ids(List.of(1L))
+            .action(BulkUserAction.SET_STATUS)
+            .build();
+        BulkUserOperationDto tooLarge = BulkUserOperationDto.builder()
+            .ids(List.of(1L, 2L, 3L, 4L, 5L, 6L))
+            .action(BulkUserAction.ACTIVATE)
+            .build();
+
+        assertThrows(BadRequestException.class, () -> service.start(withoutReasons, ADMIN_EMAIL));
+        assertThrows(BadRequestException.class, () -> service.start(withoutStatus, ADMIN_EMAIL));
+        assertThrows(BadRequestException.class, () -> service.start(tooLarge, ADMIN_EMAIL));
+        verify(chunkWriter, never()).write(any(), any());
+    }
+
+    @Test
+    void busyExecutorRejectsOperationTest() {
+        service = new BulkUserOperationServiceImpl(userRepo, chunkWriter, emailService, task -> {
+            throw new RejectedExecutionException();
+        }, 2, 5, 60);
+        when(userRepo.findIdByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(9L));
+
+        assertThrows(BadRequestException.class, () -> service.start(BulkUserOperationDto.builder()
+            .ids(List.of(1L))
+            .action(BulkUserAction.ACTIVATE)
+            .build(), ADMIN_EMAIL));
+    }
+
+    @Test
+    void unknownOperationIsNotFoundTest() {
+        assertThrows(NotFoundException.class, () -> service.getProgress("unknown"));
+    }
+}
@@ -0,0 +1,45 @@
+package greencity.service;
+
+import greencity.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserCountStrategyTest {
+    @Mock
+    private UserCountStrategy delegate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsEverySignatureOnceTest() {
+        Specification<User> spec = mock(Specification.class);
+        when(delegate.count("filter:a", spec)).thenReturn(5L);
+        when(delegate.count("filter:b", spec)).thenReturn(7L);
+        CachedUserCountStrategy strategy = new CachedUserCountStrategy(delegate, 100, 60);
+
+        assertEquals(5L, strategy.count("filter:a", spec));
+        assertEquals(5L, strategy.count("filter:a", spec));
+        assertEquals(7L, strategy.count("filter:b", spec));
+
+        verify(delegate, times(1)).count("filter:a", spec);
+        verify(delegate, times(1)).count("filter:b", spec);
+    }
+
+    @Test
+    void expiredCountIsCountedAgainTest() {
+        when(delegate.count("all", null)).thenReturn(1L, 2L);
+        CachedUserCountStrategy strategy = new CachedUserCountStrategy(delegate, 100, 0);
+
+        assertEquals(1L, strategy.count("all", null));
+        assertEquals(2L, strategy.count("all", null));
+    }
+}
@@ -230,6 +230,31 @@ class EmailServiceImplTest {
         verify(javaMailSender).createMimeMessage();
     }
 
+    @Test
+    void sendReasonsOfDeactivationSendsOneBatchTest() {
+        UserDeactivationReasonDto first = UserDeactivationReasonDto.builder()
+                .deactivationReasons(List.of("test"))
+                .lang("en")
+                .email("first@ukr.net")
+                .name("first")
+                .build();
+        UserDeactivationReasonDto second = UserDeactivationReasonDto.builder()
+                .deactivationReasons(List.of("тест"))
+                .lang("ua")
+                .email("second@ukr.net")
+                .name("second")
+                .build();
+        service.sendReasonsOfDeactivation(List.of(first, second));
+        verify(javaMailSender, times(2)).createMimeMessage();
+        verify(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+    }
+
+    @Test
+    void sendMessagesOfActivationSkipsEmptyBatchTest() {
+        service.sendMessagesOfActivation(List.of());
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+    }
+
     @Test
     void sendUserViolationEmailTest() {
         UserViolationMailDto dto = ModelUtils.getUserViolationMailDto();
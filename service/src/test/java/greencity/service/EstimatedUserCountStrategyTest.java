@@ -0,0 +1,69 @@
+package greencity.service;
+
+import greencity.entity.User;
+import greencity.repository.UserRepo;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstimatedUserCountStrategyTest {
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private UserCountStrategy exact;
+    @Mock
+    private UserCountStrategy filtered;
+
+    private EstimatedUserCountStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new EstimatedUserCountStrategy(userRepo, exact, filtered, 1000);
+    }
+
+    @Test
+    void largeTableIsEstimatedTest() {
+        when(userRepo.estimateUsersAmount()).thenReturn(Optional.of(1_200_000L));
+
+        assertEquals(1_200_000L, strategy.count("all", null));
+        verify(exact, never()).count("all", null);
+    }
+
+    @Test
+    void smallTableIsCountedExactlyTest() {
+        when(userRepo.estimateUsersAmount()).thenReturn(Optional.of(999L));
+        when(exact.count("all", null)).thenReturn(1003L);
+
+        assertEquals(1003L, strategy.count("all", null));
+    }
+
+    @Test
+    void notAnalyzedTableIsCountedExactlyTest() {
+        when(userRepo.estimateUsersAmount()).thenReturn(Optional.of(-1L));
+        when(exact.count("all", null)).thenReturn(3L);
+
+        assertEquals(3L, strategy.count("all", null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filteredUsersGoToFilteredStrategyTest() {
+        Specification<User> spec = mock(Specification.class);
+        when(filtered.count("search:anna", spec)).thenReturn(4L);
+
+        assertEquals(4L, strategy.count("search:anna", spec));
+        verifyNoInteractions(userRepo, exact);
+    }
+}
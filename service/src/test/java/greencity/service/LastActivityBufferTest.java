@@ -0,0 +1,88 @@
+package greencity.service;
+
+import greencity.repository.UserRepo;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LastActivityBufferTest {
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime LATER = EARLIER.plusMinutes(5);
+
+    @Mock
+    private UserRepo userRepo;
+
+    private LastActivityBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new LastActivityBuffer(userRepo, 2);
+    }
+
+    @Test
+    void batchSizeIsBoundedTest() {
+        assertThrows(IllegalArgumentException.class, () -> new LastActivityBuffer(userRepo, 0));
+        LastActivityBuffer bounded = new LastActivityBuffer(userRepo, 20_000);
+        for (long userId = 1; userId <= LastActivityBuffer.MAX_BATCH_SIZE + 1; userId++) {
+            bounded.record(userId, EARLIER);
+        }
+
+        bounded.flush();
+
+        verify(userRepo, times(2)).updateLastActivityTimes(anyMap());
+    }
+
+    @Test
+    void recordKeepsLatestTimeTest() {
+        buffer.record(1L, LATER);
+        buffer.record(1L, EARLIER);
+
+        assertEquals(Optional.of(LATER), buffer.pending(1L));
+        assertEquals(Optional.empty(), buffer.pending(2L));
+    }
+
+    @Test
+    void flushWritesByBatchesAndClearsPendingTest() {
+        buffer.record(1L, EARLIER);
+        buffer.record(2L, EARLIER);
+        buffer.record(3L, LATER);
+
+        buffer.flush();
+
+        verify(userRepo, times(2)).updateLastActivityTimes(anyMap());
+        verify(userRepo).updateLastActivityTimes(Map.of(3L, LATER));
+        assertEquals(Optional.empty(), buffer.pending(1L));
+    }
+
+    @Test
+    void failedBatchIsKeptForNextFlushTest() {
+        buffer.record(1L, EARLIER);
+        when(userRepo.updateLastActivityTimes(Map.of(1L, EARLIER))).thenThrow(new IllegalStateException("down"));
+
+        buffer.flush();
+        buffer.record(1L, LATER);
+
+        assertEquals(Optional.of(LATER), buffer.pending(1L));
+    }
+
+    @Test
+    void emptyBufferRunsNoStatementsTest() {
+        buffer.drain();
+
+        verify(userRepo, never()).updateLastActivityTimes(anyMap());
+    }
+}
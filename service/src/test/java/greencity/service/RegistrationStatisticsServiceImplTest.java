@@ -0,0 +1,79 @@
+package greencity.service;
+
+import greencity.dto.user.RegistrationStatisticsDto;
+import greencity.entity.RegistrationStatistics;
+import greencity.enums.RegistrationGrain;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.repository.RegistrationStatisticsRepo;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationStatisticsServiceImplTest {
+    @Mock
+    private RegistrationStatisticsRepo registrationStatisticsRepo;
+
+    @InjectMocks
+    private RegistrationStatisticsServiceImpl registrationStatisticsService;
+
+    @Test
+    void recordRegistrationIncrementsBucketOfEveryGrainTest() {
+        registrationStatisticsService.recordRegistration(LocalDateTime.of(2024, 5, 16, 23, 59));
+
+        verify(registrationStatisticsRepo).increment("DAY", LocalDate.of(2024, 5, 16));
+        verify(registrationStatisticsRepo).increment("WEEK", LocalDate.of(2024, 5, 13));
+        verify(registrationStatisticsRepo).increment("MONTH", LocalDate.of(2024, 5, 1));
+    }
+
+    @Test
+    void findStatisticsIncludesBucketStartingBeforeRangeTest() {
+        RegistrationStatistics may = new RegistrationStatistics(RegistrationGrain.MONTH, LocalDate.of(2024, 5, 1), 7);
+        when(registrationStatisticsRepo.findAllByGrainAndBucketStartBetweenOrderByBucketStart(RegistrationGrain.MONTH,
+            LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 30))).thenReturn(List.of(may));
+
+        assertEquals(List.of(new RegistrationStatisticsDto(LocalDate.of(2024, 5, 1), 7)),
+            registrationStatisticsService.findStatistics(RegistrationGrain.MONTH, LocalDate.of(2024, 5, 20),
+                LocalDate.of(2024, 6, 30)));
+    }
+
+    @Test
+    void findStatisticsOfReversedRangeThrowsTest() {
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 1, 1);
+
+        assertThrows(BadRequestException.class,
+            () -> registrationStatisticsService.findStatistics(RegistrationGrain.DAY, from, to));
+    }
+
+    @Test
+    void backfillRebuildsEveryGrainTest() {
+        registrationStatisticsService.backfill();
+
+        verify(registrationStatisticsRepo).deleteAllByGrainName("WEEK");
+        verify(registrationStatisticsRepo).backfill("DAY", "day");
+        verify(registrationStatisticsRepo).backfill("WEEK", "week");
+        verify(registrationStatisticsRepo).backfill("MONTH", "month");
+    }
+
+    @Test
+    void backfillIfEmptySkipsBuiltStatisticsTest() {
+        when(registrationStatisticsRepo.count()).thenReturn(3L);
+
+        registrationStatisticsService.backfillIfEmpty();
+
+        verify(registrationStatisticsRepo, never()).backfill(anyString(), anyString());
+    }
+}
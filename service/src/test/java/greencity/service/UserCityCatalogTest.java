@@ -0,0 +1,68 @@
+package greencity.service;
+
+import greencity.dto.user.CityUsersAmountDto;
+import greencity.repository.UserRepo;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCityCatalogTest {
+    @Mock
+    private UserRepo userRepo;
+
+    @InjectMocks
+    private UserCityCatalog catalog;
+
+    @Test
+    void citiesAreLoadedOnceAndSortedTest() {
+        when(userRepo.countUsersByCity()).thenReturn(List.of(
+            new CityUsersAmountDto("Lviv", 2), new CityUsersAmountDto(" ", 1), new CityUsersAmountDto("Kyiv", 1)));
+
+        assertEquals(List.of("Kyiv", "Lviv"), catalog.cities());
+        assertEquals(List.of("Kyiv", "Lviv"), catalog.cities());
+        verify(userRepo, times(1)).countUsersByCity();
+    }
+
+    @Test
+    void cityChangesMoveUsersBetweenCitiesTest() {
+        when(userRepo.countUsersByCity()).thenReturn(List.of(
+            new CityUsersAmountDto("Lviv", 2), new CityUsersAmountDto("Kyiv", 1)));
+        catalog.cities();
+
+        catalog.onUserCityChanged(new UserCityChangedEvent(this, "Kyiv", "Odesa"));
+        catalog.onUserCityChanged(new UserCityChangedEvent(this, "Lviv", null));
+        catalog.onUserCityChanged(new UserCityChangedEvent(this, "Dnipro", "Lviv"));
+
+        assertEquals(List.of("Lviv", "Odesa"), catalog.cities());
+    }
+
+    @Test
+    void changesBeforeLoadingAreLeftToLoadingTest() {
+        catalog.onUserCityChanged(new UserCityChangedEvent(this, null, "Lviv"));
+
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void reconcileReplacesDriftedAmountsTest() {
+        when(userRepo.countUsersByCity())
+            .thenReturn(List.of(new CityUsersAmountDto("Lviv", 1)))
+            .thenReturn(List.of(new CityUsersAmountDto("Kyiv", 3)));
+        catalog.cities();
+        catalog.onUserCityChanged(new UserCityChangedEvent(this, null, "Odesa"));
+
+        catalog.reconcile();
+
+        assertEquals(List.of("Kyiv"), catalog.cities());
+    }
+}
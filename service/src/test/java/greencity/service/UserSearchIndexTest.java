@@ -0,0 +1,122 @@
+package greencity.service;
+
+import greencity.dto.user.UserSearchDocumentDto;
+import greencity.entity.listener.UserWrittenEvent;
+import greencity.repository.UserRepo;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+    private static final UserSearchDocumentDto ANNA = new UserSearchDocumentDto(1L, "Anna", "anna@gmail.com", null);
+    private static final UserSearchDocumentDto HANNA =
+        new UserSearchDocumentDto(2L, "Hanna", "hanna@gmail.com", "Annals of history");
+    private static final UserSearchDocumentDto OLEH = new UserSearchDocumentDto(3L, "Oleh", "oleh@ukr.net", null);
+
+    @Mock
+    private UserRepo userRepo;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(userRepo, true, 2);
+    }
+
+    @Test
+    void searchBeforeLoadingGoesToDatabaseTest() {
+        index.put(ANNA);
+
+        assertTrue(index.search("anna", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchRanksMatchesTest() {
+        load();
+
+        assertEquals(List.of(1L, 2L), ids(index.search("ANNA", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(index.search("ukr.net", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(index.search("petro", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void searchPagesAndSortsTest() {
+        load();
+
+        Optional<Page<Long>> page = index.search("gmail", PageRequest.of(1, 1, Sort.by(Sort.Order.desc("name"))));
+
+        assertEquals(List.of(1L), ids(page));
+        assertEquals(2, page.orElseThrow().getTotalElements());
+    }
+
+    @Test
+    void unsupportedQueriesGoToDatabaseTest() {
+        load();
+
+        assertTrue(index.search("an", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search("an%a", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search(null, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search("anna", PageRequest.of(0, 10, Sort.by("dateOfRegistration"))).isEmpty());
+    }
+
+    @Test
+    void writtenUsersAreReindexedTest() {
+        load();
+
+        index.onUserWritten(new UserWrittenEvent(this, 3L,
+            new UserSearchDocumentDto(3L, "Oleh", "oleh@gmail.com", null)));
+        index.onUserWritten(new UserWrittenEvent(this, 1L, null));
+
+        assertEquals(List.of(2L, 3L), ids(index.search("gmail", PageRequest.of(0, 10, Sort.by("id")))));
+        assertEquals(List.of(), ids(index.search("ukr.net", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void slotOfRemovedUserIsReusedTest() {
+        load();
+
+        index.remove(1L);
+        index.put(new UserSearchDocumentDto(4L, "Petro", "petro@ukr.net", null));
+        index.put(new UserSearchDocumentDto(5L, "Ivan", "ivan@gmail.com", null));
+
+        assertEquals(List.of(4L), ids(index.search("petro", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(index.search("anna", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L, 5L), ids(index.search("gmail", PageRequest.of(0, 10, Sort.by("id")))));
+    }
+
+    @Test
+    void writesDuringLoadingWinOverLoadedBatchesTest() {
+        when(userRepo.findSearchDocumentsAfter(0L, PageRequest.of(0, 2))).thenAnswer(invocation -> {
+            index.put(new UserSearchDocumentDto(3L, "Oleh", "oleh@gmail.com", null));
+            return List.of(ANNA, HANNA);
+        });
+        when(userRepo.findSearchDocumentsAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(OLEH));
+
+        index.loadAll();
+
+        assertEquals(List.of(3L), ids(index.search("oleh@gmail", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(index.search("ukr.net", PageRequest.of(0, 10))));
+    }
+
+    private void load() {
+        when(userRepo.findSearchDocumentsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(ANNA, HANNA));
+        when(userRepo.findSearchDocumentsAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(OLEH));
+        index.loadAll();
+    }
+
+    private static List<Long> ids(Optional<Page<Long>> page) {
+        return page.orElseThrow().getContent();
+    }
+}
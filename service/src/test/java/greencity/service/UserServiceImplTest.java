@@ -5,6 +5,7 @@ import greencity.TestConst;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
 import greencity.constant.UpdateConstants;
+import greencity.dto.ContinuationPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.UbsCustomerDto;
@@ -19,36 +20,50 @@ import greencity.entity.VerifyEmail;
 import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.exception.exceptions.*;
-import greencity.filters.UserSpecification;
+import greencity.filters.UserCriteriaPlan;
+import greencity.filters.UserCriteriaPlanner;
+import greencity.mapping.UserAdminRegistrationDtoMapper;
+import greencity.mapping.UserMapper;
+import greencity.mapping.UserVOMapper;
 import greencity.repository.LanguageRepo;
 import greencity.repository.UserDeactivationRepo;
 import greencity.repository.UserRepo;
+import greencity.security.CurrentUserHolder;
+import greencity.security.events.UserStatusChangedEvent;
+import greencity.security.jwt.AccessTokenClaims;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.Arguments;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -140,26 +155,130 @@ class UserServiceImplTest {
     private UserServiceImpl userService;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private UserStatusCache userStatusCache;
+    @Mock
+    private UserCountStrategy userCountStrategy;
+    @Mock
+    private UserSearchIndex userSearchIndex;
+    @Spy
+    private UserCriteriaPlanner userCriteriaPlanner;
+    @Mock
+    private UserCityCatalog userCityCatalog;
+    @Mock
+    private UserStatusCounters userStatusCounters;
+    @Mock
+    private LastActivityBuffer lastActivityBuffer;
+    @Mock
+    private CurrentUserHolder currentUserHolder;
 
     @Test
     void findAllByEmailNotification() {
         when(userRepo.findAllByEmailNotification(any(EmailNotification.class)))
                 .thenReturn(Collections.singletonList(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         assertEquals(Collections.singletonList(userVO),
                 userService.findAllByEmailNotification(EmailNotification.IMMEDIATELY));
     }
 
+    @Test
+    void findSubscribersByEmailNotificationFollowsTokenTest() {
+        ReflectionTestUtils.setField(userService, "subscribersMaxBatchSize", 2);
+        when(userRepo.findSubscribersAfter(EmailNotification.DAILY, 0L, PageRequest.of(0, 3))).thenReturn(List.of(
+            new UserSubscriberDto(1L, "Anna", "anna@gmail.com", "ua"),
+            new UserSubscriberDto(4L, "Oleh", "oleh@gmail.com", null),
+            new UserSubscriberDto(7L, "Taras", "taras@gmail.com", "en")));
+        when(userRepo.findSubscribersAfter(EmailNotification.DAILY, 4L, PageRequest.of(0, 3))).thenReturn(List.of(
+            new UserSubscriberDto(7L, "Taras", "taras@gmail.com", "en")));
+
+        ContinuationPageDto<List<EmailSubscriberDto>> first =
+            userService.findSubscribersByEmailNotification(EmailNotification.DAILY, null, 100);
+        ContinuationPageDto<List<EmailSubscriberDto>> last = userService.findSubscribersByEmailNotification(
+            EmailNotification.DAILY, first.getContinuationToken(), 100);
+
+        assertEquals(List.of(new EmailSubscriberDto(1L, "Anna", "anna@gmail.com", "ua"),
+            new EmailSubscriberDto(4L, "Oleh", "oleh@gmail.com", null)), first.getPage());
+        assertEquals(List.of(new EmailSubscriberDto(7L, "Taras", "taras@gmail.com", "en")), last.getPage());
+        assertNull(last.getContinuationToken());
+    }
+
+    @Test
+    void findSubscribersByEmailNotificationRejectsForeignTokenTest() {
+        ReflectionTestUtils.setField(userService, "subscribersMaxBatchSize", 2);
+        when(userRepo.findSubscribersAfter(EmailNotification.DAILY, 0L, PageRequest.of(0, 2))).thenReturn(List.of(
+            new UserSubscriberDto(1L, "Anna", "anna@gmail.com", "ua"),
+            new UserSubscriberDto(4L, "Oleh", "oleh@gmail.com", null)));
+        String token = userService.findSubscribersByEmailNotification(EmailNotification.DAILY, "", 1)
+            .getContinuationToken();
+
+        assertThrows(BadRequestException.class,
+            () -> userService.findSubscribersByEmailNotification(EmailNotification.WEEKLY, token, 1));
+        assertThrows(BadRequestException.class,
+            () -> userService.findSubscribersByEmailNotification(EmailNotification.DAILY, "broken", 1));
+    }
+
+    @Test
+    void findRefsByIdsKeepsRequestOrderAndMissesTest() {
+        ReflectionTestUtils.setField(userService, "lookupMaxBatchSize", 5);
+        when(userRepo.findIdentitiesByIdIn(Set.of(1L, 2L, 3L))).thenReturn(List.of(
+            new UserIdentityDto(3L, "uuid-3", "oleh@gmail.com", "Oleh", ROLE_USER, ACTIVATED, null),
+            new UserIdentityDto(1L, "uuid-1", "anna@gmail.com", "Anna", ROLE_USER, ACTIVATED, "ua")));
+
+        List<UserLookupResultDto<Long>> results = userService.findRefsByIds(Arrays.asList(1L, 2L, null, 3L, 1L));
+
+        UserRefDto anna = new UserRefDto(1L, "uuid-1", "anna@gmail.com", "Anna", ROLE_USER, ACTIVATED, "ua");
+        assertEquals(List.of(new UserLookupResultDto<>(1L, true, anna),
+            new UserLookupResultDto<>(2L, false, null),
+            new UserLookupResultDto<>(null, false, null),
+            new UserLookupResultDto<>(3L, true,
+                new UserRefDto(3L, "uuid-3", "oleh@gmail.com", "Oleh", ROLE_USER, ACTIVATED, null)),
+            new UserLookupResultDto<>(1L, true, anna)), results);
+        verify(userRepo).findIdentitiesByIdIn(anyCollection());
+    }
+
+    @Test
+    void findRefsByEmailsAndUuidsTest() {
+        ReflectionTestUtils.setField(userService, "lookupMaxBatchSize", 5);
+        UserIdentityDto identity = new UserIdentityDto(1L, "uuid-1", "anna@gmail.com", "Anna", ROLE_USER, ACTIVATED,
+            "ua");
+        when(userRepo.findIdentitiesByEmailIn(Set.of("anna@gmail.com"))).thenReturn(List.of(identity));
+        when(userRepo.findIdentitiesByUuidIn(Set.of("uuid-1", "uuid-2"))).thenReturn(List.of(identity));
+
+        assertTrue(userService.findRefsByEmails(List.of("anna@gmail.com")).get(0).isFound());
+        assertEquals(List.of(true, false), userService.findRefsByUuids(List.of("uuid-1", "uuid-2")).stream()
+            .map(UserLookupResultDto::isFound).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findRefsRejectsTooManyKeysTest() {
+        ReflectionTestUtils.setField(userService, "lookupMaxBatchSize", 2);
+
+        assertThrows(BadRequestException.class, () -> userService.findRefsByIds(List.of(1L, 2L, 3L)));
+        assertTrue(userService.findRefsByEmails(List.of()).isEmpty());
+        verify(userRepo, never()).findIdentitiesByIdIn(anyCollection());
+        verify(userRepo, never()).findIdentitiesByEmailIn(anyCollection());
+    }
+
     @Test
     void scheduleDeleteDeactivatedUsers() {
+        when(userRepo.findIdsOfDeactivatedUsersToDelete()).thenReturn(List.of(7L));
         when(userRepo.scheduleDeleteDeactivatedUsers()).thenReturn(1);
         assertEquals(1, userService.scheduleDeleteDeactivatedUsers());
+        verify(userStatusCounters).move(DEACTIVATED, null, 1);
+        ArgumentCaptor<UserStatusChangedEvent> event = ArgumentCaptor.forClass(UserStatusChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(7L), event.getValue().getUserIds());
+        assertNull(event.getValue().getUserStatus());
     }
 
     @Test
     void findAllUsersCities() {
         List<String> expected = Collections.singletonList("city");
-        when(userRepo.findAllUsersCities()).thenReturn(expected);
+        when(userCityCatalog.cities()).thenReturn(expected);
         assertEquals(expected, userService.findAllUsersCities());
     }
 
@@ -167,9 +286,9 @@ class UserServiceImplTest {
     void saveTest() {
         when(userRepo.findByEmail(userEmail)).thenReturn(Optional.ofNullable(user));
         when(userService.findByEmail(userEmail)).thenReturn(userVO);
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
+        when(userMapper.toUser(userVO)).thenReturn(user);
         when(userRepo.save(user)).thenReturn(user);
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         assertEquals(userVO, userService.save(userVO));
     }
 
@@ -181,16 +300,15 @@ class UserServiceImplTest {
         when(languageRepo.findById(1L)).thenReturn(Optional.of(defaultLanguage));
 
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
-        when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
+        when(userMapper.toUserVO(user2)).thenReturn(userVO2);
         when(userRepo.findByEmail(any())).thenReturn(Optional.of(user2));
-        when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         when(userRepo.save(any())).thenReturn(user);
 
         UserStatusDto value = new UserStatusDto();
         value.setUserStatus(DEACTIVATED);
-        when(modelMapper.map(user, UserStatusDto.class)).thenReturn(value);
+        when(userMapper.toUserStatusDto(user)).thenReturn(value);
         assertEquals(DEACTIVATED, userService.updateStatus(userId, DEACTIVATED, any()).getUserStatus());
     }
 
@@ -204,21 +322,20 @@ class UserServiceImplTest {
         user.setRole(Role.ROLE_MODERATOR);
         userVO.setRole(Role.ROLE_MODERATOR);
         when(userRepo.findByEmail(any())).thenReturn(Optional.of(user2));
-        when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
+        when(userMapper.toUserVO(user2)).thenReturn(userVO2);
         when(userRepo.findById(any())).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         assertThrows(LowRoleLevelException.class, () -> userService.updateStatus(userId, DEACTIVATED, "email"));
     }
 
     @Test
     void updateRoleTest() {
         // given
-        ReflectionTestUtils.setField(userService, "modelMapper", new ModelMapper());
         UserRoleDto userRoleDto = new UserRoleDto();
         userRoleDto.setRole(Role.ROLE_MODERATOR);
         when(userRepo.findById(any())).thenReturn(Optional.of(user));
         when(userRepo.findByEmail(any())).thenReturn(Optional.of(user2));
-        when(modelMapper.map(user, UserRoleDto.class)).thenReturn(userRoleDto);
+        when(userMapper.toUserRoleDto(user)).thenReturn(userRoleDto);
         user.setRole(Role.ROLE_MODERATOR);
 
         // then
@@ -252,7 +369,7 @@ class UserServiceImplTest {
         user.setLanguage(defaultLanguage);
 
         when(userRepo.findById(id)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         assertEquals(userVO, userService.findById(id));
         verify(userRepo, times(1)).findById(id);
     }
@@ -282,10 +399,14 @@ class UserServiceImplTest {
         when(languageRepo.findById(1L)).thenReturn(Optional.of(defaultLanguage));
 
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
+        when(userMapper.toUser(userVO)).thenReturn(user);
         userService.deleteById(userId);
         verify(userRepo).delete(user);
+        ArgumentCaptor<UserStatusChangedEvent> event = ArgumentCaptor.forClass(UserStatusChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(userId), event.getValue().getUserIds());
+        assertNull(event.getValue().getUserStatus());
     }
 
     @Test
@@ -319,8 +440,7 @@ class UserServiceImplTest {
     @Test
     void findAllTest() {
         List<UserVO> userVO = List.of(getUserVO(), getUserVO(), getUserVO());
-        when(modelMapper.map(userRepo.findAll(), new TypeToken<List<UserVO>>() {
-        }.getType())).thenReturn(userVO);
+        when(userMapper.toUserVOs(userRepo.findAll())).thenReturn(userVO);
         assertEquals(userVO, userService.findAll());
 
     }
@@ -331,25 +451,26 @@ class UserServiceImplTest {
         int pageSize = 1;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-        User user = new User();
-        user.setName("Roman Romanovich");
+        UserListItemDto user = new UserListItemDto(null, "Roman Romanovich", null, null, null, null, null);
 
         UserForListDto userForListDto = new UserForListDto();
         userForListDto.setName("Roman Romanovich");
 
-        Page<User> usersPage = new PageImpl<>(Collections.singletonList(user), pageable, 1);
         List<UserForListDto> userForListDtos = Collections.singletonList(userForListDto);
 
         PageableDto<UserForListDto> userPageableDto =
                 new PageableDto<>(userForListDtos,
                         userForListDtos.size(), 0, 1);
 
-        ReflectionTestUtils.setField(userService, "modelMapper", new ModelMapper());
+        ReflectionTestUtils.setField(userService, "userMapper",
+                new UserMapper(new UserVOMapper(), new UserAdminRegistrationDtoMapper()));
 
-        when(userRepo.findAll(pageable)).thenReturn(usersPage);
+        when(userRepo.findListItems(null, pageable)).thenReturn(List.of(user));
+        when(userCountStrategy.count("all", null)).thenReturn(1L);
 
         assertEquals(userPageableDto, userService.findByPage(pageable));
-        verify(userRepo, times(1)).findAll(pageable);
+        verify(userRepo, times(1)).findListItems(null, pageable);
+        verify(userCountStrategy).count("all", null);
     }
 
     @Test
@@ -368,17 +489,11 @@ class UserServiceImplTest {
 
     @Test
     void updateLastVisit() {
-        Language defaultLanguage = new Language();
-        defaultLanguage.setId(1L);
-        defaultLanguage.setCode("ua");
-        when(languageRepo.findById(1L)).thenReturn(Optional.of(defaultLanguage));
-
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
-        when(userRepo.findById(userId)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        when(userRepo.save(any())).thenReturn(user);
         LocalDateTime localDateTime = user.getLastActivityTime().minusHours(1);
-        assertNotEquals(localDateTime, userService.updateLastVisit(userVO).getLastActivityTime());
+        UserVO updated = userService.updateLastVisit(userVO);
+        assertNotEquals(localDateTime, updated.getLastActivityTime());
+        verify(lastActivityBuffer).record(userVO.getId(), updated.getLastActivityTime());
+        verify(userRepo, never()).save(any());
     }
 
     @Test
@@ -387,22 +502,22 @@ class UserServiceImplTest {
         int pageSize = 1;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-        User user = new User();
-        user.setName("Roman Bezos");
+        UserListItemDto user = new UserListItemDto(null, "Roman Bezos", null, null, null, null, null);
 
         UserForListDto userForListDto = new UserForListDto();
         userForListDto.setName("Roman Bezos");
 
-        Page<User> usersPage = new PageImpl<>(Collections.singletonList(user), pageable, 1);
         List<UserForListDto> userForListDtos = Collections.singletonList(userForListDto);
 
         PageableDto<UserForListDto> userPageableDto =
                 new PageableDto<>(userForListDtos,
                         userForListDtos.size(), 0, 1);
 
-        ReflectionTestUtils.setField(userService, "modelMapper", new ModelMapper());
+        ReflectionTestUtils.setField(userService, "userMapper",
+                new UserMapper(new UserVOMapper(), new UserAdminRegistrationDtoMapper()));
 
-        when(userRepo.findAll(any(Specification.class), any(Pageable.class))).thenReturn(usersPage);
+        when(userRepo.findListItems(any(Specification.class), any(Pageable.class))).thenReturn(List.of(user));
+        when(userCountStrategy.count(eq("filter:Everyone[]"), any(Specification.class))).thenReturn(1L);
         FilterUserDto filterUserDto = new FilterUserDto();
         assertEquals(userPageableDto, userService.getUsersByFilter(filterUserDto, pageable));
     }
@@ -425,7 +540,8 @@ class UserServiceImplTest {
         when(userRepo.findByEmail(email)).thenReturn(Optional.of(userEntity));
         when(userService.findByEmail(email)).thenReturn(userVO);
 
-        ReflectionTestUtils.setField(userService, "modelMapper", new ModelMapper());
+        when(userMapper.toUserVO(userEntity)).thenReturn(userVO);
+        when(userMapper.toUserUpdateDto(userEntity)).thenReturn(expectedDto);
         UserUpdateDto actualDto = userService.getUserUpdateDtoByEmail(email);
 
         assertEquals(expectedDto.getName(), actualDto.getName());
@@ -471,9 +587,10 @@ class UserServiceImplTest {
 
     @Test
     void getActivatedUsersAmountTest() {
-        when(userRepo.countAllByUserStatus(ACTIVATED)).thenReturn(1L);
-        long activatedUsersAmount = userService.getActivatedUsersAmount();
-        assertEquals(1L, activatedUsersAmount);
+        UsersAmountDto expected = new UsersAmountDto(1L, Instant.now());
+        when(userStatusCounters.amount(ACTIVATED)).thenReturn(expected);
+        assertEquals(expected, userService.getActivatedUsersAmount());
+        verify(userRepo, never()).count();
     }
 
     @Test
@@ -516,13 +633,14 @@ class UserServiceImplTest {
     @Test
     void searchBy() {
         Pageable pageable = PageRequest.of(1, 3);
-        user.setUserCredo("credo");
-        Page<User> userPages = new PageImpl<>(List.of(user, user, user), pageable, 3);
-        when(userRepo.searchBy(pageable, "query"))
-                .thenReturn(userPages);
-        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+        UserListItemDto listItem = new UserListItemDto(1L, "name", null, "test@gmail.com", null, null, "credo");
+        Page<UserListItemDto> userPages = new PageImpl<>(List.of(listItem, listItem, listItem), pageable, 3);
+        when(userRepo.findListItems(any(Specification.class), eq(pageable)))
+                .thenReturn(userPages.getContent());
+        when(userCountStrategy.count(eq("search:query"), any(Specification.class))).thenReturn(3L);
+        when(userMapper.toUserManagementDto(listItem)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
         List<UserManagementDto> users = userPages.stream()
-                .map(user -> modelMapper.map(user, UserManagementDto.class))
+                .map(user -> userMapper.toUserManagementDto(user))
                 .collect(Collectors.toList());
         PageableAdvancedDto<UserManagementDto> pageableAdvancedDto = new PageableAdvancedDto<>(
                 users,
@@ -537,6 +655,87 @@ class UserServiceImplTest {
         assertEquals(pageableAdvancedDto, userService.searchBy(pageable, "query"));
     }
 
+    @Test
+    void searchByUsesIndexAndDropsDeletedUsers() {
+        Pageable pageable = PageRequest.of(0, 3);
+        UserListItemDto first = new UserListItemDto(7L, "Anna", null, "anna@gmail.com", null, null, null);
+        UserListItemDto second = new UserListItemDto(2L, "Hanna", null, "hanna@gmail.com", null, null, null);
+        when(userSearchIndex.search("anna", pageable))
+                .thenReturn(Optional.of(new PageImpl<>(List.of(7L, 5L, 2L), pageable, 3)));
+        when(userRepo.findListItemsByIds(List.of(7L, 5L, 2L))).thenReturn(List.of(second, first));
+        when(userMapper.toUserManagementDto(any(UserListItemDto.class)))
+                .thenAnswer(invocation -> UserManagementDto.builder()
+                        .id(invocation.<UserListItemDto>getArgument(0).id())
+                        .build());
+
+        PageableAdvancedDto<UserManagementDto> result = userService.searchBy(pageable, "anna");
+
+        assertEquals(List.of(7L, 2L), result.getPage().stream().map(UserManagementDto::getId).toList());
+        assertEquals(2, result.getTotalElements());
+        verify(userSearchIndex).remove(5L);
+        verify(userRepo, never()).findListItems(any(), any());
+    }
+
+    @Test
+    void findUserForManagementByContinuationTokenFollowsLastItem() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        UserListItemDto first = new UserListItemDto(1L, "Anna", null, "anna@gmail.com", null, null, null);
+        UserListItemDto second = new UserListItemDto(7L, "Bohdan", null, "bohdan@gmail.com", null, null, null);
+        UserListItemDto third = new UserListItemDto(3L, "Bohdan", null, "bohdan2@gmail.com", null, null, null);
+        when(userRepo.findListItemsAfter(null, Sort.Order.asc("name"), null, null, 3))
+                .thenReturn(new ArrayList<>(List.of(first, second, third)));
+        when(userRepo.findListItemsAfter(null, Sort.Order.asc("name"), "Bohdan", 7L, 3))
+                .thenReturn(List.of(third));
+
+        ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> firstPage =
+                userService.findUserForManagementByContinuationToken("", pageable, false);
+        ContinuationPageDto<PageableAdvancedDto<UserManagementDto>> secondPage =
+                userService.findUserForManagementByContinuationToken(firstPage.getContinuationToken(),
+                        PageRequest.of(0, 20), false);
+
+        assertEquals(2, firstPage.getPage().getPage().size());
+        assertTrue(firstPage.getPage().isHasNext());
+        assertEquals(-1, firstPage.getPage().getTotalElements());
+        assertEquals(1, secondPage.getPage().getPage().size());
+        assertEquals(1, secondPage.getPage().getCurrentPage());
+        assertTrue(secondPage.getPage().isLast());
+        assertNull(secondPage.getContinuationToken());
+        verify(userCountStrategy, never()).count(any(), any());
+    }
+
+    @Test
+    void findByContinuationTokenCountsUsers() {
+        when(userRepo.findListItemsAfter(null, Sort.Order.asc("id"), null, null, 21)).thenReturn(List.of());
+        when(userCountStrategy.count("all", null)).thenReturn(45L);
+
+        PageableDto<UserForListDto> page =
+                userService.findByContinuationToken("", PageRequest.of(0, 20), true).getPage();
+
+        assertEquals(45L, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void searchByContinuationTokenRejectsTokenOfAnotherQuery() {
+        UserListItemDto item = new UserListItemDto(1L, "Anna", null, "anna@gmail.com", null, null, null);
+        when(userRepo.findListItemsAfter(any(), any(), any(), any(), anyInt())).thenReturn(List.of(item, item));
+        String token = userService.searchByContinuationToken("", PageRequest.of(0, 1), "anna", false)
+                .getContinuationToken();
+        PageRequest pageable = PageRequest.of(0, 1);
+
+        assertThrows(BadRequestException.class,
+                () -> userService.searchByContinuationToken(token, pageable, "bohdan", false));
+        assertThrows(BadRequestException.class,
+                () -> userService.searchByContinuationToken("not a token", pageable, "anna", false));
+    }
+
+    @Test
+    void findByContinuationTokenRejectsUnsupportedSort() {
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("userCredo"));
+
+        assertThrows(BadRequestException.class, () -> userService.findByContinuationToken("", pageable, true));
+    }
+
     @Test
     void saveUserProfileTest() {
         var request = ModelUtils.getUserProfileDtoRequest();
@@ -546,6 +745,18 @@ class UserServiceImplTest {
         assertEquals(UpdateConstants.SUCCESS_EN, userService.saveUserProfile(request, "test@gmail.com"));
         verify(userRepo).findByEmail("test@gmail.com");
         verify(userRepo).save(user);
+        verify(applicationEventPublisher).publishEvent(argThat((UserCityChangedEvent event) ->
+                event.getOldCity() == null && "City".equals(event.getNewCity())));
+    }
+
+    @Test
+    void saveUserProfileWithSameCityPublishesNothingTest() {
+        var request = ModelUtils.getUserProfileDtoRequest();
+        var user = ModelUtils.getUserWithoutSocialNetworks();
+        user.setCity("City");
+        when(userRepo.findByEmail("test@gmail.com")).thenReturn(Optional.of(user));
+        userService.saveUserProfile(request, "test@gmail.com");
+        verify(applicationEventPublisher, never()).publishEvent(any(UserCityChangedEvent.class));
     }
 
     @Test
@@ -561,8 +772,10 @@ class UserServiceImplTest {
     @Test
     void getUserProfileInformationTest() {
         UserProfileDtoResponse response = new UserProfileDtoResponse();
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserProfileDtoResponse.class)).thenReturn(response);
+        UserProfileInfoDto profileInfo =
+                new UserProfileInfoDto(null, "name", "Lviv", null, true, true, true, 10.0, Role.ROLE_USER);
+        when(userRepo.findProfileInfoById(1L)).thenReturn(Optional.of(profileInfo));
+        when(userMapper.toUserProfileDtoResponse(profileInfo)).thenReturn(response);
         assertEquals(response, userService.getUserProfileInformation(1L));
     }
 
@@ -575,7 +788,17 @@ class UserServiceImplTest {
     void updateUserLastActivityTimeTest() {
         LocalDateTime currentTime = LocalDateTime.now();
         userService.updateUserLastActivityTime(userId, currentTime);
-        verify(userRepo).updateUserLastActivityTime(userId, currentTime);
+        verify(lastActivityBuffer).record(userId, currentTime);
+    }
+
+    @Test
+    void checkIfTheUserIsOnlinePrefersPendingActivityTest() {
+        ReflectionTestUtils.setField(userService, "timeAfterLastActivity", 300000);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(ModelUtils.getUser()));
+        when(lastActivityBuffer.pending(1L)).thenReturn(Optional.of(LocalDateTime.now()));
+
+        assertTrue(userService.checkIfTheUserIsOnline(1L));
+        verify(userRepo, never()).findLastActivityTimeById(anyLong());
     }
 
     @Test
@@ -614,11 +837,12 @@ class UserServiceImplTest {
         int pageNumber = 5;
         int pageSize = 20;
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        List<User> userList = Collections.singletonList(ModelUtils.getUser());
-        Page<User> users = new PageImpl<>(userList, pageable, userList.size());
+        List<UserListItemDto> userList = Collections.singletonList(
+                new UserListItemDto(1L, "name", null, "test@gmail.com", null, Role.ROLE_USER, null));
+        Page<UserListItemDto> users = new PageImpl<>(userList, pageable, userList.size());
         List<UserManagementDto> userManagementDtos =
                 users.getContent().stream()
-                        .map(user -> modelMapper.map(user, UserManagementDto.class))
+                        .map(user -> userMapper.toUserManagementDto(user))
                         .collect(Collectors.toList());
         PageableAdvancedDto<UserManagementDto> userManagementDtoPageableDto = new PageableAdvancedDto<>(
                 userManagementDtos,
@@ -630,7 +854,7 @@ class UserServiceImplTest {
                 users.hasNext(),
                 users.isFirst(),
                 users.isLast());
-        when(userRepo.findAll(pageable)).thenReturn(users);
+        when(userRepo.findListItems(null, pageable)).thenReturn(userList);
         assertEquals(userManagementDtoPageableDto, userService.findUserForManagementByPage(pageable));
     }
 
@@ -644,28 +868,51 @@ class UserServiceImplTest {
         excepted.setUserCredo(userManagementUpdateDto.getUserCredo());
         excepted.setUserStatus(userManagementUpdateDto.getUserStatus());
         when(userRepo.findById(1L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         userService.updateUser(1L, userManagementUpdateDto);
         assertEquals(excepted, user);
     }
 
     @Test
-    void findNotDeactivatedByEmail() {
-        String email = "test@gmail.com";
-        user.setEmail(email);
-        when(userRepo.findNotDeactivatedByEmail(email)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        assertEquals(Optional.of(userVO), userService.findNotDeactivatedByEmail(email));
+    void findByEmailReusesCurrentUser() {
+        when(currentUserHolder.getUser(TestConst.EMAIL)).thenReturn(Optional.of(userVO));
+
+        assertEquals(userVO, userService.findByEmail(TestConst.EMAIL));
+        verify(userRepo, never()).findByEmail(anyString());
     }
 
     @Test
-    void findNotDeactivatedByEmailShouldThrowNotFoundException() {
-        when(userRepo.findByEmail(anyString())).thenReturn(Optional.empty());
+    void findByEmailStoresLoadedUser() {
+        when(userRepo.findByEmail(TestConst.EMAIL)).thenReturn(Optional.of(user));
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
 
-        Exception thrown = assertThrows(NotFoundException.class,
-                () -> userService.findNotDeactivatedByEmail("test@gmail.com"));
+        assertEquals(userVO, userService.findByEmail(TestConst.EMAIL));
+        verify(currentUserHolder).setUser(userVO);
+    }
+
+    @Test
+    void findNotDeactivatedIdByEmail() {
+        when(userStatusCache.get(TestConst.EMAIL)).thenReturn(Optional.of(new UserIdStatusDto(1L, ACTIVATED, ROLE_USER)));
+
+        assertEquals(Optional.of(1L), userService.findNotDeactivatedIdByEmail(TestConst.EMAIL));
+        verify(userRepo, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void findNotDeactivatedIdByEmailReturnsEmptyForDeactivatedUser() {
+        when(userStatusCache.get(TestConst.EMAIL)).thenReturn(Optional.of(new UserIdStatusDto(1L, DEACTIVATED, ROLE_USER)));
+
+        assertEquals(Optional.empty(), userService.findNotDeactivatedIdByEmail(TestConst.EMAIL));
+    }
 
-        assertEquals(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, thrown.getMessage());
+    @Test
+    void isStatusVersionCurrent() {
+        when(userStatusCache.get(TestConst.EMAIL)).thenReturn(Optional.of(new UserIdStatusDto(1L, ACTIVATED, ROLE_USER)));
+
+        assertTrue(userService.isStatusVersionCurrent(TestConst.EMAIL,
+            AccessTokenClaims.statusVersion(ROLE_USER, ACTIVATED)));
+        assertFalse(userService.isStatusVersionCurrent(TestConst.EMAIL,
+            AccessTokenClaims.statusVersion(Role.ROLE_ADMIN, ACTIVATED)));
     }
 
     @Test
@@ -716,7 +963,11 @@ class UserServiceImplTest {
     @Test
     void deactivateAllUsers() {
         List<Long> longList = List.of(1L, 2L);
+        when(userRepo.countUsersByStatusAndIdIn(longList)).thenReturn(List.of(
+                new UserStatusAmountDto(ACTIVATED, 1L), new UserStatusAmountDto(DEACTIVATED, 1L)));
         assertEquals(longList, userService.deactivateAllUsers(longList));
+        verify(applicationEventPublisher).publishEvent(any(UserStatusChangedEvent.class));
+        verify(userStatusCounters).move(ACTIVATED, DEACTIVATED, 1L);
     }
 
     @Test
@@ -785,9 +1036,8 @@ class UserServiceImplTest {
         user2.setVerifyEmail(verifyEmail);
 
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
-        when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
-        when(modelMapper.map(userVO2, User.class)).thenReturn(user2);
-        when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
+        when(userMapper.toUser(userVO2)).thenReturn(user2);
+        when(userMapper.toUserVO(user2)).thenReturn(userVO2);
 
         assertEquals(Optional.of(userVO2), userService.findByIdAndToken(userId2, "test"));
     }
@@ -800,9 +1050,8 @@ class UserServiceImplTest {
         when(languageRepo.findById(1L)).thenReturn(Optional.of(defaultLanguage));
 
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
-        when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
-        when(modelMapper.map(userVO2, User.class)).thenReturn(user2);
-        when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
+        when(userMapper.toUser(userVO2)).thenReturn(user2);
+        when(userMapper.toUserVO(user2)).thenReturn(userVO2);
         assertEquals(Optional.empty(), userService.findByIdAndToken(userId2, "test"));
     }
 
@@ -822,7 +1071,7 @@ class UserServiceImplTest {
         Pageable pageable = PageRequest.of(0, 20);
         UserManagementViewDto userViewDto =
                 UserManagementViewDto.builder()
-                        .id("1L")
+                        .id("1")
                         .name("vivo")
                         .email("test@ukr.net")
                         .userCredo("Hello")
@@ -839,23 +1088,61 @@ class UserServiceImplTest {
                         .userStatus(ACTIVATED)
                         .build();
         List<UserManagementVO> userManagementVOS = Collections.singletonList(userManagementVO);
-        List<User> users = Collections.singletonList(new User());
-        Page<User> pageUsers = new PageImpl<>(users, pageable, 0);
-        when(userRepo.findAll(any(UserSpecification.class), eq(pageable))).thenReturn(pageUsers);
-        when(modelMapper.map(users.get(0), UserManagementVO.class)).thenReturn(userManagementVO);
+        UserListItemDto user = new UserListItemDto(1L, "vivo", null, "test@ukr.net", ACTIVATED, ROLE_USER, "Hello");
+        when(userRepo.findListItems(any(UserCriteriaPlan.class), eq(pageable))).thenReturn(List.of(user));
+        when(userMapper.toUserManagementVO(user)).thenReturn(userManagementVO);
         PageableAdvancedDto<UserManagementVO> actual = new PageableAdvancedDto<>(userManagementVOS, 1, 0, 1, 0,
                 false, false, true, true);
         PageableAdvancedDto<UserManagementVO> expected = userService.search(pageable, userViewDto);
         assertEquals(expected, actual);
     }
 
+    @Test
+    void exportAllMapsUsersOneByOne() {
+        User first = ModelUtils.getUser();
+        User second = ModelUtils.getUser();
+        second.setId(2L);
+        UserVO firstVO = ModelUtils.getUserVO();
+        UserVO secondVO = ModelUtils.getUserVO();
+        ReflectionTestUtils.setField(userService, "exportFetchSize", 500);
+        doAnswer(invocation -> {
+            Consumer<User> action = invocation.getArgument(2);
+            action.accept(first);
+            action.accept(second);
+            return null;
+        }).when(userRepo).forEachUserAfter(eq(10L), eq(500), any());
+        when(userMapper.toUserVO(first)).thenReturn(firstVO);
+        when(userMapper.toUserVO(second)).thenReturn(secondVO);
+        List<UserVO> exported = new ArrayList<>();
+
+        userService.exportAll(10L, exported::add);
+
+        assertEquals(2, exported.size());
+        assertSame(firstVO, exported.get(0));
+        assertSame(secondVO, exported.get(1));
+    }
+
+    @Test
+    void searchWithUnknownRoleReturnsEmptyPageWithoutQuery() {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserManagementViewDto userViewDto = UserManagementViewDto.builder()
+                .name("vivo")
+                .role("ROLE_UNKNOWN")
+                .build();
+
+        PageableAdvancedDto<UserManagementVO> found = userService.search(pageable, userViewDto);
+
+        assertEquals(new PageableAdvancedDto<>(List.of(), 0, 0, 0, 0, false, false, true, true), found);
+        verify(userRepo, never()).findListItems(any(), any());
+    }
+
     @Test
     void createUbsRecordTest() {
         Long id = 1L;
         User user = new User();
         user.setId(1L);
         when(userRepo.findById(id)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         UbsTableCreationDto actual = UbsTableCreationDto.builder().uuid(user.getUuid()).build();
         assertEquals(actual, userService.createUbsRecord(userVO));
     }
@@ -877,7 +1164,7 @@ class UserServiceImplTest {
         user.setEmail(email);
         user.setProfilePicturePath(picture);
         when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userMapper.toUserVO(user)).thenReturn(userVO);
         userService.deleteUserProfilePicture(email);
         assertNull(user.getProfilePicturePath());
     }
@@ -885,7 +1172,7 @@ class UserServiceImplTest {
     @Test
     void findAdminByIdTest() {
         when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(TEST_ADMIN));
-        when(modelMapper.map(TEST_ADMIN, UserVO.class)).thenReturn(TEST_USER_VO);
+        when(userMapper.toUserVO(TEST_ADMIN)).thenReturn(TEST_USER_VO);
 
         UserVO actual = userService.findAdminById(2L);
 
@@ -0,0 +1,76 @@
+package greencity.service;
+
+import greencity.TestConst;
+import greencity.dto.user.UserIdStatusDto;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import greencity.security.events.UserStatusChangedEvent;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+    @Mock
+    private UserRepo userRepo;
+
+    private UserStatusCache userStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(userRepo, 100, 300);
+    }
+
+    @Test
+    void getLoadsStatusOnlyOnMissTest() {
+        UserIdStatusDto user = new UserIdStatusDto(1L, UserStatus.ACTIVATED, Role.ROLE_USER);
+        when(userRepo.findIdAndStatusByEmail(TestConst.EMAIL)).thenReturn(Optional.of(user));
+
+        assertEquals(Optional.of(user), userStatusCache.get(TestConst.EMAIL));
+        assertEquals(Optional.of(user), userStatusCache.get(TestConst.EMAIL));
+        verify(userRepo, times(1)).findIdAndStatusByEmail(TestConst.EMAIL);
+    }
+
+    @Test
+    void getDoesNotCacheMissingUserTest() {
+        when(userRepo.findIdAndStatusByEmail(TestConst.EMAIL)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), userStatusCache.get(TestConst.EMAIL));
+        assertEquals(Optional.empty(), userStatusCache.get(TestConst.EMAIL));
+        verify(userRepo, times(2)).findIdAndStatusByEmail(TestConst.EMAIL);
+    }
+
+    @Test
+    void onUserStatusChangedEvictsUserTest() {
+        when(userRepo.findIdAndStatusByEmail(TestConst.EMAIL))
+            .thenReturn(Optional.of(new UserIdStatusDto(1L, UserStatus.ACTIVATED, Role.ROLE_USER)))
+            .thenReturn(Optional.of(new UserIdStatusDto(1L, UserStatus.DEACTIVATED, Role.ROLE_USER)));
+        userStatusCache.get(TestConst.EMAIL);
+
+        userStatusCache.onUserStatusChanged(new UserStatusChangedEvent(this, List.of(1L), UserStatus.DEACTIVATED));
+
+        assertEquals(UserStatus.DEACTIVATED, userStatusCache.get(TestConst.EMAIL).orElseThrow().getUserStatus());
+    }
+
+    @Test
+    void deletedUserIsNotFoundAfterEvictionTest() {
+        when(userRepo.findIdAndStatusByEmail(TestConst.EMAIL))
+            .thenReturn(Optional.of(new UserIdStatusDto(1L, UserStatus.ACTIVATED, Role.ROLE_USER)))
+            .thenReturn(Optional.empty());
+        userStatusCache.get(TestConst.EMAIL);
+
+        userStatusCache.onUserStatusChanged(new UserStatusChangedEvent(this, List.of(1L), null));
+
+        assertEquals(Optional.empty(), userStatusCache.get(TestConst.EMAIL));
+    }
+}
@@ -0,0 +1,87 @@
+package greencity.service;
+
+import greencity.dto.user.UserStatusAmountDto;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCountersTest {
+    @Mock
+    private UserRepo userRepo;
+
+    @InjectMocks
+    private UserStatusCounters counters;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void amountIsCountedOnceTest() {
+        when(userRepo.countUsersByStatus()).thenReturn(List.of(new UserStatusAmountDto(UserStatus.ACTIVATED, 5)));
+
+        assertEquals(5, counters.amount(UserStatus.ACTIVATED).getAmount());
+        assertEquals(0, counters.amount(UserStatus.BLOCKED).getAmount());
+        assertNotNull(counters.amount(UserStatus.ACTIVATED).getCountedAt());
+        verify(userRepo, times(1)).countUsersByStatus();
+    }
+
+    @Test
+    void movesChangeAmountsTest() {
+        when(userRepo.countUsersByStatus()).thenReturn(List.of(
+            new UserStatusAmountDto(UserStatus.ACTIVATED, 5), new UserStatusAmountDto(UserStatus.CREATED, 2)));
+        counters.amount(UserStatus.ACTIVATED);
+
+        counters.move(UserStatus.CREATED, UserStatus.ACTIVATED, 1);
+        counters.move(null, UserStatus.CREATED, 3);
+        counters.move(UserStatus.ACTIVATED, null, 2);
+
+        assertEquals(4, counters.amount(UserStatus.ACTIVATED).getAmount());
+        assertEquals(4, counters.amount(UserStatus.CREATED).getAmount());
+    }
+
+    @Test
+    void moveInTransactionIsAppliedAfterCommitTest() {
+        when(userRepo.countUsersByStatus()).thenReturn(List.of(new UserStatusAmountDto(UserStatus.ACTIVATED, 5)));
+        counters.amount(UserStatus.ACTIVATED);
+        TransactionSynchronizationManager.initSynchronization();
+
+        counters.move(UserStatus.ACTIVATED, UserStatus.DEACTIVATED, 2);
+
+        assertEquals(5, counters.amount(UserStatus.ACTIVATED).getAmount());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(3, counters.amount(UserStatus.ACTIVATED).getAmount());
+        assertEquals(2, counters.amount(UserStatus.DEACTIVATED).getAmount());
+    }
+
+    @Test
+    void reconcileReplacesAmountsTest() {
+        when(userRepo.countUsersByStatus())
+            .thenReturn(List.of(new UserStatusAmountDto(UserStatus.ACTIVATED, 5)))
+            .thenReturn(List.of(new UserStatusAmountDto(UserStatus.ACTIVATED, 7)));
+        counters.amount(UserStatus.ACTIVATED);
+        counters.move(null, UserStatus.ACTIVATED, 1);
+
+        counters.reconcile();
+
+        assertEquals(7, counters.amount(UserStatus.ACTIVATED).getAmount());
+    }
+}